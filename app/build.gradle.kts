@@ -52,6 +52,12 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // Local unit tests touch classes that log through android.util.Log
+        unitTests.isReturnDefaultValues = true
+        // Opt-in parse-cost run in TmdbTypeAdaptersTest: pass -Ptmdb.benchmark
+        unitTests.all { it.systemProperty("tmdb.benchmark", project.hasProperty("tmdb.benchmark")) }
+    }
 }
 
 dependencies {
@@ -62,6 +68,7 @@ dependencies {
     implementation("androidx.recyclerview:recyclerview:1.3.2")
     implementation("androidx.viewpager2:viewpager2:1.1.0")
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
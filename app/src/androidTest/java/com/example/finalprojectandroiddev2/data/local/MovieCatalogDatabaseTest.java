@@ -0,0 +1,172 @@
+package com.example.finalprojectandroiddev2.data.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs the catalog against an in-memory SQLite database (null file name), so nothing is
+ * left on the device between tests.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MovieCatalogDatabaseTest {
+
+    private static final String TRENDING = "trending_day:en-US";
+
+    private MovieCatalogDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = new MovieCatalogDatabase(context, null);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void listPage_roundTripsInOrderWithGenreIds() {
+        MovieListResponse page = new MovieListResponse(2, Arrays.asList(
+                movie(3, "Third", 18, 28),
+                movie(1, "First", 35),
+                movie(2, "Second")), 40, 800);
+
+        db.putListPage(TRENDING, page, 1_000L);
+        MovieCatalogDatabase.Cached<MovieListResponse> cached = db.getListPage(TRENDING, 2);
+
+        assertNotNull(cached);
+        assertEquals(1_000L, cached.fetchedAt);
+        assertEquals(2, cached.value.getPage());
+        assertEquals(40, cached.value.getTotalPages());
+        assertEquals(800, cached.value.getTotalResults());
+        List<Movie> results = cached.value.getResults();
+        assertEquals(3, results.size());
+        assertEquals("Third", results.get(0).getTitle());
+        assertEquals(Arrays.asList(18, 28), results.get(0).getGenreIds());
+        assertEquals("First", results.get(1).getTitle());
+        assertEquals(0, results.get(2).getGenreIds().size());
+    }
+
+    @Test
+    public void listPage_isReplacedNotAppended() {
+        db.putListPage(TRENDING, new MovieListResponse(1,
+                Arrays.asList(movie(1, "A"), movie(2, "B")), 1, 2), 1L);
+        db.putListPage(TRENDING, new MovieListResponse(1,
+                Arrays.asList(movie(3, "C")), 1, 1), 2L);
+
+        List<Movie> results = db.getListPage(TRENDING, 1).value.getResults();
+        assertEquals(1, results.size());
+        assertEquals(3, results.get(0).getId());
+    }
+
+    @Test
+    public void missingPage_andListOnlyMovie_areNotDetails() {
+        db.putListPage(TRENDING, new MovieListResponse(1, Arrays.asList(movie(7, "X")), 1, 1), 1L);
+
+        assertNull(db.getListPage(TRENDING, 9));
+        assertNull(db.getListPage("popular:en-US", 1));
+        assertNull(db.getMovieDetails(7));
+    }
+
+    @Test
+    public void details_keepNamedGenresWhenTheMovieReappearsInAList() {
+        Movie details = movie(550, "Fight Club");
+        details.setGenres(Arrays.asList(genre(18, "Drama")));
+        db.putMovieDetails(details, 5L);
+
+        Movie listRow = movie(550, "Fight Club", 18, 53);
+        db.putListPage("popular:en-US", new MovieListResponse(1, Arrays.asList(listRow), 1, 1), 6L);
+
+        MovieCatalogDatabase.Cached<Movie> cached = db.getMovieDetails(550);
+        assertNotNull(cached);
+        assertEquals(5L, cached.fetchedAt);
+        assertEquals(1, cached.value.getGenres().size());
+        assertEquals("Drama", cached.value.getGenres().get(0).getName());
+        assertEquals(Arrays.asList(18, 53), cached.value.getGenreIds());
+    }
+
+    @Test
+    public void genreList_isKeptPerLanguage() {
+        db.putGenreList("en-US", new GenreListResponse(Arrays.asList(
+                genre(878, "Science Fiction"), genre(28, "Action"))), 10L);
+        db.putGenreList("fr-FR", new GenreListResponse(Arrays.asList(
+                genre(28, "Action"), genre(878, "Science-Fiction"))), 11L);
+        db.putGenreList("en-US", new GenreListResponse(Arrays.asList(
+                genre(878, "Science Fiction"))), 12L);
+
+        MovieCatalogDatabase.Cached<GenreListResponse> english = db.getGenreList("en-US");
+        assertNotNull(english);
+        assertEquals(12L, english.fetchedAt);
+        assertEquals(1, english.value.getGenres().size());
+        assertEquals("Science-Fiction", db.getGenreList("fr-FR").value.getGenres().get(1).getName());
+        assertNull(db.getGenreList("de-DE"));
+    }
+
+    @Test
+    public void purge_dropsExpiredPagesAndOrphanedMovies() {
+        db.putListPage(TRENDING, new MovieListResponse(1, Arrays.asList(movie(1, "Old")), 1, 1), 100L);
+        db.putListPage("popular:en-US", new MovieListResponse(1, Arrays.asList(movie(2, "New")), 1, 1), 900L);
+        Movie details = movie(3, "Detail");
+        details.setGenres(new ArrayList<>());
+        db.putMovieDetails(details, 900L);
+
+        int removed = db.purgeOlderThan(500L);
+
+        assertEquals(1, removed);
+        assertNull(db.getListPage(TRENDING, 1));
+        assertNotNull(db.getListPage("popular:en-US", 1));
+        assertNotNull(db.getMovieDetails(3));
+    }
+
+    @Test
+    public void downgrade_rebuildsAnEmptySchema() {
+        db.putListPage(TRENDING, new MovieListResponse(1, Arrays.asList(movie(1, "A")), 1, 1), 1L);
+        SQLiteDatabase raw = db.getWritableDatabase();
+
+        db.onDowngrade(raw, MovieCatalogDatabase.DB_VERSION + 1, MovieCatalogDatabase.DB_VERSION);
+
+        assertNull(db.getListPage(TRENDING, 1));
+        db.putListPage(TRENDING, new MovieListResponse(1, Arrays.asList(movie(2, "B")), 1, 1), 2L);
+        assertEquals(2, db.getListPage(TRENDING, 1).value.getResults().get(0).getId());
+    }
+
+    private static Movie movie(int id, String title, Integer... genreIds) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setOverview("Overview of " + title);
+        movie.setPosterPath("/" + id + ".jpg");
+        movie.setVoteAverage(7.5);
+        movie.setReleaseDate("2024-01-01");
+        movie.setGenreIds(new ArrayList<>(Arrays.asList(genreIds)));
+        return movie;
+    }
+
+    private static Movie.Genre genre(int id, String name) {
+        Movie.Genre genre = new Movie.Genre();
+        genre.setId(id);
+        genre.setName(name);
+        return genre;
+    }
+}
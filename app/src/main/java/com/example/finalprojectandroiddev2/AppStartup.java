@@ -0,0 +1,162 @@
+package com.example.finalprojectandroiddev2;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
+import com.example.finalprojectandroiddev2.data.repository.UserRepository;
+import com.example.finalprojectandroiddev2.model.UserProfile;
+import com.example.finalprojectandroiddev2.ui.home.HomeActivity;
+import com.example.finalprojectandroiddev2.utils.Logger;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cold-start pipeline, run once from {@link CineMatchApplication#onCreate()}.
+ *
+ * On the main thread it only initialises {@link MovieRepository}. Two warm-ups then run
+ * in parallel on a small startup pool while the splash inflates:
+ *   1. The TMDB client: OkHttp, its disk cache and Retrofit with the streaming adapters.
+ *   2. Auth, then the user's profile: reading users/{uid} opens the Firebase Database
+ *      connection, which is the slowest part of a cold start. A signed-in user also gets
+ *      the home screen's movie lists requested, so Home opens on lists already in memory.
+ *
+ * {@link #whenResolved} lets the splash route the moment auth and profile are known
+ * instead of after a fixed delay. The profile it got is passed on to Home, which then
+ * doesn't read it a second time. Each step logs its time since process start.
+ */
+public final class AppStartup {
+
+    /** Outcome of auth + profile resolution. */
+    public static final class Resolution {
+        /** {@code null} when nobody is signed in. */
+        @Nullable public final String uid;
+        /** {@code null} when signed in without a profile, or the read failed. */
+        @Nullable public final UserProfile profile;
+        @Nullable public final String error;
+
+        Resolution(@Nullable String uid, @Nullable UserProfile profile, @Nullable String error) {
+            this.uid = uid;
+            this.profile = profile;
+            this.error = error;
+        }
+    }
+
+    public interface ResolutionCallback {
+        void onResolved(@NonNull Resolution resolution);
+    }
+
+    private static final String TAG = "CineMatch.Startup";
+    private static final int POOL_SIZE = 2;
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final List<ResolutionCallback> waiting = new ArrayList<>();
+    @Nullable
+    private static Resolution resolution;
+    private static volatile boolean resolving;
+    private static boolean started;
+
+    private AppStartup() {}
+
+    /** Starts every warm-up. Main thread, once per process. */
+    static void start(@NonNull Application app) {
+        if (started) return;
+        started = true;
+        // Cheap, and must precede the first client build so the HTTP cache gets its directory.
+        TmdbApiClient.init(app);
+        // Also cheap: the catalog opens on the repository's disk thread, and the client is
+        // only needed once a request misses both cache tiers.
+        MovieRepository.init(app);
+
+        ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "CineMatch-startup");
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        pool.execute(() -> {
+            TmdbApiClient.getService();
+            log("TMDB client ready");
+        });
+        resolving = true;
+        pool.execute(() -> {
+            // Opens the database and starts loading the cached profile off the main thread.
+            UserRepository.init(app);
+            resolveAuthAndProfile();
+        });
+        pool.shutdown();
+    }
+
+    /**
+     * Calls back on the main thread once auth and profile are known, immediately if they
+     * already are. A resolution is handed out once; the next caller (the splash shown on a
+     * later launch of the same process) gets a fresh one. Call from the main thread.
+     */
+    public static void whenResolved(@NonNull ResolutionCallback callback) {
+        if (resolution != null) {
+            Resolution result = resolution;
+            resolution = null;
+            callback.onResolved(result);
+            return;
+        }
+        waiting.add(callback);
+        if (!resolving) {
+            resolving = true;
+            resolveAuthAndProfile();
+        }
+    }
+
+    /** Any thread; set {@link #resolving} first. The profile read opens the Firebase Database connection. */
+    private static void resolveAuthAndProfile() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        log("Auth ready (" + (user != null ? "signed in" : "signed out") + ")");
+        if (user == null) {
+            mainHandler.post(() -> resolve(new Resolution(null, null, null)));
+            return;
+        }
+        // Likely headed Home: start its movie lists now (MovieRepository is main-thread).
+        mainHandler.post(HomeActivity::prefetchFeed);
+        String uid = user.getUid();
+        UserRepository.getInstance().getUserProfile(uid, new UserRepository.ProfileLoadCallback() {
+            @Override
+            public void onSuccess(UserProfile profile) {
+                resolve(new Resolution(uid, profile, null));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                resolve(new Resolution(uid, null, errorMessage));
+            }
+        });
+    }
+
+    /** Main thread: Firebase delivers the profile there, and the signed-out path posts. */
+    private static void resolve(Resolution result) {
+        resolving = false;
+        log("Auth and profile resolved");
+        if (waiting.isEmpty()) {
+            // Nobody asked yet; keep it for the splash.
+            resolution = result;
+            return;
+        }
+        List<ResolutionCallback> callbacks = new ArrayList<>(waiting);
+        waiting.clear();
+        for (ResolutionCallback callback : callbacks) callback.onResolved(result);
+    }
+
+    private static void log(String step) {
+        Logger.d(TAG, step + " at +" + (SystemClock.uptimeMillis() - Process.getStartUptimeMillis())
+                + " ms");
+    }
+}
@@ -2,7 +2,7 @@ package com.example.finalprojectandroiddev2;
 
 import android.app.Application;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 
 /**
  * Application class for initializing Firebase Auth and other app-wide components.
@@ -12,8 +12,16 @@ public class CineMatchApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
-        // Firebase Auth is automatically initialized via google-services.json
-        // No explicit initialization needed, but we can verify it's ready
-        FirebaseAuth.getInstance();
+        // Firebase Auth is automatically initialized via google-services.json.
+        // Auth, the database connection, the TMDB client and the home lists are warmed up
+        // off the main thread while the splash screen draws.
+        AppStartup.start(this);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Glide trims its own caches through the callbacks it registers.
+        MovieRepository.getInstance().trimMemory(level);
     }
 }
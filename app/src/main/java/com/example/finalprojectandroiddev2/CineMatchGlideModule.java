@@ -0,0 +1,69 @@
+package com.example.finalprojectandroiddev2;
+
+import android.app.ActivityManager;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
+import com.example.finalprojectandroiddev2.data.api.TmdbImageLoader;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.io.InputStream;
+
+/**
+ * App-wide Glide configuration, picked up by Glide's annotation processor.
+ *
+ * Memory: the decoded-image cache and the bitmap pool are sized as fractions of the
+ * device's per-app heap class (halved again on low-RAM devices) rather than Glide's
+ * screen-count defaults, so a long poster list can't crowd out the rest of the app.
+ * Every TMDB image is an opaque JPEG, so decodes default to RGB_565 — half the bytes of
+ * ARGB_8888. Glide registers for {@code onTrimMemory} itself and empties these caches
+ * when the system asks.
+ */
+@GlideModule
+public final class CineMatchGlideModule extends AppGlideModule {
+
+    private static final String TAG = Constants.TAG_APP;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        long heapBytes = (long) am.getMemoryClass() * 1024 * 1024;
+        int divisor = am.isLowRamDevice() ? 2 : 1;
+        long memoryCacheBytes = heapBytes / Constants.GLIDE_MEMORY_CACHE_HEAP_DIVISOR / divisor;
+        long bitmapPoolBytes  = heapBytes / Constants.GLIDE_BITMAP_POOL_HEAP_DIVISOR / divisor;
+
+        builder.setMemoryCache(new LruResourceCache(memoryCacheBytes));
+        builder.setBitmapPool(new LruBitmapPool(bitmapPoolBytes));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context,
+                Constants.GLIDE_DISK_CACHE_DIR, Constants.GLIDE_DISK_CACHE_SIZE_BYTES));
+        builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+
+        Logger.d(TAG, "Glide budget: memory cache " + (memoryCacheBytes >> 20) + " MB, bitmap pool "
+                + (bitmapPoolBytes >> 20) + " MB (heap class " + am.getMemoryClass() + " MB)");
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide,
+                                   @NonNull Registry registry) {
+        // Lets screens load TmdbImage models; the URL's size bucket follows the view size.
+        registry.prepend(TmdbImage.class, InputStream.class, new TmdbImageLoader.Factory());
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -1,15 +1,41 @@
 package com.example.finalprojectandroiddev2.data.api;
 
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
 import com.example.finalprojectandroiddev2.utils.Constants;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Singleton Retrofit client for TMDB.
  *
+ * All TMDB traffic goes through one shared {@link OkHttpClient} so every screen reuses the
+ * same connection pool, HTTP/2 connection and on-disk response cache, and identical
+ * concurrent requests collapse into one via {@link TmdbRequestCoalescer}. Call
+ * {@link #init(Context)} once from {@code CineMatchApplication} so the cache has a
+ * directory; without it the client still works, just uncached.
+ *
  * Usage:
  *   TmdbApiService service = TmdbApiClient.getService();
  *   service.getTrendingMovies("day", "en-US", "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN);
@@ -17,22 +43,165 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public final class TmdbApiClient {
 
     private static TmdbApiService instance;
+    private static OkHttpClient httpClient;
+    private static File cacheDir;
+
+    private static final TmdbHttpStats stats = new TmdbHttpStats();
 
     private TmdbApiClient() {}
 
-    public static TmdbApiService getService() {
+    /**
+     * Points the HTTP cache at the app's cache directory. Must run before the first
+     * {@link #getService()} call to take effect.
+     */
+    public static synchronized void init(Context context) {
+        if (cacheDir == null) {
+            cacheDir = new File(context.getApplicationContext().getCacheDir(),
+                    Constants.TMDB_HTTP_CACHE_DIR);
+        }
+    }
+
+    public static synchronized TmdbApiService getService() {
         if (instance == null) {
-            Gson gson = new GsonBuilder()
-                    .setLenient()
-                    .create();
+            instance = createService(getHttpClient(), Constants.TMDB_BASE_URL);
+        }
+        return instance;
+    }
+
+    /** The shared client; other TMDB consumers should build on it via {@code newBuilder()}. */
+    public static synchronized OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = createHttpClient(cacheDir, stats);
+        }
+        return httpClient;
+    }
+
+    /** Network, cache and coalescing counters for every TMDB call made through the shared client. */
+    public static TmdbHttpStats getStats() {
+        return stats;
+    }
+
+    @VisibleForTesting
+    static TmdbApiService createService(OkHttpClient client, String baseUrl) {
+        // Streaming adapters for the TMDB models; no reflective binding on the parse path.
+        Gson gson = TmdbTypeAdapters.register(new GsonBuilder())
+                .setLenient()
+                .create();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build();
 
-            Retrofit retrofit = new Retrofit.Builder()
-                    .baseUrl(Constants.TMDB_BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create(gson))
+        return retrofit.create(TmdbApiService.class);
+    }
+
+    @VisibleForTesting
+    static OkHttpClient createHttpClient(@Nullable File cacheDirectory, TmdbHttpStats listener) {
+        // Every request targets api.themoviedb.org, so let a single host use most of the
+        // dispatcher; HTTP/2 multiplexes them over one connection anyway.
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(Constants.TMDB_MAX_REQUESTS_PER_HOST);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        Constants.TMDB_MAX_IDLE_CONNECTIONS,
+                        Constants.TMDB_KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(20, TimeUnit.SECONDS)
+                .eventListener(listener)
+                .addInterceptor(new TmdbRequestCoalescer(listener))
+                .addInterceptor(new OfflineCacheInterceptor())
+                .addNetworkInterceptor(new CacheControlInterceptor());
+
+        if (cacheDirectory != null) {
+            builder.cache(new Cache(cacheDirectory, Constants.TMDB_HTTP_CACHE_SIZE_BYTES));
+        }
+        return builder.build();
+    }
+
+    /**
+     * TMDB sometimes omits Cache-Control or sends a max-age of a few seconds, which would
+     * make the disk cache useless. Raise those to a floor that matches how fast the data
+     * actually changes. Responses that explicitly opt out (no-store / no-cache) are left
+     * alone so they still revalidate.
+     */
+    @VisibleForTesting
+    static final class CacheControlInterceptor implements Interceptor {
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+            if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+                return response;
+            }
+
+            CacheControl cacheControl = response.cacheControl();
+            if (cacheControl.noStore() || cacheControl.noCache()) {
+                return response;
+            }
+
+            int floor = maxAgeFor(request.url());
+            if (cacheControl.maxAgeSeconds() >= floor) {
+                return response;
+            }
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", "public, max-age=" + floor)
                     .build();
+        }
 
-            instance = retrofit.create(TmdbApiService.class);
+        /** Details ({@code movie/{id}}) barely change; lists rotate through the day. */
+        static int maxAgeFor(HttpUrl url) {
+            String last = url.pathSegments().get(url.pathSize() - 1);
+            return isNumeric(last)
+                    ? Constants.TMDB_DETAILS_MAX_AGE_SECONDS
+                    : Constants.TMDB_LIST_MAX_AGE_SECONDS;
+        }
+
+        private static boolean isNumeric(String segment) {
+            if (segment.isEmpty()) return false;
+            for (int i = 0; i < segment.length(); i++) {
+                if (!Character.isDigit(segment.charAt(i))) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * When the network is unreachable, retry a GET against the disk cache with a generous
+     * max-stale so a previously seen page still renders instead of a "Failed to load" toast.
+     */
+    @VisibleForTesting
+    static final class OfflineCacheInterceptor implements Interceptor {
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            try {
+                return chain.proceed(request);
+            } catch (IOException networkError) {
+                if (!"GET".equals(request.method()) || chain.call().isCanceled()) {
+                    throw networkError;
+                }
+                Request cacheOnly = request.newBuilder()
+                        .cacheControl(new CacheControl.Builder()
+                                .onlyIfCached()
+                                .maxStale(Constants.TMDB_OFFLINE_MAX_STALE_DAYS, TimeUnit.DAYS)
+                                .build())
+                        .build();
+                Response cached = chain.proceed(cacheOnly);
+                if (cached.code() == 504) {
+                    // 504 is OkHttp's "not in cache" marker for only-if-cached requests.
+                    cached.close();
+                    throw networkError;
+                }
+                return cached;
+            }
         }
-        return instance;
     }
 }
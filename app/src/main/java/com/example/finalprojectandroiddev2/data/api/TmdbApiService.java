@@ -1,5 +1,6 @@
 package com.example.finalprojectandroiddev2.data.api;
 
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
 
@@ -99,4 +100,14 @@ public interface TmdbApiService {
             @Query("page") int page,
             @Header("Authorization") String bearerToken
     );
+
+    /**
+     * GET /genre/movie/list
+     * Returns every movie genre ID with its name in the requested language.
+     */
+    @GET("genre/movie/list")
+    Call<GenreListResponse> getMovieGenres(
+            @Query("language") String language,
+            @Header("Authorization") String bearerToken
+    );
 }
@@ -0,0 +1,93 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Response;
+
+/**
+ * Counts what the shared TMDB client actually sends over the wire versus what the HTTP
+ * cache answers locally, plus how many calls {@link TmdbRequestCoalescer} folded into an
+ * identical in-flight request. One instance is shared by every call, so all counters are
+ * atomic.
+ */
+public final class TmdbHttpStats extends EventListener {
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong conditionalHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong networkBytes = new AtomicLong();
+    private final AtomicLong leaderCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        cacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        conditionalHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        cacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        // Only fires for bodies read from the network; cache hits never reach here.
+        networkBytes.addAndGet(byteCount);
+    }
+
+    void recordLeaderCall() {
+        leaderCalls.incrementAndGet();
+    }
+
+    void recordCoalescedCall() {
+        coalescedCalls.incrementAndGet();
+    }
+
+    /** Responses served entirely from the disk cache. */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** Stale cache entries revalidated with a 304 instead of a full download. */
+    public long getConditionalHits() {
+        return conditionalHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /** Response body bytes downloaded from TMDB. */
+    public long getNetworkBytes() {
+        return networkBytes.get();
+    }
+
+    /** GETs that went past the coalescer and actually ran. */
+    public long getLeaderCalls() {
+        return leaderCalls.get();
+    }
+
+    /** GETs that piggy-backed on an identical in-flight call instead of running their own. */
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "hits=" + cacheHits.get()
+                + " conditional=" + conditionalHits.get()
+                + " misses=" + cacheMisses.get()
+                + " bytes=" + networkBytes.get()
+                + " coalesced=" + coalescedCalls.get() + "/" + (leaderCalls.get() + coalescedCalls.get());
+    }
+}
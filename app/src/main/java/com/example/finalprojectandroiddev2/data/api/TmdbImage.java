@@ -0,0 +1,91 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.utils.Constants;
+
+/**
+ * A TMDB image (poster or backdrop) as a Glide model.
+ *
+ * Load it with {@code Glide.with(view).load(TmdbImage.poster(path))} instead of a fixed
+ * {@code /w500} URL: {@link TmdbImageLoader} asks {@link #urlFor(int, int)} for the
+ * smallest TMDB size bucket that still covers the target view's measured pixel size, so a
+ * 100px list thumbnail downloads and decodes a {@code w154} file rather than a 500px one.
+ *
+ * Equality is by kind and path only. Glide's memory key adds the target size, and the
+ * disk key is the resolved bucket URL, so views of slightly different sizes share one
+ * cached file per bucket.
+ */
+public final class TmdbImage {
+
+    /** TMDB's poster widths; posters are 2:3. */
+    static final int[] POSTER_WIDTHS   = {92, 154, 185, 342, 500, 780};
+    /** TMDB's backdrop widths; backdrops are 16:9. */
+    static final int[] BACKDROP_WIDTHS = {300, 780, 1280};
+
+    private final String path;
+    private final boolean backdrop;
+
+    private TmdbImage(String path, boolean backdrop) {
+        this.path     = path;
+        this.backdrop = backdrop;
+    }
+
+    /** @return null when the movie has no poster, so Glide shows the error placeholder */
+    @Nullable
+    public static TmdbImage poster(@Nullable String path) {
+        return path == null || path.isEmpty() ? null : new TmdbImage(path, false);
+    }
+
+    @Nullable
+    public static TmdbImage backdrop(@Nullable String path) {
+        return path == null || path.isEmpty() ? null : new TmdbImage(path, true);
+    }
+
+    /** The backdrop if there is one, else the poster, else null. */
+    @Nullable
+    public static TmdbImage backdropOrPoster(@Nullable String backdropPath,
+                                             @Nullable String posterPath) {
+        TmdbImage image = backdrop(backdropPath);
+        return image != null ? image : poster(posterPath);
+    }
+
+    /**
+     * URL of the smallest bucket whose file, scaled to fill {@code width × height} pixels
+     * (centre-crop), is not upscaled. Non-positive sizes (Glide's
+     * {@code SIZE_ORIGINAL}) get the original file.
+     */
+    public String urlFor(int width, int height) {
+        return Constants.TMDB_IMAGE_BASE_URL + sizeFor(width, height) + path;
+    }
+
+    String sizeFor(int width, int height) {
+        if (width <= 0 || height <= 0) return "original";
+        // Filling the view means covering both dimensions at the image's aspect ratio.
+        long needed = backdrop
+                ? Math.max(width, ((long) height * 16 + 8) / 9)
+                : Math.max(width, ((long) height * 2 + 2) / 3);
+        for (int w : backdrop ? BACKDROP_WIDTHS : POSTER_WIDTHS) {
+            if (w >= needed) return "w" + w;
+        }
+        return "original";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TmdbImage)) return false;
+        TmdbImage other = (TmdbImage) o;
+        return backdrop == other.backdrop && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * path.hashCode() + (backdrop ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return (backdrop ? "backdrop:" : "poster:") + path;
+    }
+}
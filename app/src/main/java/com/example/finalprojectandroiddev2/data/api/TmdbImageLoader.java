@@ -0,0 +1,46 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.model.stream.BaseGlideUrlLoader;
+
+import java.io.InputStream;
+
+/**
+ * Resolves a {@link TmdbImage} to a size-bucketed URL once Glide knows the target's pixel
+ * size, then hands the URL to Glide's regular network loader. Registered in
+ * {@code CineMatchGlideModule}.
+ */
+public final class TmdbImageLoader extends BaseGlideUrlLoader<TmdbImage> {
+
+    private TmdbImageLoader(ModelLoader<GlideUrl, InputStream> urlLoader) {
+        super(urlLoader);
+    }
+
+    @Override
+    protected String getUrl(TmdbImage image, int width, int height, Options options) {
+        return image.urlFor(width, height);
+    }
+
+    @Override
+    public boolean handles(@NonNull TmdbImage image) {
+        return true;
+    }
+
+    public static final class Factory implements ModelLoaderFactory<TmdbImage, InputStream> {
+
+        @NonNull
+        @Override
+        public ModelLoader<TmdbImage, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new TmdbImageLoader(multiFactory.build(GlideUrl.class, InputStream.class));
+        }
+
+        @Override
+        public void teardown() {}
+    }
+}
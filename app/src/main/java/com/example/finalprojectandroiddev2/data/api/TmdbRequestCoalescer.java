@@ -0,0 +1,204 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Single-flight layer for TMDB GETs. While a request is in flight, any identical request
+ * (same endpoint, same query parameters, same credentials) waits for it instead of opening
+ * its own call, and every waiter receives its own copy of the buffered response.
+ *
+ * Registered as the first application interceptor so followers skip the cache lookup and
+ * the network entirely. Typical duplicates: HomeActivity and MoviesActivity both loading
+ * trending day page 1, or the movie modal opening details that ViewMovieActivity is
+ * already fetching.
+ *
+ * Cancelling a call only cancels it for its own caller: if the leader is cancelled
+ * mid-flight, its followers don't inherit the failure. One of them becomes the new leader
+ * and the rest wait on it.
+ */
+public final class TmdbRequestCoalescer implements Interceptor {
+
+    private static final long CANCEL_POLL_MS = 100;
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    /** Callers currently blocked on another caller's flight. */
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final TmdbHttpStats stats;
+
+    public TmdbRequestCoalescer(TmdbHttpStats stats) {
+        this.stats = stats;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        String key = keyFor(request);
+        while (true) {
+            InFlight mine = new InFlight();
+            InFlight leader = inFlight.putIfAbsent(key, mine);
+            if (leader == null) {
+                return lead(chain, request, key, mine);
+            }
+            Response shared;
+            waiting.incrementAndGet();
+            try {
+                shared = leader.await(chain, request);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (shared != null) {
+                // Counted once, and only when the call was actually served by another one.
+                stats.recordCoalescedCall();
+                return shared;
+            }
+            // The leader's caller cancelled its own call; this one still wants the response.
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private Response lead(Chain chain, Request request, String key, InFlight mine)
+            throws IOException {
+        stats.recordLeaderCall();
+        try {
+            Buffered buffered = Buffered.read(chain.proceed(request));
+            mine.complete(buffered);
+            return buffered.toResponse(request);
+        } catch (IOException | RuntimeException e) {
+            mine.fail(e, chain.call().isCanceled());
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Number of requests currently being fetched on behalf of one or more callers. */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /** Number of callers currently waiting on an identical call instead of running their own. */
+    @VisibleForTesting
+    int waitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Path plus query parameters sorted by name, so two call sites that happen to add the
+     * same parameters in a different order still share a flight. The Authorization header
+     * is part of the key so different credentials never see each other's responses.
+     */
+    @VisibleForTesting
+    static String keyFor(Request request) {
+        HttpUrl url = request.url();
+        List<String> params = new ArrayList<>(url.querySize());
+        for (int i = 0; i < url.querySize(); i++) {
+            params.add(url.queryParameterName(i) + "=" + url.queryParameterValue(i));
+        }
+        Collections.sort(params);
+
+        StringBuilder key = new StringBuilder(url.host()).append(url.encodedPath());
+        for (String param : params) {
+            key.append('&').append(param);
+        }
+        String auth = request.header("Authorization");
+        if (auth != null) {
+            key.append("#").append(auth.hashCode());
+        }
+        return key.toString();
+    }
+
+    /** A response whose body has been read into memory so it can be handed out repeatedly. */
+    private static final class Buffered {
+        final Response template;
+        final byte[] body;
+        final MediaType contentType;
+
+        private Buffered(Response template, byte[] body, MediaType contentType) {
+            this.template = template;
+            this.body = body;
+            this.contentType = contentType;
+        }
+
+        static Buffered read(Response response) throws IOException {
+            try (ResponseBody responseBody = response.body()) {
+                if (responseBody == null) {
+                    return new Buffered(response, new byte[0], null);
+                }
+                return new Buffered(response, responseBody.bytes(), responseBody.contentType());
+            }
+        }
+
+        Response toResponse(Request request) {
+            return template.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(body, contentType))
+                    .build();
+        }
+    }
+
+    private static final class InFlight {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Buffered result;
+        private volatile Exception error;
+        /** The leader failed only because its own caller cancelled it. */
+        private volatile boolean cancelled;
+
+        void complete(Buffered buffered) {
+            result = buffered;
+            done.countDown();
+        }
+
+        void fail(Exception e, boolean byCancel) {
+            error = e;
+            cancelled = byCancel;
+            done.countDown();
+        }
+
+        /** @return the shared response, or {@code null} if the leader was cancelled and the caller should retry */
+        @Nullable
+        Response await(Chain chain, Request request) throws IOException {
+            try {
+                // Poll so a follower that gets cancelled stops waiting on someone else's call.
+                while (!done.await(CANCEL_POLL_MS, TimeUnit.MILLISECONDS)) {
+                    if (chain.call().isCanceled()) {
+                        throw new IOException("Canceled");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for shared call");
+            }
+            if (cancelled) {
+                return null;
+            }
+            if (error != null) {
+                throw new IOException("Shared TMDB call failed: " + error.getMessage(), error);
+            }
+            return result.toResponse(request);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming adapters for the TMDB models, registered on the Retrofit Gson
+ * instance in place of Gson's reflective binding.
+ *
+ * Each adapter reads the fields the app uses straight off the {@link JsonReader} and
+ * {@code skipValue()}s the rest (a details response is mostly production companies,
+ * spoken languages and the like), so a page costs no reflection and no intermediate
+ * objects. Retrofit already runs these on OkHttp's background threads. The JSON names
+ * here must stay in step with the {@code @SerializedName}s on the models.
+ */
+public final class TmdbTypeAdapters {
+
+    static final TypeAdapter<Movie.Genre> GENRE = new GenreAdapter();
+    static final TypeAdapter<Movie> MOVIE = new MovieAdapter();
+    static final TypeAdapter<MovieListResponse> MOVIE_LIST = new MovieListAdapter();
+    static final TypeAdapter<GenreListResponse> GENRE_LIST = new GenreListAdapter();
+
+    private TmdbTypeAdapters() {}
+
+    /** Registers every TMDB model adapter on {@code builder}. */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(Movie.Genre.class, GENRE)
+                .registerTypeAdapter(Movie.class, MOVIE)
+                .registerTypeAdapter(MovieListResponse.class, MOVIE_LIST)
+                .registerTypeAdapter(GenreListResponse.class, GENRE_LIST);
+    }
+
+    // ── Movie.Genre ────────────────────────────────────────────────────────────
+
+    private static final class GenreAdapter extends TypeAdapter<Movie.Genre> {
+
+        @Override
+        public Movie.Genre read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Movie.Genre genre = new Movie.Genre();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":   genre.setId(nextInt(in));      break;
+                    case "name": genre.setName(nextString(in)); break;
+                    default:     in.skipValue();
+                }
+            }
+            in.endObject();
+            return genre;
+        }
+
+        @Override
+        public void write(JsonWriter out, Movie.Genre genre) throws IOException {
+            if (genre == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(genre.getId());
+            out.name("name").value(genre.getName());
+            out.endObject();
+        }
+    }
+
+    // ── Movie ──────────────────────────────────────────────────────────────────
+
+    private static final class MovieAdapter extends TypeAdapter<Movie> {
+
+        @Override
+        public Movie read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Movie movie = new Movie();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":            movie.setId(nextInt(in));                   break;
+                    case "title":         movie.setTitle(nextString(in));             break;
+                    case "poster_path":   movie.setPosterPath(nextString(in));        break;
+                    case "backdrop_path": movie.setBackdropPath(nextString(in));      break;
+                    case "overview":      movie.setOverview(nextString(in));          break;
+                    case "vote_average":  movie.setVoteAverage(nextDouble(in));       break;
+                    case "release_date":  movie.setReleaseDate(nextString(in));       break;
+                    case "popularity":    movie.setPopularity(nextDouble(in));        break;
+                    case "genre_ids":     movie.setGenreIds(readGenreIds(in));        break;
+                    case "genres":        movie.setGenres(readList(in, GENRE));       break;
+                    default:              in.skipValue();
+                }
+            }
+            in.endObject();
+            return movie;
+        }
+
+        @Override
+        public void write(JsonWriter out, Movie movie) throws IOException {
+            if (movie == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(movie.getId());
+            out.name("title").value(movie.getTitle());
+            out.name("poster_path").value(movie.getPosterPath());
+            out.name("backdrop_path").value(movie.getBackdropPath());
+            out.name("overview").value(movie.getOverview());
+            out.name("vote_average").value(movie.getVoteAverage());
+            out.name("release_date").value(movie.getReleaseDate());
+            out.name("popularity").value(movie.getPopularity());
+            if (movie.getGenreIds() != null) {
+                out.name("genre_ids").beginArray();
+                for (Integer id : movie.getGenreIds()) out.value(id);
+                out.endArray();
+            }
+            if (movie.getGenres() != null) {
+                out.name("genres").beginArray();
+                for (Movie.Genre genre : movie.getGenres()) GENRE.write(out, genre);
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        private static List<Integer> readGenreIds(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<Integer> ids = new ArrayList<>(4);
+            in.beginArray();
+            while (in.hasNext()) ids.add(in.nextInt());
+            in.endArray();
+            return ids;
+        }
+    }
+
+    // ── MovieListResponse ──────────────────────────────────────────────────────
+
+    private static final class MovieListAdapter extends TypeAdapter<MovieListResponse> {
+
+        @Override
+        public MovieListResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            int page = 0;
+            int totalPages = 0;
+            int totalResults = 0;
+            List<Movie> results = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "page":          page = nextInt(in);                break;
+                    case "results":       results = readList(in, MOVIE);     break;
+                    case "total_pages":   totalPages = nextInt(in);          break;
+                    case "total_results": totalResults = nextInt(in);        break;
+                    default:              in.skipValue();
+                }
+            }
+            in.endObject();
+            return new MovieListResponse(page, results, totalPages, totalResults);
+        }
+
+        @Override
+        public void write(JsonWriter out, MovieListResponse response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("page").value(response.getPage());
+            if (response.getResults() != null) {
+                out.name("results").beginArray();
+                for (Movie movie : response.getResults()) MOVIE.write(out, movie);
+                out.endArray();
+            }
+            out.name("total_pages").value(response.getTotalPages());
+            out.name("total_results").value(response.getTotalResults());
+            out.endObject();
+        }
+    }
+
+    // ── GenreListResponse ──────────────────────────────────────────────────────
+
+    private static final class GenreListAdapter extends TypeAdapter<GenreListResponse> {
+
+        @Override
+        public GenreListResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            List<Movie.Genre> genres = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("genres".equals(in.nextName())) {
+                    genres = readList(in, GENRE);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GenreListResponse(genres);
+        }
+
+        @Override
+        public void write(JsonWriter out, GenreListResponse response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (response.getGenres() != null) {
+                out.name("genres").beginArray();
+                for (Movie.Genre genre : response.getGenres()) GENRE.write(out, genre);
+                out.endArray();
+            }
+            out.endObject();
+        }
+    }
+
+    // ── Readers ────────────────────────────────────────────────────────────────
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> element) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            T value = element.read(in);
+            if (value != null) list.add(value);
+        }
+        in.endArray();
+        return list;
+    }
+
+    /** Null leaves the field null, as reflective binding did. */
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /** Null reads as 0, the primitive field's default. */
+    private static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    private static double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextDouble();
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.finalprojectandroiddev2.data.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline copy of everything TMDB has sent us: movie rows, their genre links, and which
+ * movies sit on which list page (trending_day page N, popular page N, ...). MovieRepository
+ * reads from here before the network so a cold start or a flaky connection still renders
+ * carousels and details.
+ *
+ * Schema (v2):
+ *   movies        — one row per TMDB movie; details columns filled once /movie/{id} is seen
+ *   movie_genres  — (movie_id, genre_id) links; genre_name only known from details
+ *   list_pages    — one row per fetched page with totals and fetch time (the TTL anchor)
+ *   list_entries  — ordered movie IDs for each page
+ *   genre_names   — /genre/movie/list per language (v2)
+ *
+ * Every method does disk I/O; call from a background thread.
+ */
+public class MovieCatalogDatabase extends SQLiteOpenHelper {
+
+    private static final String TAG = Constants.TAG_TMDB;
+
+    public static final String DB_NAME = "movie_catalog.db";
+
+    /**
+     * Bump together with a new step in {@link #onUpgrade}. Each step migrates exactly one
+     * version forward so any installed version can walk up to the current one.
+     */
+    static final int DB_VERSION = 2;
+
+    /** A stored value plus the time it was fetched from TMDB. */
+    public static final class Cached<T> {
+        public final T value;
+        public final long fetchedAt;
+
+        Cached(T value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /** @param name database file name, or {@code null} for an in-memory database (tests). */
+    public MovieCatalogDatabase(@NonNull Context context, @Nullable String name) {
+        super(context.getApplicationContext(), name, null, DB_VERSION);
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        // Reads from the repository's executor overlap writes of freshly fetched pages.
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE movies ("
+                + "id INTEGER PRIMARY KEY,"
+                + "title TEXT,"
+                + "poster_path TEXT,"
+                + "backdrop_path TEXT,"
+                + "overview TEXT,"
+                + "vote_average REAL NOT NULL DEFAULT 0,"
+                + "release_date TEXT,"
+                + "popularity REAL NOT NULL DEFAULT 0,"
+                + "details_fetched_at INTEGER,"
+                + "updated_at INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE movie_genres ("
+                + "movie_id INTEGER NOT NULL,"
+                + "genre_id INTEGER NOT NULL,"
+                + "genre_name TEXT,"
+                + "PRIMARY KEY (movie_id, genre_id))");
+        db.execSQL("CREATE TABLE list_pages ("
+                + "list_key TEXT NOT NULL,"
+                + "page INTEGER NOT NULL,"
+                + "total_pages INTEGER NOT NULL,"
+                + "total_results INTEGER NOT NULL,"
+                + "fetched_at INTEGER NOT NULL,"
+                + "PRIMARY KEY (list_key, page))");
+        db.execSQL("CREATE TABLE list_entries ("
+                + "list_key TEXT NOT NULL,"
+                + "page INTEGER NOT NULL,"
+                + "position INTEGER NOT NULL,"
+                + "movie_id INTEGER NOT NULL,"
+                + "PRIMARY KEY (list_key, page, position))");
+        db.execSQL("CREATE INDEX idx_list_entries_movie ON list_entries(movie_id)");
+        createGenreNames(db);
+    }
+
+    private static void createGenreNames(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE genre_names ("
+                + "language TEXT NOT NULL,"
+                + "id INTEGER NOT NULL,"
+                + "name TEXT NOT NULL,"
+                + "fetched_at INTEGER NOT NULL,"
+                + "PRIMARY KEY (language, id))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Migration ladder: add "if (version == N) { ...; version = N + 1; }" steps here.
+        int version = oldVersion;
+        if (version == 1) {
+            createGenreNames(db);
+            version = 2;
+        }
+
+        if (version != newVersion) {
+            // No step knows how to get here. Everything in this database can be fetched
+            // again from TMDB, so rebuilding is always a safe fallback.
+            Logger.w(TAG, "No catalog migration " + version + "→" + newVersion + ", rebuilding");
+            dropAll(db);
+            onCreate(db);
+        }
+    }
+
+    @Override
+    public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        dropAll(db);
+        onCreate(db);
+    }
+
+    private static void dropAll(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS genre_names");
+        db.execSQL("DROP TABLE IF EXISTS list_entries");
+        db.execSQL("DROP TABLE IF EXISTS list_pages");
+        db.execSQL("DROP TABLE IF EXISTS movie_genres");
+        db.execSQL("DROP TABLE IF EXISTS movies");
+    }
+
+    // ── Lists ──────────────────────────────────────────────────────────────────
+
+    /** Replaces the stored copy of one list page and upserts the movies on it. */
+    @WorkerThread
+    public void putListPage(@NonNull String listKey, @NonNull MovieListResponse response,
+                            long fetchedAt) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            int page = response.getPage();
+            db.delete("list_entries", "list_key = ? AND page = ?",
+                    new String[]{listKey, String.valueOf(page)});
+
+            List<Movie> results = response.getResults();
+            if (results != null) {
+                for (int i = 0; i < results.size(); i++) {
+                    Movie movie = results.get(i);
+                    upsertMovie(db, movie, fetchedAt, false);
+
+                    ContentValues entry = new ContentValues(4);
+                    entry.put("list_key", listKey);
+                    entry.put("page", page);
+                    entry.put("position", i);
+                    entry.put("movie_id", movie.getId());
+                    db.insertWithOnConflict("list_entries", null, entry,
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+
+            ContentValues pageRow = new ContentValues(5);
+            pageRow.put("list_key", listKey);
+            pageRow.put("page", page);
+            pageRow.put("total_pages", response.getTotalPages());
+            pageRow.put("total_results", response.getTotalResults());
+            pageRow.put("fetched_at", fetchedAt);
+            db.insertWithOnConflict("list_pages", null, pageRow, SQLiteDatabase.CONFLICT_REPLACE);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    public Cached<MovieListResponse> getListPage(@NonNull String listKey, int page) {
+        SQLiteDatabase db = getReadableDatabase();
+        String[] args = {listKey, String.valueOf(page)};
+
+        int totalPages;
+        int totalResults;
+        long fetchedAt;
+        try (Cursor c = db.rawQuery("SELECT total_pages, total_results, fetched_at"
+                + " FROM list_pages WHERE list_key = ? AND page = ?", args)) {
+            if (!c.moveToFirst()) return null;
+            totalPages = c.getInt(0);
+            totalResults = c.getInt(1);
+            fetchedAt = c.getLong(2);
+        }
+
+        LinkedHashMap<Integer, Movie> movies = new LinkedHashMap<>();
+        try (Cursor c = db.rawQuery("SELECT " + MOVIE_COLUMNS + " FROM list_entries e"
+                + " JOIN movies m ON m.id = e.movie_id"
+                + " WHERE e.list_key = ? AND e.page = ? ORDER BY e.position", args)) {
+            while (c.moveToNext()) {
+                Movie movie = readMovie(c);
+                movies.put(movie.getId(), movie);
+            }
+        }
+        attachGenres(db, movies);
+
+        MovieListResponse response = new MovieListResponse(
+                page, new ArrayList<>(movies.values()), totalPages, totalResults);
+        return new Cached<>(response, fetchedAt);
+    }
+
+    // ── Details ────────────────────────────────────────────────────────────────
+
+    @WorkerThread
+    public void putMovieDetails(@NonNull Movie movie, long fetchedAt) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            upsertMovie(db, movie, fetchedAt, true);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /** Returns the movie only if its full details (named genres) have been stored. */
+    @WorkerThread
+    @Nullable
+    public Cached<Movie> getMovieDetails(int movieId) {
+        SQLiteDatabase db = getReadableDatabase();
+        Movie movie;
+        long fetchedAt;
+        try (Cursor c = db.rawQuery("SELECT " + MOVIE_COLUMNS + ", m.details_fetched_at"
+                        + " FROM movies m WHERE m.id = ? AND m.details_fetched_at IS NOT NULL",
+                new String[]{String.valueOf(movieId)})) {
+            if (!c.moveToFirst()) return null;
+            movie = readMovie(c);
+            fetchedAt = c.getLong(MOVIE_COLUMN_COUNT);
+        }
+        Map<Integer, Movie> one = new LinkedHashMap<>();
+        one.put(movieId, movie);
+        attachGenres(db, one);
+        return new Cached<>(movie, fetchedAt);
+    }
+
+    /**
+     * The stored overview from any row, list or details. List rows carry the same
+     * overview text as details, so this answers for every movie seen on a cached page.
+     *
+     * @return {@code null} if no row with a non-empty overview is stored
+     */
+    @WorkerThread
+    @Nullable
+    public String getOverview(int movieId) {
+        try (Cursor c = getReadableDatabase().rawQuery("SELECT overview FROM movies"
+                        + " WHERE id = ? AND overview IS NOT NULL AND overview != ''",
+                new String[]{String.valueOf(movieId)})) {
+            return c.moveToFirst() ? c.getString(0) : null;
+        }
+    }
+
+    // ── Genres ─────────────────────────────────────────────────────────────────
+
+    /** Replaces the stored genre list for one TMDB language. */
+    @WorkerThread
+    public void putGenreList(@NonNull String language, @NonNull GenreListResponse response,
+                             long fetchedAt) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete("genre_names", "language = ?", new String[]{language});
+            ContentValues values = new ContentValues();
+            if (response.getGenres() != null) {
+                for (Movie.Genre genre : response.getGenres()) {
+                    if (genre.getName() == null) continue;
+                    values.clear();
+                    values.put("language", language);
+                    values.put("id", genre.getId());
+                    values.put("name", genre.getName());
+                    values.put("fetched_at", fetchedAt);
+                    db.insertOrThrow("genre_names", null, values);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    public Cached<GenreListResponse> getGenreList(@NonNull String language) {
+        List<Movie.Genre> genres = new ArrayList<>();
+        long fetchedAt = 0;
+        try (Cursor c = getReadableDatabase().rawQuery(
+                "SELECT id, name, fetched_at FROM genre_names WHERE language = ? ORDER BY id",
+                new String[]{language})) {
+            while (c.moveToNext()) {
+                Movie.Genre genre = new Movie.Genre();
+                genre.setId(c.getInt(0));
+                genre.setName(c.getString(1));
+                genres.add(genre);
+                fetchedAt = c.getLong(2);
+            }
+        }
+        return genres.isEmpty() ? null : new Cached<>(new GenreListResponse(genres), fetchedAt);
+    }
+
+    // ── Retention ──────────────────────────────────────────────────────────────
+
+    /**
+     * Drops list pages fetched before {@code cutoff}, then any movie that is no longer on a
+     * list and whose details (if any) are also older than the cutoff.
+     *
+     * @return number of movie rows removed
+     */
+    @WorkerThread
+    public int purgeOlderThan(long cutoff) {
+        SQLiteDatabase db = getWritableDatabase();
+        String[] args = {String.valueOf(cutoff)};
+        db.beginTransaction();
+        try {
+            db.execSQL("DELETE FROM list_entries WHERE EXISTS (SELECT 1 FROM list_pages p"
+                    + " WHERE p.list_key = list_entries.list_key AND p.page = list_entries.page"
+                    + " AND p.fetched_at < ?)", args);
+            db.delete("list_pages", "fetched_at < ?", args);
+            int removed = db.delete("movies",
+                    "id NOT IN (SELECT movie_id FROM list_entries)"
+                            + " AND (details_fetched_at IS NULL OR details_fetched_at < ?)", args);
+            db.execSQL("DELETE FROM movie_genres WHERE movie_id NOT IN (SELECT id FROM movies)");
+            db.setTransactionSuccessful();
+            return removed;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // ── Row mapping ────────────────────────────────────────────────────────────
+
+    private static final String MOVIE_COLUMNS = "m.id, m.title, m.poster_path, m.backdrop_path,"
+            + " m.overview, m.vote_average, m.release_date, m.popularity";
+    private static final int MOVIE_COLUMN_COUNT = 8;
+
+    private static Movie readMovie(Cursor c) {
+        Movie movie = new Movie();
+        movie.setId(c.getInt(0));
+        movie.setTitle(c.getString(1));
+        movie.setPosterPath(c.getString(2));
+        movie.setBackdropPath(c.getString(3));
+        movie.setOverview(c.getString(4));
+        movie.setVoteAverage(c.getDouble(5));
+        movie.setReleaseDate(c.getString(6));
+        movie.setPopularity(c.getDouble(7));
+        return movie;
+    }
+
+    /**
+     * List rows carry genre IDs only; details carry named genres. Fills both shapes so
+     * adapters that read either field keep working.
+     */
+    private static void attachGenres(SQLiteDatabase db, Map<Integer, Movie> movies) {
+        if (movies.isEmpty()) return;
+        for (Movie movie : movies.values()) {
+            movie.setGenreIds(new ArrayList<>());
+        }
+
+        StringBuilder in = new StringBuilder();
+        for (Integer id : movies.keySet()) {
+            if (in.length() > 0) in.append(',');
+            in.append(id);
+        }
+        try (Cursor c = db.rawQuery("SELECT movie_id, genre_id, genre_name FROM movie_genres"
+                + " WHERE movie_id IN (" + in + ") ORDER BY rowid", null)) {
+            while (c.moveToNext()) {
+                Movie movie = movies.get(c.getInt(0));
+                if (movie == null) continue;
+                movie.getGenreIds().add(c.getInt(1));
+                if (!c.isNull(2)) {
+                    if (movie.getGenres() == null) {
+                        movie.setGenres(new ArrayList<>());
+                    }
+                    Movie.Genre genre = new Movie.Genre();
+                    genre.setId(c.getInt(1));
+                    genre.setName(c.getString(2));
+                    movie.getGenres().add(genre);
+                }
+            }
+        }
+    }
+
+    /**
+     * Upserts the scalar columns. A list row never wipes details-only state: the details
+     * timestamp and named genre links survive, and list genre IDs are only added.
+     */
+    private static void upsertMovie(SQLiteDatabase db, Movie movie, long now, boolean isDetails) {
+        ContentValues values = new ContentValues(10);
+        values.put("title", movie.getTitle());
+        values.put("poster_path", movie.getPosterPath());
+        values.put("backdrop_path", movie.getBackdropPath());
+        values.put("overview", movie.getOverview());
+        values.put("vote_average", movie.getVoteAverage());
+        values.put("release_date", movie.getReleaseDate());
+        values.put("popularity", movie.getPopularity());
+        values.put("updated_at", now);
+        if (isDetails) {
+            values.put("details_fetched_at", now);
+        }
+
+        String[] idArg = {String.valueOf(movie.getId())};
+        if (db.update("movies", values, "id = ?", idArg) == 0) {
+            values.put("id", movie.getId());
+            db.insert("movies", null, values);
+        }
+
+        if (isDetails && movie.getGenres() != null) {
+            db.delete("movie_genres", "movie_id = ?", idArg);
+            for (Movie.Genre genre : movie.getGenres()) {
+                ContentValues link = new ContentValues(3);
+                link.put("movie_id", movie.getId());
+                link.put("genre_id", genre.getId());
+                link.put("genre_name", genre.getName());
+                db.insertWithOnConflict("movie_genres", null, link, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+        } else if (movie.getGenreIds() != null) {
+            for (Integer genreId : movie.getGenreIds()) {
+                if (genreId == null) continue;
+                ContentValues link = new ContentValues(2);
+                link.put("movie_id", movie.getId());
+                link.put("genre_id", genreId);
+                db.insertWithOnConflict("movie_genres", null, link, SQLiteDatabase.CONFLICT_IGNORE);
+            }
+        }
+    }
+}
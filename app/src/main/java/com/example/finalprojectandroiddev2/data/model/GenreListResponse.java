@@ -0,0 +1,26 @@
+package com.example.finalprojectandroiddev2.data.model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Maps the TMDB /genre/movie/list response:
+ * {
+ *   "genres": [ { "id": 28, "name": "Action" }, ... ]
+ * }
+ */
+public class GenreListResponse {
+
+    @SerializedName("genres")
+    private List<Movie.Genre> genres;
+
+    public GenreListResponse() {}
+
+    /** Used when rebuilding the list from the local movie catalog. */
+    public GenreListResponse(List<Movie.Genre> genres) {
+        this.genres = genres;
+    }
+
+    public List<Movie.Genre> getGenres() { return genres; }
+}
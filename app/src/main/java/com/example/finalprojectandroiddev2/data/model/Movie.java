@@ -75,7 +75,7 @@ public class Movie {
 
     public double getPopularity() { return popularity; }
 
-    // ── Setters (used when rebuilding Movie from Firebase) ────────────────────
+    // ── Setters (used when rebuilding Movie from Firebase or the local catalog) ──
 
     public void setId(int id)                        { this.id           = id;          }
     public void setTitle(String title)               { this.title        = title;       }
@@ -86,6 +86,7 @@ public class Movie {
     public void setReleaseDate(String releaseDate)   { this.releaseDate  = releaseDate; }
     public void setGenreIds(List<Integer> genreIds)  { this.genreIds     = genreIds;    }
     public void setGenres(List<Genre> genres)          { this.genres       = genres;      }
+    public void setPopularity(double popularity)     { this.popularity   = popularity;  }
 
     // ── Genre inner class (detail endpoint only) ──────────────────────────────
 
@@ -32,6 +32,16 @@ public class MovieListResponse {
     @SerializedName("total_results")
     private int totalResults;
 
+    public MovieListResponse() {}
+
+    /** Used when rebuilding a page from the local movie catalog. */
+    public MovieListResponse(int page, List<Movie> results, int totalPages, int totalResults) {
+        this.page = page;
+        this.results = results;
+        this.totalPages = totalPages;
+        this.totalResults = totalResults;
+    }
+
     public int getPage() { return page; }
     public List<Movie> getResults() { return results; }
     public int getTotalPages() { return totalPages; }
@@ -146,6 +146,8 @@ public class AuthRepository {
     public void signOut() {
         Logger.d(Constants.TAG_AUTH, "Signing out user");
         firebaseAuth.signOut();
+        UserRepository.getInstance().clearCache();
+        FirebaseRepository.getInstance().clearLibraries();
     }
 
     /**
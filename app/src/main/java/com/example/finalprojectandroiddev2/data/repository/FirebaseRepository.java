@@ -1,10 +1,14 @@
 package com.example.finalprojectandroiddev2.data.repository;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 
 import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.data.model.LobbyMember;
 import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.DeckCodec;
 import com.example.finalprojectandroiddev2.utils.Logger;
 import com.example.finalprojectandroiddev2.utils.MatchDetector;
 import com.google.firebase.database.ChildEventListener;
@@ -12,6 +16,8 @@ import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
@@ -34,10 +40,14 @@ import java.util.Map;
  *         gender:    String
  *         joinedAt:  long
  *         host:      boolean  (key is 'host', not 'isHost', to match LobbyMember.isHost() getter)
+ *     memberCount: long    ← size of members/, set in the same transaction that changes it
  *     votes/
  *       {movieId}/          ← TMDB movie ID (as String)
  *         {userId}: true    ← present = this user voted Yes on this movie
  *     matchedMovieId: String  ← set when all members have voted Yes on the same movie
+ *     currentPage: int        ← TMDB page the deck is on (written by the host)
+ *     movies/
+ *       {page}: String   ← DeckCodec string of the host's single fetch of that page
  */
 public class FirebaseRepository {
 
@@ -49,13 +59,10 @@ public class FirebaseRepository {
 
     private final DatabaseReference lobbiesRef;
 
-    /** Active listeners — kept so we can detach them on demand. */
-    private ChildEventListener activeMembersListener;
-    private ValueEventListener  activeStatusListener;
-    private DatabaseReference   activeMembersRef;
-    private DatabaseReference   activeStatusRef;
-    private ChildEventListener  activeVotesListener;
-    private DatabaseReference   activeVotesRef;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** One shared, replaying Firebase subscription per lobby path. */
+    private final LobbyListenerHub listenerHub = new LobbyListenerHub();
 
     private FirebaseRepository() {
         FirebaseDatabase db = FirebaseDatabase.getInstance(BuildConfig.FB_ROUTE_INSTANCE_URL);
@@ -71,6 +78,14 @@ public class FirebaseRepository {
 
     // ── Callbacks ──────────────────────────────────────────────────────────────
 
+    /**
+     * Handle returned by every listen* method. Screens keep it and call {@link #remove()}
+     * when they no longer need updates (typically in {@code onDestroy}). Idempotent.
+     */
+    public interface ListenerRegistration {
+        void remove();
+    }
+
     public interface SimpleCallback {
         void onSuccess();
         void onFailure(String message);
@@ -146,6 +161,7 @@ public class FirebaseRepository {
         lobbyData.put("createdBy", hostId);  // permanent record of original creator (UID)
         lobbyData.put("createdAt", System.currentTimeMillis());
         lobbyData.put("status",    Constants.LOBBY_STATUS_WAITING);
+        lobbyData.put(Constants.NODE_MEMBER_COUNT, 1L);  // the host, written just below
 
         // 2. Write host member data via proper .child() chaining
         Map<String, Object> memberData = new HashMap<>();
@@ -196,64 +212,77 @@ public class FirebaseRepository {
     /**
      * Validates the lobby is open and not full, then adds the user as a member.
      * Calls onFailure if the lobby doesn't exist, is full, or has already started.
+     *
+     * Runs as a transaction on lobbies/{roomCode}, so the checks and the write see the
+     * same members/ and memberCount only moves when the user wasn't a member yet. A
+     * double tap, a retry or a second device on the same account can't count twice.
      */
     public void joinLobby(String roomCode, String userId, String username, String gender,
                           SimpleCallback callback) {
-        DatabaseReference lobbyRef = lobbiesRef.child(roomCode);
-
-        lobbyRef.get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || !task.getResult().exists()) {
-                callback.onFailure("Lobby not found.");
-                return;
-            }
-
-            DataSnapshot snapshot = task.getResult();
+        Map<String, Object> memberData = new HashMap<>();
+        memberData.put("username",  username);
+        memberData.put("gender",    gender != null ? gender : "");
+        memberData.put("joinedAt",  System.currentTimeMillis());
+        memberData.put("host",      false);  // key must match getter isHost() → property "host"
 
-            // Status check — can't join if already swiping or matched
-            String status = snapshot.child("status").getValue(String.class);
-            if (!Constants.LOBBY_STATUS_WAITING.equals(status)) {
-                callback.onFailure("Session already started.");
-                return;
+        lobbiesRef.child(roomCode).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData lobby) {
+                if (lobby.getValue() == null) {
+                    // Nothing cached yet; the server re-runs this with the real lobby.
+                    return Transaction.success(lobby);
+                }
+                // Status check — can't join if already swiping or matched
+                String status = lobby.child("status").getValue(String.class);
+                if (!Constants.LOBBY_STATUS_WAITING.equals(status)) {
+                    return Transaction.abort();
+                }
+                MutableData members = lobby.child(Constants.NODE_MEMBERS);
+                if (members.hasChild(userId)) {
+                    // Rejoin: refresh the entry, the member count is unchanged.
+                    members.child(userId).setValue(memberData);
+                    return Transaction.success(lobby);
+                }
+                // Capacity check (max 10 members)
+                if (members.getChildrenCount() >= 10) {
+                    return Transaction.abort();
+                }
+                members.child(userId).setValue(memberData);
+                lobby.child(Constants.NODE_MEMBER_COUNT).setValue(members.getChildrenCount());
+                return Transaction.success(lobby);
             }
 
-            // Capacity check (max 10 members)
-            long memberCount = snapshot.child(Constants.NODE_MEMBERS).getChildrenCount();
-            if (memberCount >= 10) {
-                callback.onFailure("Lobby is full.");
-                return;
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot lobby) {
+                if (error != null) {
+                    Logger.e(TAG, "joinLobby failed: " + error.getMessage());
+                    callback.onFailure(error.getMessage());
+                } else if (lobby == null || !lobby.exists()) {
+                    callback.onFailure("Lobby not found.");
+                } else if (committed) {
+                    Logger.d(TAG, "Joined lobby: " + roomCode + " as " + username);
+                    callback.onSuccess();
+                } else if (!Constants.LOBBY_STATUS_WAITING.equals(
+                        lobby.child("status").getValue(String.class))) {
+                    callback.onFailure("Session already started.");
+                } else {
+                    callback.onFailure("Lobby is full.");
+                }
             }
-
-            // Add member
-            Map<String, Object> memberData = new HashMap<>();
-            memberData.put("username",  username);
-            memberData.put("gender",    gender != null ? gender : "");
-            memberData.put("joinedAt",  System.currentTimeMillis());
-            memberData.put("host",      false);  // key must match getter isHost() → property "host"
-
-            lobbyRef.child(Constants.NODE_MEMBERS).child(userId)
-                    .setValue(memberData)
-                    .addOnSuccessListener(unused -> {
-                        Logger.d(TAG, "Joined lobby: " + roomCode + " as " + username);
-                        callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Logger.e(TAG, "joinLobby failed", e);
-                        callback.onFailure(e.getMessage());
-                    });
-        });
+        }, false);
     }
 
     // ── Real-time Listeners ─────────────────────────────────────────────────────
 
     /**
-     * Attaches a ChildEventListener to lobbies/{roomCode}/members/.
-     * Notifies the caller when members are added, removed, or changed.
+     * Subscribes to lobbies/{roomCode}/members/.
+     * Notifies the caller when members are added, removed, or changed. Members already
+     * synced for another screen are replayed as "added" without a new download.
      */
-    public void listenMembers(String roomCode, MembersCallback callback) {
-        detachMembersListener(); // ensure no duplicate listeners
-
-        activeMembersRef = lobbiesRef.child(roomCode).child(Constants.NODE_MEMBERS);
-        activeMembersListener = new ChildEventListener() {
+    public ListenerRegistration listenMembers(String roomCode, MembersCallback callback) {
+        DatabaseReference membersRef = lobbiesRef.child(roomCode).child(Constants.NODE_MEMBERS);
+        return listenerHub.listenChildren(membersRef, new ChildEventListener() {
             @Override
             public void onChildAdded(@NonNull DataSnapshot snap, String prev) {
                 LobbyMember m = snap.getValue(LobbyMember.class);
@@ -275,18 +304,15 @@ public class FirebaseRepository {
             @Override public void onCancelled(@NonNull DatabaseError e) {
                 Logger.e(TAG, "listenMembers cancelled: " + e.getMessage());
             }
-        };
-        activeMembersRef.addChildEventListener(activeMembersListener);
+        });
     }
 
     /**
-     * Attaches a ValueEventListener to lobbies/{roomCode}/status.
+     * Subscribes to lobbies/{roomCode}/status.
      */
-    public void listenLobbyStatus(String roomCode, StatusCallback callback) {
-        detachStatusListener();
-
-        activeStatusRef = lobbiesRef.child(roomCode).child("status");
-        activeStatusListener = new ValueEventListener() {
+    public ListenerRegistration listenLobbyStatus(String roomCode, StatusCallback callback) {
+        DatabaseReference statusRef = lobbiesRef.child(roomCode).child("status");
+        return listenerHub.listenValue(statusRef, new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snap) {
                 String status = snap.getValue(String.class);
@@ -296,8 +322,7 @@ public class FirebaseRepository {
             public void onCancelled(@NonNull DatabaseError e) {
                 Logger.e(TAG, "listenLobbyStatus cancelled: " + e.getMessage());
             }
-        };
-        activeStatusRef.addValueEventListener(activeStatusListener);
+        });
     }
 
     // ── Status Update ───────────────────────────────────────────────────────────
@@ -314,58 +339,63 @@ public class FirebaseRepository {
      * Edge cases handled:
      * - Last member leaves  → entire lobby node is deleted.
      * - Host leaves + others remain → host badge is transferred to the next member.
+     *
+     * Runs as a transaction on lobbies/{roomCode}: memberCount only drops when the member
+     * entry is actually removed, so the Exit path and the not-enough-members path (or two
+     * devices) removing the same user never subtract twice.
      */
     public void removeMember(String roomCode, String userId, SimpleCallback callback) {
-        DatabaseReference lobbyRef    = lobbiesRef.child(roomCode);
-        DatabaseReference membersRef  = lobbyRef.child(Constants.NODE_MEMBERS);
+        lobbiesRef.child(roomCode).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData lobby) {
+                if (lobby.getValue() == null) {
+                    // Nothing cached yet; the server re-runs this with the real lobby.
+                    return Transaction.success(lobby);
+                }
+                MutableData members = lobby.child(Constants.NODE_MEMBERS);
+                if (!members.hasChild(userId)) {
+                    return Transaction.abort();  // already gone
+                }
+                if (members.getChildrenCount() <= 1) {
+                    // Last member — delete entire lobby
+                    lobby.setValue(null);
+                    return Transaction.success(lobby);
+                }
 
-        membersRef.get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || !task.getResult().exists()) {
-                if (callback != null) callback.onSuccess();
-                return;
+                // Key is "host" (not "isHost") — matches LobbyMember.isHost() getter serialization.
+                Boolean leavingIsHost = members.child(userId).child("host").getValue(Boolean.class);
+                members.child(userId).setValue(null);
+                lobby.child(Constants.NODE_MEMBER_COUNT).setValue(members.getChildrenCount());
+
+                if (Boolean.TRUE.equals(leavingIsHost)) {
+                    // Transfer host badge to the next remaining member
+                    for (MutableData child : members.getChildren()) {
+                        child.child("host").setValue(true);
+                        // Update lobby-level hostId (current host)
+                        lobby.child("hostId").setValue(child.getKey());
+                        break;
+                    }
+                }
+                return Transaction.success(lobby);
             }
 
-            DataSnapshot membersSnap = task.getResult();
-            long count = membersSnap.getChildrenCount();
-
-            if (count <= 1) {
-                // Last member — delete entire lobby
-                lobbyRef.removeValue()
-                        .addOnSuccessListener(u -> { if (callback != null) callback.onSuccess(); })
-                        .addOnFailureListener(e -> { if (callback != null) callback.onFailure(e.getMessage()); });
-                return;
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot lobby) {
+                if (error != null) {
+                    Logger.e(TAG, "removeMember failed: " + error.getMessage());
+                    if (callback != null) callback.onFailure(error.getMessage());
+                    return;
+                }
+                if (committed) {
+                    Logger.d(TAG, "Member removed: " + userId + " from " + roomCode
+                            + (lobby != null && lobby.exists()
+                                    ? " (host: " + lobby.child("hostId").getValue(String.class) + ")"
+                                    : " (lobby deleted)"));
+                }
+                if (callback != null) callback.onSuccess();
             }
-
-            // Check if the leaving member is the host.
-            // Key is "host" (not "isHost") — matches LobbyMember.isHost() getter serialization.
-            DataSnapshot leavingSnap = membersSnap.child(userId);
-            Boolean leavingIsHost = leavingSnap.child("host").getValue(Boolean.class);
-
-            // Remove the member first
-            membersRef.child(userId).removeValue()
-                    .addOnSuccessListener(unused -> {
-                        if (Boolean.TRUE.equals(leavingIsHost)) {
-                            // Transfer host badge to the next remaining member
-                            for (DataSnapshot child : membersSnap.getChildren()) {
-                                String candidateId = child.getKey();
-                                if (candidateId != null && !candidateId.equals(userId)) {
-                                    // Promote this member to host
-                                    child.getRef().child("host").setValue(true);
-                                    // Update lobby-level hostId (current host)
-                                    lobbyRef.child("hostId").setValue(candidateId);
-                                    Logger.d(TAG, "Host transferred to: " + candidateId);
-                                    break;
-                                }
-                            }
-                        }
-                        Logger.d(TAG, "Member removed: " + userId + " from " + roomCode);
-                        if (callback != null) callback.onSuccess();
-                    })
-                    .addOnFailureListener(e -> {
-                        Logger.e(TAG, "removeMember failed", e);
-                        if (callback != null) callback.onFailure(e.getMessage());
-                    });
-        });
+        }, false);
     }
 
     // ── Single-read helpers ─────────────────────────────────────────────────────
@@ -393,35 +423,25 @@ public class FirebaseRepository {
     // ── Movie Queue ─────────────────────────────────────────────────────────────
 
     /**
-     * Writes an ordered list of movies to lobbies/{roomCode}/movies/
-     * as a numbered map so Firebase preserves order:
-     *   movies/0/{ id, title, overview, poster_path, backdrop_path, vote_average, release_date, genre_ids }
-     *   movies/1/{ ... }
+     * Writes one TMDB page of the shared deck to lobbies/{roomCode}/movies/{page} as a
+     * single {@link DeckCodec} string — one short line per card, no overviews — so every
+     * member downloads and decodes a few KB instead of a ~10-node tree per card.
      *
-     * Called by the host in LobbyActivity before setting status to "swiping".
+     * Called by the host in SwipingActivity after its single TMDB fetch, before it
+     * broadcasts currentPage — so members never see a page number without its deck.
      */
-    public void saveMovieQueue(String roomCode,
+    public void saveMovieQueue(String roomCode, int page,
                                List<com.example.finalprojectandroiddev2.data.model.Movie> movies,
                                SimpleCallback callback) {
-        List<Map<String, Object>> queue = new ArrayList<>();
-        for (com.example.finalprojectandroiddev2.data.model.Movie m : movies) {
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("id",            m.getId());
-            entry.put("title",         m.getTitle() != null        ? m.getTitle()        : "");
-            entry.put("overview",      m.getOverview() != null     ? m.getOverview()     : "");
-            entry.put("poster_path",   m.getPosterPath() != null   ? m.getPosterPath()   : "");
-            entry.put("backdrop_path", m.getBackdropPath() != null ? m.getBackdropPath() : "");
-            entry.put("vote_average",  m.getVoteAverage());
-            entry.put("release_date",  m.getReleaseDate() != null  ? m.getReleaseDate()  : "");
-            entry.put("genre_ids",     m.getGenreIds() != null     ? m.getGenreIds()     : new ArrayList<>());
-            queue.add(entry);
-        }
+        String deck = DeckCodec.encode(movies);
 
         lobbiesRef.child(roomCode)
                   .child(Constants.NODE_MOVIES)
-                  .setValue(queue)
+                  .child(String.valueOf(page))
+                  .setValue(deck)
                   .addOnSuccessListener(u -> {
-                      Logger.d(TAG, "Movie queue saved: " + movies.size() + " movies");
+                      Logger.d(TAG, "Movie queue saved: page " + page + ", " + movies.size()
+                              + " movies, " + deck.length() + " chars");
                       callback.onSuccess();
                   })
                   .addOnFailureListener(e -> {
@@ -431,44 +451,90 @@ public class FirebaseRepository {
     }
 
     /**
-     * One-shot read of lobbies/{roomCode}/movies/.
-     * Deserialises each child into a Movie object and returns the ordered list.
-     * Called by every member (including host) in SwipingActivity.
+     * Reads lobbies/{roomCode}/movies/{page}/, waiting up to {@code timeoutMs} for the
+     * host to write it. Delivers exactly once: onLoaded with the ordered deck, or onError
+     * on timeout / cancellation so the caller can fall back to fetching TMDB itself.
      */
-    public void listenMovieQueue(String roomCode, MovieQueueCallback callback) {
-        lobbiesRef.child(roomCode)
-                  .child(Constants.NODE_MOVIES)
-                  .get()
-                  .addOnCompleteListener(task -> {
-                      if (!task.isSuccessful() || !task.getResult().exists()) {
-                          callback.onError("Movie queue not found.");
-                          return;
-                      }
-                      List<com.example.finalprojectandroiddev2.data.model.Movie> movies = new ArrayList<>();
-                      for (DataSnapshot snap : task.getResult().getChildren()) {
-                          com.example.finalprojectandroiddev2.data.model.Movie m =
-                                  new com.example.finalprojectandroiddev2.data.model.Movie();
-                          m.setId(snap.child("id").getValue(Long.class) != null
-                                  ? snap.child("id").getValue(Long.class).intValue() : 0);
-                          m.setTitle(snap.child("title").getValue(String.class));
-                          m.setOverview(snap.child("overview").getValue(String.class));
-                          m.setPosterPath(snap.child("poster_path").getValue(String.class));
-                          m.setBackdropPath(snap.child("backdrop_path").getValue(String.class));
-                          Double avg = snap.child("vote_average").getValue(Double.class);
-                          m.setVoteAverage(avg != null ? avg : 0.0);
-                          m.setReleaseDate(snap.child("release_date").getValue(String.class));
-                          // genre_ids stored as list of Long in Firebase
-                          List<Integer> genreIds = new ArrayList<>();
-                          for (DataSnapshot gSnap : snap.child("genre_ids").getChildren()) {
-                              Long gId = gSnap.getValue(Long.class);
-                              if (gId != null) genreIds.add(gId.intValue());
-                          }
-                          m.setGenreIds(genreIds);
-                          movies.add(m);
-                      }
-                      Logger.d(TAG, "Movie queue loaded: " + movies.size() + " movies");
-                      callback.onLoaded(movies);
-                  });
+    public void listenMovieQueue(String roomCode, int page, long timeoutMs,
+                                 MovieQueueCallback callback) {
+        DatabaseReference pageRef = lobbiesRef.child(roomCode)
+                .child(Constants.NODE_MOVIES)
+                .child(String.valueOf(page));
+        boolean[] done = {false};
+
+        ValueEventListener listener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snap) {
+                if (done[0] || !snap.exists()) return;  // keep waiting for the host's write
+                done[0] = true;
+                pageRef.removeEventListener(this);
+                List<com.example.finalprojectandroiddev2.data.model.Movie> movies;
+                try {
+                    movies = parseMovieQueue(snap);
+                } catch (IllegalArgumentException e) {
+                    Logger.e(TAG, "Unreadable movie queue for page " + page, e);
+                    callback.onError(e.getMessage());
+                    return;
+                }
+                Logger.d(TAG, "Movie queue loaded: page " + page + ", " + movies.size() + " movies");
+                callback.onLoaded(movies);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError e) {
+                if (done[0]) return;
+                done[0] = true;
+                callback.onError(e.getMessage());
+            }
+        };
+        pageRef.addValueEventListener(listener);
+
+        mainHandler.postDelayed(() -> {
+            if (done[0]) return;
+            done[0] = true;
+            pageRef.removeEventListener(listener);
+            callback.onError("Movie queue for page " + page + " not written in time.");
+        }, timeoutMs);
+    }
+
+    /** Drops every stored deck page. Called before a new session starts from the lobby. */
+    public void clearMovieQueue(String roomCode) {
+        lobbiesRef.child(roomCode).child(Constants.NODE_MOVIES).removeValue();
+    }
+
+    /**
+     * Decodes a deck page: the {@link DeckCodec} string, or the older list-of-maps layout
+     * a host on a previous build may still write.
+     */
+    private static List<com.example.finalprojectandroiddev2.data.model.Movie> parseMovieQueue(
+            DataSnapshot pageSnap) {
+        Object value = pageSnap.getValue();
+        if (value instanceof String) {
+            return DeckCodec.decode((String) value);
+        }
+        List<com.example.finalprojectandroiddev2.data.model.Movie> movies = new ArrayList<>();
+        for (DataSnapshot snap : pageSnap.getChildren()) {
+            com.example.finalprojectandroiddev2.data.model.Movie m =
+                    new com.example.finalprojectandroiddev2.data.model.Movie();
+            m.setId(snap.child("id").getValue(Long.class) != null
+                    ? snap.child("id").getValue(Long.class).intValue() : 0);
+            m.setTitle(snap.child("title").getValue(String.class));
+            m.setOverview(snap.child("overview").getValue(String.class));
+            m.setPosterPath(snap.child("poster_path").getValue(String.class));
+            m.setBackdropPath(snap.child("backdrop_path").getValue(String.class));
+            Double avg = snap.child("vote_average").getValue(Double.class);
+            m.setVoteAverage(avg != null ? avg : 0.0);
+            m.setReleaseDate(snap.child("release_date").getValue(String.class));
+            // genre_ids stored as list of Long in Firebase
+            List<Integer> genreIds = new ArrayList<>();
+            for (DataSnapshot gSnap : snap.child("genre_ids").getChildren()) {
+                Long gId = gSnap.getValue(Long.class);
+                if (gId != null) genreIds.add(gId.intValue());
+            }
+            m.setGenreIds(genreIds);
+            movies.add(m);
+        }
+        return movies;
     }
 
     // ── Vote Recording ──────────────────────────────────────────────────────────
@@ -476,11 +542,11 @@ public class FirebaseRepository {
     /**
      * Records a "Yes" vote for the current user on the given movie.
      *
-     * Path written: lobbies/{roomCode}/votes/{movieId}/{userId} = true
-     *
-     * After writing, reads all votes for this movie and compares to member count.
-     * If every member has voted Yes → sets matchedMovieId on the lobby and fires
-     * onMatchFound so all devices can navigate to MatchActivity.
+     * A transaction on lobbies/{roomCode}/votes/{movieId} adds {userId}: true only if it is
+     * absent, so a retry, a re-vote after process death or a second device on the same
+     * account can never count twice. The committed node holds exactly the distinct
+     * voters, and the match check compares its size with memberCount. That node is
+     * bounded by the lobby size, so the check doesn't grow with session length.
      *
      * "No" votes are intentionally NOT written — a missing user entry means No.
      *
@@ -491,51 +557,112 @@ public class FirebaseRepository {
      */
     public void recordVote(String roomCode, String userId, int movieId, VoteCallback callback) {
         String movieKey = String.valueOf(movieId);
-        DatabaseReference voteRef = lobbiesRef
-                .child(roomCode)
-                .child(Constants.NODE_VOTES)
-                .child(movieKey)
-                .child(userId);
+        DatabaseReference lobbyRef = lobbiesRef.child(roomCode);
 
-        voteRef.setValue(true)
-                .addOnSuccessListener(unused -> {
-                    Logger.d(TAG, "Vote recorded: " + userId + " → movie " + movieKey);
-                    callback.onVoteRecorded();
-                    checkForMatch(roomCode, movieId, callback);
-                })
-                .addOnFailureListener(e -> {
-                    Logger.e(TAG, "recordVote failed", e);
-                    callback.onError(e.getMessage());
-                });
+        lobbyRef.child(Constants.NODE_VOTES).child(movieKey).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData votes) {
+                if (votes.hasChild(userId)) {
+                    // Already counted; commit unchanged so onComplete still sees the voters.
+                    return Transaction.success(votes);
+                }
+                votes.child(userId).setValue(true);
+                return Transaction.success(votes);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot votes) {
+                if (error != null || !committed || votes == null) {
+                    String message = error != null ? error.getMessage() : "Vote not committed";
+                    Logger.e(TAG, "recordVote failed: " + message);
+                    callback.onError(message);
+                    return;
+                }
+                long voteCount = votes.getChildrenCount();
+                Logger.d(TAG, "Vote recorded: " + userId + " → movie " + movieKey
+                        + " (" + voteCount + " voters)");
+                callback.onVoteRecorded();
+                checkForMatch(roomCode, movieId, voteCount, callback);
+            }
+        }, false);
     }
 
     /**
-     * Checks whether all current lobby members have voted Yes on the given movie.
-     * If yes, writes matchedMovieId to the lobby and fires onMatchFound.
+     * Compares the committed number of distinct voters with memberCount and lets
+     * {@link MatchDetector} decide.
      */
-    private void checkForMatch(String roomCode, int movieId, VoteCallback callback) {
-        DatabaseReference lobbyRef = lobbiesRef.child(roomCode);
-
-        // Single lobby snapshot → read both members and votes atomically
-        lobbyRef.get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || !task.getResult().exists()) return;
-
-            DataSnapshot lobbySnap = task.getResult();
-            long memberCount = MatchDetector.memberCount(lobbySnap);
-            long voteCount   = MatchDetector.voteCount(lobbySnap, movieId);
-
+    private void checkForMatch(String roomCode, int movieId, long voteCount, VoteCallback callback) {
+        loadMemberCount(lobbiesRef.child(roomCode), memberCount -> {
             Logger.d(TAG, "Match check — movie " + movieId
                     + ": " + voteCount + "/" + memberCount + " votes");
 
             if (MatchDetector.isMatch(voteCount, memberCount)) {
-                // All current members voted Yes → match!
-                lobbyRef.child(Constants.NODE_MATCHED_MOVIE_ID)
-                        .setValue(String.valueOf(movieId));
+                commitMatch(roomCode, movieId, callback);
+            }
+        });
+    }
+
+    private interface CountCallback {
+        void onCount(long count);
+    }
+
+    /**
+     * Reads the maintained memberCount. Lobbies created before the counter existed fall
+     * back to counting members/ once.
+     */
+    private void loadMemberCount(DatabaseReference lobbyRef, CountCallback callback) {
+        lobbyRef.child(Constants.NODE_MEMBER_COUNT).get().addOnCompleteListener(task -> {
+            Long count = task.isSuccessful() ? task.getResult().getValue(Long.class) : null;
+            if (count != null) {
+                callback.onCount(count);
+                return;
+            }
+            lobbyRef.child(Constants.NODE_MEMBERS).get().addOnCompleteListener(members -> {
+                if (members.isSuccessful()) {
+                    callback.onCount(members.getResult().getChildrenCount());
+                }
+            });
+        });
+    }
+
+    /**
+     * Atomically claims lobbies/{roomCode}/matchedMovieId for this movie. When two
+     * members complete a match at the same moment only one commit wins; a lobby that
+     * already matched a different movie is left untouched.
+     */
+    private void commitMatch(String roomCode, int movieId, VoteCallback callback) {
+        String movieKey = String.valueOf(movieId);
+        DatabaseReference matchedRef = lobbiesRef.child(roomCode)
+                .child(Constants.NODE_MATCHED_MOVIE_ID);
+
+        matchedRef.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                String existing = currentData.getValue(String.class);
+                if (existing != null && !existing.equals(movieKey)) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(movieKey);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot snap) {
+                if (error != null) {
+                    Logger.e(TAG, "commitMatch failed: " + error.getMessage());
+                    return;
+                }
+                if (!committed) {
+                    Logger.d(TAG, "Match already committed for another movie; ignoring " + movieId);
+                    return;
+                }
                 setLobbyStatus(roomCode, Constants.LOBBY_STATUS_MATCHED);
                 Logger.d(TAG, "Match found! Movie: " + movieId);
                 callback.onMatchFound(movieId);
             }
-        });
+        }, false);
     }
 
     /**
@@ -587,66 +714,6 @@ public class FirebaseRepository {
         });
     }
 
-    // ── Cleanup ─────────────────────────────────────────────────────────────────
-
-    /**
-     * Detaches ALL active Firebase listeners.
-     * Call from SwipingActivity.onDestroy() — the only place that owns ALL listeners.
-     */
-    public void detachListeners() {
-        detachMembersListener();
-        detachStatusListener();
-        detachVotesListener();
-        detachPageListener();
-    }
-
-    /**
-     * Detaches only swiping-owned listeners (votes + currentPage).
-     *
-     * IMPORTANT: Do NOT detach the lobby status listener here.
-     * MatchActivity may attach a status listener while SwipingActivity is finishing,
-     * and detaching status in SwipingActivity.onDestroy() would remove the MatchActivity
-     * listener (shared singleton), causing members to get stuck on the match screen.
-     */
-    public void detachSwipingListeners() {
-        detachVotesListener();
-        detachPageListener();
-    }
-
-    /**
-     * Detaches only lobby-specific listeners (members + status).
-     * Call from LobbyActivity / CreateLobbyActivity.onDestroy() so that
-     * page and votes listeners (owned by SwipingActivity) survive the transition.
-     */
-    public void detachLobbyListeners() {
-        detachMembersListener();
-        detachStatusListener();
-    }
-
-    private void detachMembersListener() {
-        if (activeMembersRef != null && activeMembersListener != null) {
-            activeMembersRef.removeEventListener(activeMembersListener);
-            activeMembersListener = null;
-            activeMembersRef      = null;
-        }
-    }
-
-    private void detachStatusListener() {
-        if (activeStatusRef != null && activeStatusListener != null) {
-            activeStatusRef.removeEventListener(activeStatusListener);
-            activeStatusListener = null;
-            activeStatusRef      = null;
-        }
-    }
-
-    private void detachVotesListener() {
-        if (activeVotesRef != null && activeVotesListener != null) {
-            activeVotesRef.removeEventListener(activeVotesListener);
-            activeVotesListener = null;
-            activeVotesRef      = null;
-        }
-    }
-
     // ── Vote Sync (real-time per-movie) ─────────────────────────────────────────
 
     /**
@@ -671,28 +738,27 @@ public class FirebaseRepository {
     }
 
     /**
-     * Attaches a real-time ChildEventListener to
+     * Subscribes to
      *   lobbies/{roomCode}/votes/{movieId}/
      * and fires onVotesUpdated with the current full set of voterUIDs whenever
      * any user's vote is added or removed.
      *
-     * Only one votes listener is active at a time — old ones are detached
-     * automatically when this is called again for a new movie.
+     * The caller removes the previous movie's registration when the card changes.
      *
      * @param roomCode lobby room code
      * @param movieId  TMDB movie ID (int)
      * @param callback notified on every change with the live set of voter UIDs
      */
-    public void listenVotesForMovie(String roomCode, int movieId, VotesCallback callback) {
-        detachVotesListener(); // always clean up the previous movie's listener first
-
+    public ListenerRegistration listenVotesForMovie(String roomCode, int movieId,
+                                                    VotesCallback callback) {
         final java.util.Set<String> voters = new java.util.LinkedHashSet<>();
-        activeVotesRef = lobbiesRef
+        DatabaseReference votesRef = lobbiesRef
                 .child(roomCode)
                 .child(Constants.NODE_VOTES)
                 .child(String.valueOf(movieId));
 
-        activeVotesListener = new ChildEventListener() {
+        Logger.d(TAG, "Listening to votes for movie " + movieId);
+        return listenerHub.listenChildren(votesRef, new ChildEventListener() {
             @Override
             public void onChildAdded(@NonNull DataSnapshot snap, String prev) {
                 if (snap.getKey() != null) {
@@ -710,9 +776,7 @@ public class FirebaseRepository {
             @Override public void onCancelled(@NonNull DatabaseError e) {
                 Logger.e(TAG, "listenVotesForMovie cancelled: " + e.getMessage());
             }
-        };
-        activeVotesRef.addChildEventListener(activeVotesListener);
-        Logger.d(TAG, "Listening to votes for movie " + movieId);
+        });
     }
 
     // ── Load More Page Sync ──────────────────────────────────────────────────────
@@ -724,9 +788,6 @@ public class FirebaseRepository {
     
     // ── End of Deck Sync ─────────────────────────────────────────────────────────
 
-    private ValueEventListener activeEndOfDeckListener;
-    private DatabaseReference  activeEndOfDeckRef;
-
     /**
      * Marks whether a user has reached the end of the deck for a specific page.
      * Writes true or null to lobbies/{roomCode}/endOfDeck/{page}/{userId}.
@@ -746,13 +807,13 @@ public class FirebaseRepository {
     /**
      * Listens to the endOfDeck node for a specific page to know how many users have finished.
      */
-    public void listenEndOfDeckForPage(String roomCode, int page, VotesCallback callback) {
-        detachEndOfDeckListener();
-        activeEndOfDeckRef = lobbiesRef.child(roomCode)
+    public ListenerRegistration listenEndOfDeckForPage(String roomCode, int page,
+                                                       VotesCallback callback) {
+        DatabaseReference endOfDeckRef = lobbiesRef.child(roomCode)
                 .child(Constants.NODE_END_OF_DECK)
                 .child(String.valueOf(page));
 
-        activeEndOfDeckListener = new ValueEventListener() {
+        return listenerHub.listenValue(endOfDeckRef, new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snap) {
                 java.util.Set<String> finishedUsers = new java.util.LinkedHashSet<>();
@@ -770,21 +831,9 @@ public class FirebaseRepository {
             public void onCancelled(@NonNull DatabaseError error) {
                 Logger.e(TAG, "listenEndOfDeckForPage cancelled: " + error.getMessage());
             }
-        };
-        activeEndOfDeckRef.addValueEventListener(activeEndOfDeckListener);
-    }
-
-    private void detachEndOfDeckListener() {
-        if (activeEndOfDeckRef != null && activeEndOfDeckListener != null) {
-            activeEndOfDeckRef.removeEventListener(activeEndOfDeckListener);
-            activeEndOfDeckListener = null;
-            activeEndOfDeckRef = null;
-        }
+        });
     }
 
-    private ValueEventListener activePageListener;
-    private DatabaseReference   activePageRef;
-
     /**
      * Host calls this to broadcast the new TMDB page number to all lobby members.
      * Writes lobbies/{roomCode}/currentPage = page.
@@ -816,10 +865,9 @@ public class FirebaseRepository {
      * All devices call this to listen for page changes pushed by the host.
      * Fires immediately with the current value, then on every subsequent change.
      */
-    public void listenCurrentPage(String roomCode, PageCallback callback) {
-        detachPageListener();
-        activePageRef = lobbiesRef.child(roomCode).child(Constants.NODE_CURRENT_PAGE);
-        activePageListener = new ValueEventListener() {
+    public ListenerRegistration listenCurrentPage(String roomCode, PageCallback callback) {
+        DatabaseReference pageRef = lobbiesRef.child(roomCode).child(Constants.NODE_CURRENT_PAGE);
+        return listenerHub.listenValue(pageRef, new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snap) {
                 if (snap.exists()) {
@@ -831,20 +879,21 @@ public class FirebaseRepository {
             public void onCancelled(@NonNull DatabaseError e) {
                 Logger.e(TAG, "listenCurrentPage cancelled: " + e.getMessage());
             }
-        };
-        activePageRef.addValueEventListener(activePageListener);
-    }
-
-    private void detachPageListener() {
-        if (activePageRef != null && activePageListener != null) {
-            activePageRef.removeEventListener(activePageListener);
-            activePageListener = null;
-            activePageRef      = null;
-        }
+        });
     }
 
     // ── User Libraries (Favorites & Watchlist) ──────────────────────────────────
 
+    public static final String LIBRARY_FAVORITES = "favorites";
+    public static final String LIBRARY_WATCHLIST = "watchlist";
+
+    /**
+     * Live copies of the signed-in user's libraries, keyed by type. Each is downloaded once
+     * and then follows changes; dropped on sign-out. Main thread only.
+     */
+    private final Map<String, LibraryMirror> libraryMirrors = new HashMap<>();
+    private String libraryMirrorUid;
+
     private DatabaseReference getLibraryRef(String uid, String libraryType) {
         return FirebaseDatabase.getInstance(BuildConfig.FB_ROUTE_INSTANCE_URL)
                 .getReference("libraries")
@@ -853,27 +902,69 @@ public class FirebaseRepository {
     }
 
     /**
-     * Adds a movie to the user's "favorites" node.
+     * Library entry as stored under {@code libraries/{type}/{uid}/{movieId}}. Genres are
+     * written as TMDB IDs, resolved on display through {@link GenreRegistry}; the names
+     * are kept alongside for builds that predate {@code genreIds}.
      */
-    public void addToFavorites(String uid, com.example.finalprojectandroiddev2.data.model.Movie movie, SimpleCallback callback) {
-        if (uid == null || movie == null) return;
-        DatabaseReference favRef = getLibraryRef(uid, "favorites").child(String.valueOf(movie.getId()));
-        
+    private static Map<String, Object> libraryEntry(com.example.finalprojectandroiddev2.data.model.Movie movie) {
         Map<String, Object> data = new HashMap<>();
         data.put("title", movie.getTitle() != null ? movie.getTitle() : "");
         data.put("posterPath", movie.getPosterPath() != null ? movie.getPosterPath() : "");
         data.put("addedAt", System.currentTimeMillis());
 
-        // Extract genres as simple names for easy display
+        List<Integer> genreIds = new ArrayList<>();
         List<String> genreNames = new ArrayList<>();
         if (movie.getGenres() != null) {
             for (com.example.finalprojectandroiddev2.data.model.Movie.Genre genre : movie.getGenres()) {
+                genreIds.add(genre.getId());
                 if (genre.getName() != null) genreNames.add(genre.getName());
             }
+        } else if (movie.getGenreIds() != null) {
+            genreIds.addAll(movie.getGenreIds());
         }
+        data.put("genreIds", genreIds);
         data.put("genres", genreNames);
+        return data;
+    }
 
-        favRef.setValue(data)
+    static com.example.finalprojectandroiddev2.data.model.Movie parseLibraryEntry(DataSnapshot snap) {
+        com.example.finalprojectandroiddev2.data.model.Movie m = new com.example.finalprojectandroiddev2.data.model.Movie();
+        m.setId(snap.getKey() != null ? Integer.parseInt(snap.getKey()) : 0);
+        m.setTitle(snap.child("title").getValue(String.class));
+        m.setPosterPath(snap.child("posterPath").getValue(String.class));
+
+        if (snap.hasChild("genreIds")) {
+            List<Integer> genreIds = new ArrayList<>();
+            for (DataSnapshot idSnap : snap.child("genreIds").getChildren()) {
+                Long id = idSnap.getValue(Long.class);
+                if (id != null) genreIds.add(id.intValue());
+            }
+            m.setGenreIds(genreIds);
+        }
+
+        List<com.example.finalprojectandroiddev2.data.model.Movie.Genre> genres = new ArrayList<>();
+        if (snap.hasChild("genres")) {
+            for (DataSnapshot gSnap : snap.child("genres").getChildren()) {
+                String gName = gSnap.getValue(String.class);
+                if (gName != null) {
+                    com.example.finalprojectandroiddev2.data.model.Movie.Genre g = new com.example.finalprojectandroiddev2.data.model.Movie.Genre();
+                    g.setName(gName);
+                    genres.add(g);
+                }
+            }
+        }
+        m.setGenres(genres);
+        return m;
+    }
+
+    /**
+     * Adds a movie to the user's "favorites" node.
+     */
+    public void addToFavorites(String uid, com.example.finalprojectandroiddev2.data.model.Movie movie, SimpleCallback callback) {
+        if (uid == null || movie == null) return;
+        DatabaseReference favRef = getLibraryRef(uid, LIBRARY_FAVORITES).child(String.valueOf(movie.getId()));
+        
+        favRef.setValue(libraryEntry(movie))
                 .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
     }
@@ -883,20 +974,26 @@ public class FirebaseRepository {
      */
     public void removeFromFavorites(String uid, int movieId, SimpleCallback callback) {
         if (uid == null) return;
-        getLibraryRef(uid, "favorites").child(String.valueOf(movieId)).removeValue()
+        getLibraryRef(uid, LIBRARY_FAVORITES).child(String.valueOf(movieId)).removeValue()
                 .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
     }
 
     /**
-     * Single read to check if a specific movie exists in the user's "favorites".
+     * Checks if a specific movie is in the user's "favorites": from the library's mirror
+     * once it is synced, otherwise with a single read.
      */
     public void checkIfFavorite(String uid, int movieId, ExistsCallback callback) {
         if (uid == null) {
             callback.onResult(false);
             return;
         }
-        getLibraryRef(uid, "favorites").child(String.valueOf(movieId)).get().addOnCompleteListener(task -> {
+        LibraryMirror mirror = loadedMirror(uid, LIBRARY_FAVORITES);
+        if (mirror != null) {
+            callback.onResult(mirror.contains(movieId));
+            return;
+        }
+        getLibraryRef(uid, LIBRARY_FAVORITES).child(String.valueOf(movieId)).get().addOnCompleteListener(task -> {
             callback.onResult(task.isSuccessful() && task.getResult().exists());
         });
     }
@@ -906,22 +1003,9 @@ public class FirebaseRepository {
      */
     public void addToWatchlist(String uid, com.example.finalprojectandroiddev2.data.model.Movie movie, SimpleCallback callback) {
         if (uid == null || movie == null) return;
-        DatabaseReference watchRef = getLibraryRef(uid, "watchlist").child(String.valueOf(movie.getId()));
+        DatabaseReference watchRef = getLibraryRef(uid, LIBRARY_WATCHLIST).child(String.valueOf(movie.getId()));
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("title", movie.getTitle() != null ? movie.getTitle() : "");
-        data.put("posterPath", movie.getPosterPath() != null ? movie.getPosterPath() : "");
-        data.put("addedAt", System.currentTimeMillis());
-
-        List<String> genreNames = new ArrayList<>();
-        if (movie.getGenres() != null) {
-            for (com.example.finalprojectandroiddev2.data.model.Movie.Genre genre : movie.getGenres()) {
-                if (genre.getName() != null) genreNames.add(genre.getName());
-            }
-        }
-        data.put("genres", genreNames);
-
-        watchRef.setValue(data)
+        watchRef.setValue(libraryEntry(movie))
                 .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
     }
@@ -931,97 +1015,153 @@ public class FirebaseRepository {
      */
     public void removeFromWatchlist(String uid, int movieId, SimpleCallback callback) {
         if (uid == null) return;
-        getLibraryRef(uid, "watchlist").child(String.valueOf(movieId)).removeValue()
+        getLibraryRef(uid, LIBRARY_WATCHLIST).child(String.valueOf(movieId)).removeValue()
                 .addOnSuccessListener(aVoid -> callback.onSuccess())
                 .addOnFailureListener(e -> callback.onFailure(e.getMessage()));
     }
 
     /**
-     * Single read to check if a specific movie exists in the user's "watchlist".
+     * Checks if a specific movie is in the user's "watchlist": from the library's mirror
+     * once it is synced, otherwise with a single read.
      */
     public void checkIfWatchlist(String uid, int movieId, ExistsCallback callback) {
         if (uid == null) {
             callback.onResult(false);
             return;
         }
-        getLibraryRef(uid, "watchlist").child(String.valueOf(movieId)).get().addOnCompleteListener(task -> {
+        LibraryMirror mirror = loadedMirror(uid, LIBRARY_WATCHLIST);
+        if (mirror != null) {
+            callback.onResult(mirror.contains(movieId));
+            return;
+        }
+        getLibraryRef(uid, LIBRARY_WATCHLIST).child(String.valueOf(movieId)).get().addOnCompleteListener(task -> {
             callback.onResult(task.isSuccessful() && task.getResult().exists());
         });
     }
 
     /**
-     * Fetches all favorites for the user.
+     * The user's favorites, once: from memory when the library is already synced.
      */
     public void getFavorites(String uid, MovieQueueCallback callback) {
+        getLibraryOnce(uid, LIBRARY_FAVORITES, callback);
+    }
+
+    /**
+     * The user's watchlist, once: from memory when the library is already synced.
+     */
+    public void getWatchlist(String uid, MovieQueueCallback callback) {
+        getLibraryOnce(uid, LIBRARY_WATCHLIST, callback);
+    }
+
+    /**
+     * Delivers the library ({@link #LIBRARY_FAVORITES} or {@link #LIBRARY_WATCHLIST}) now
+     * if it is synced, then after every add, change or remove. The first call for a
+     * library downloads it; later calls, from any screen, are answered from memory. Call
+     * from the main thread and remove the registration in {@code onDestroy}.
+     */
+    public ListenerRegistration observeLibrary(String uid, String libraryType, MovieQueueCallback callback) {
         if (uid == null) {
             callback.onError("User not logged in");
-            return;
+            return () -> {};
         }
-        getLibraryRef(uid, "favorites").get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || !task.getResult().exists()) {
-                callback.onLoaded(new ArrayList<>());
-                return;
-            }
-            List<com.example.finalprojectandroiddev2.data.model.Movie> movies = new ArrayList<>();
-            for (DataSnapshot snap : task.getResult().getChildren()) {
-                com.example.finalprojectandroiddev2.data.model.Movie m = new com.example.finalprojectandroiddev2.data.model.Movie();
-                m.setId(snap.getKey() != null ? Integer.parseInt(snap.getKey()) : 0);
-                m.setTitle(snap.child("title").getValue(String.class));
-                m.setPosterPath(snap.child("posterPath").getValue(String.class));
-                
-                List<com.example.finalprojectandroiddev2.data.model.Movie.Genre> genres = new ArrayList<>();
-                if (snap.hasChild("genres")) {
-                    for (DataSnapshot gSnap : snap.child("genres").getChildren()) {
-                        String gName = gSnap.getValue(String.class);
-                        if (gName != null) {
-                            com.example.finalprojectandroiddev2.data.model.Movie.Genre g = new com.example.finalprojectandroiddev2.data.model.Movie.Genre();
-                            g.setName(gName);
-                            genres.add(g);
-                        }
-                    }
-                }
-                m.setGenres(genres);
-                movies.add(m);
-            }
-            callback.onLoaded(movies);
-        });
+        return mirror(uid, libraryType).subscribe(callback);
     }
 
+    // Membership index: which movies are in the signed-in user's libraries, answered
+    // synchronously from the mirrors' ID sets so a screen can badge every card it binds.
+
     /**
-     * Fetches all watchlist movies for the user.
+     * Starts syncing both of the user's libraries, if they aren't already, so that
+     * {@link #isInLibrary} can answer. Cheap to call from every screen that shows badges.
      */
-    public void getWatchlist(String uid, MovieQueueCallback callback) {
+    public void watchLibraries(String uid) {
+        if (uid == null) return;
+        mirror(uid, LIBRARY_FAVORITES);
+        mirror(uid, LIBRARY_WATCHLIST);
+    }
+
+    /** Whether {@link #isInLibrary} has the signed-in user's {@code libraryType} to answer from. */
+    public boolean isLibrarySynced(String libraryType) {
+        return libraryMirrorUid != null && loadedMirror(libraryMirrorUid, libraryType) != null;
+    }
+
+    /**
+     * Whether the movie is in the signed-in user's {@code libraryType}, in O(1) without a
+     * read. {@code false} until that library has synced; see {@link #isLibrarySynced}.
+     */
+    public boolean isInLibrary(String libraryType, int movieId) {
+        LibraryMirror mirror = libraryMirrorUid != null ? loadedMirror(libraryMirrorUid, libraryType) : null;
+        return mirror != null && mirror.contains(movieId);
+    }
+
+    /**
+     * Starts both libraries like {@link #watchLibraries} and runs {@code onChange} each time
+     * one finishes syncing or gains or loses a movie, for rebinding badges. Call from the
+     * main thread and remove the registration in {@code onDestroy}.
+     */
+    public ListenerRegistration observeLibraryMembership(String uid, Runnable onChange) {
+        if (uid == null) return () -> {};
+        ListenerRegistration favorites = mirror(uid, LIBRARY_FAVORITES).observeMembership(onChange);
+        ListenerRegistration watchlist = mirror(uid, LIBRARY_WATCHLIST).observeMembership(onChange);
+        return () -> {
+            favorites.remove();
+            watchlist.remove();
+        };
+    }
+
+    /** Detaches every library mirror and forgets its entries. Called on sign-out. */
+    public void clearLibraries() {
+        for (LibraryMirror mirror : libraryMirrors.values()) mirror.close();
+        libraryMirrors.clear();
+        libraryMirrorUid = null;
+    }
+
+    private void getLibraryOnce(String uid, String libraryType, MovieQueueCallback callback) {
         if (uid == null) {
             callback.onError("User not logged in");
             return;
         }
-        getLibraryRef(uid, "watchlist").get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || !task.getResult().exists()) {
-                callback.onLoaded(new ArrayList<>());
-                return;
+        ListenerRegistration[] registration = new ListenerRegistration[1];
+        boolean[] done = new boolean[1];
+        registration[0] = mirror(uid, libraryType).subscribe(new MovieQueueCallback() {
+            @Override
+            public void onLoaded(List<com.example.finalprojectandroiddev2.data.model.Movie> movies) {
+                if (done[0]) return;
+                done[0] = true;
+                if (registration[0] != null) registration[0].remove();
+                callback.onLoaded(movies);
             }
-            List<com.example.finalprojectandroiddev2.data.model.Movie> movies = new ArrayList<>();
-            for (DataSnapshot snap : task.getResult().getChildren()) {
-                com.example.finalprojectandroiddev2.data.model.Movie m = new com.example.finalprojectandroiddev2.data.model.Movie();
-                m.setId(snap.getKey() != null ? Integer.parseInt(snap.getKey()) : 0);
-                m.setTitle(snap.child("title").getValue(String.class));
-                m.setPosterPath(snap.child("posterPath").getValue(String.class));
-                
-                List<com.example.finalprojectandroiddev2.data.model.Movie.Genre> genres = new ArrayList<>();
-                if (snap.hasChild("genres")) {
-                    for (DataSnapshot gSnap : snap.child("genres").getChildren()) {
-                        String gName = gSnap.getValue(String.class);
-                        if (gName != null) {
-                            com.example.finalprojectandroiddev2.data.model.Movie.Genre g = new com.example.finalprojectandroiddev2.data.model.Movie.Genre();
-                            g.setName(gName);
-                            genres.add(g);
-                        }
-                    }
-                }
-                m.setGenres(genres);
-                movies.add(m);
+
+            @Override
+            public void onError(String message) {
+                if (done[0]) return;
+                done[0] = true;
+                callback.onError(message);
             }
-            callback.onLoaded(movies);
         });
+        // Answered synchronously from memory: subscribe() returned after the callback ran.
+        if (done[0]) registration[0].remove();
+    }
+
+    /** The user's mirror of {@code libraryType}, attached on first use. */
+    private LibraryMirror mirror(String uid, String libraryType) {
+        if (!uid.equals(libraryMirrorUid)) {
+            // Another account signed in without a sign-out in this process.
+            clearLibraries();
+            libraryMirrorUid = uid;
+        }
+        LibraryMirror mirror = libraryMirrors.get(libraryType);
+        if (mirror == null || mirror.isClosed()) {
+            mirror = new LibraryMirror(libraryType, getLibraryRef(uid, libraryType));
+            libraryMirrors.put(libraryType, mirror);
+        }
+        return mirror;
+    }
+
+    /** The mirror of {@code libraryType} if it exists for {@code uid} and has synced. */
+    private LibraryMirror loadedMirror(String uid, String libraryType) {
+        if (!uid.equals(libraryMirrorUid)) return null;
+        LibraryMirror mirror = libraryMirrors.get(libraryType);
+        return mirror != null && mirror.isLoaded() && !mirror.isClosed() ? mirror : null;
     }
 }
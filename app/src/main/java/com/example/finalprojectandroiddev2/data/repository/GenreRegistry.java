@@ -0,0 +1,89 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+
+import java.util.List;
+
+/**
+ * The one TMDB genre ID → name table every screen resolves genres through.
+ *
+ * Starts with TMDB's English names built in, so lookups work before anything is loaded.
+ * {@link MovieRepository#loadGenres()} then installs the list for the app's TMDB language
+ * from the catalog, refreshing it from {@code /genre/movie/list} when it is stale.
+ *
+ * Lookups take a primitive {@code int} against a {@link SparseArray}, so binding a row
+ * neither boxes keys nor hashes them. The table is replaced whole on install and never
+ * mutated afterwards, so reads from any thread are safe.
+ */
+public final class GenreRegistry {
+
+    private static final GenreRegistry INSTANCE = new GenreRegistry();
+
+    private volatile SparseArray<String> names = builtIn();
+
+    private GenreRegistry() {}
+
+    public static GenreRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /** @return the genre's name, or null for an ID TMDB hasn't told us about */
+    @Nullable
+    public String name(int genreId) {
+        return names.get(genreId);
+    }
+
+    /** Names of the known genres in {@code genreIds}, in order, e.g. "Action, Drama". */
+    @NonNull
+    public String join(@Nullable List<Integer> genreIds, @NonNull String separator) {
+        if (genreIds == null || genreIds.isEmpty()) return "";
+        SparseArray<String> table = names;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < genreIds.size(); i++) {
+            String name = table.get(genreIds.get(i));
+            if (name == null) continue;
+            if (sb.length() > 0) sb.append(separator);
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+
+    /** Replaces the table with a list fetched from TMDB (or read back from the catalog). */
+    void install(@Nullable List<Movie.Genre> genres) {
+        if (genres == null || genres.isEmpty()) return;
+        SparseArray<String> next = new SparseArray<>(genres.size());
+        for (Movie.Genre genre : genres) {
+            if (genre.getName() != null) next.put(genre.getId(), genre.getName());
+        }
+        names = next;
+    }
+
+    private static SparseArray<String> builtIn() {
+        SparseArray<String> table = new SparseArray<>(19);
+        table.put(28,    "Action");
+        table.put(12,    "Adventure");
+        table.put(16,    "Animation");
+        table.put(35,    "Comedy");
+        table.put(80,    "Crime");
+        table.put(99,    "Documentary");
+        table.put(18,    "Drama");
+        table.put(10751, "Family");
+        table.put(14,    "Fantasy");
+        table.put(36,    "History");
+        table.put(27,    "Horror");
+        table.put(10402, "Music");
+        table.put(9648,  "Mystery");
+        table.put(10749, "Romance");
+        table.put(878,   "Science Fiction");
+        table.put(10770, "TV Movie");
+        table.put(53,    "Thriller");
+        table.put(10752, "War");
+        table.put(37,    "Western");
+        return table;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.IntSet;
+import com.example.finalprojectandroiddev2.utils.Logger;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * In-memory copy of one library ({@code libraries/{type}/{uid}}), kept current by a
+ * single long-lived {@link ChildEventListener}.
+ *
+ * The library is downloaded once per process; after that only the entries that were
+ * added, changed or removed come over the wire, and each is parsed once. Local writes
+ * show up immediately because Firebase raises child events for them before the server
+ * confirms. Subscribers get the whole list on subscribe and again after every change;
+ * a burst of changes (the initial download, a sync after reconnecting) is published once.
+ *
+ * Movie IDs are also kept in an {@link IntSet}, so {@link #contains} is a synchronous
+ * O(1) lookup cheap enough to run for every card a carousel binds.
+ *
+ * Entries are ordered by movie ID, the order Firebase reports numeric keys in. Main
+ * thread only. Lives until {@link #close()}, which the repository calls on sign-out.
+ */
+@MainThread
+final class LibraryMirror {
+
+    private static final String TAG = Constants.TAG_FIREBASE;
+
+    private final String name;
+    private final DatabaseReference ref;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable publishRunnable = this::publish;
+
+    private final TreeMap<Integer, Movie> entries = new TreeMap<>();
+    /** Keys of {@link #entries}, for membership lookups. */
+    private final IntSet ids = new IntSet();
+    private final List<FirebaseRepository.MovieQueueCallback> subscribers = new ArrayList<>();
+    private final List<Runnable> membershipObservers = new ArrayList<>();
+    /** Published view of {@link #entries}; rebuilt only after a change. */
+    @Nullable private List<Movie> snapshot;
+    private boolean loaded;
+    private boolean publishPending;
+    private boolean closed;
+    private final long attachedAt = SystemClock.uptimeMillis();
+
+    private final ChildEventListener childListener = new ChildEventListener() {
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot child, @Nullable String previous) {
+            put(child);
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot child, @Nullable String previous) {
+            put(child);
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot child) {
+            Integer id = movieId(child);
+            if (id != null && entries.remove(id) != null) {
+                ids.remove(id);
+                changed();
+            }
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot child, @Nullable String previous) {
+            // Ordered by key; a move never changes the list.
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            fail(error);
+        }
+    };
+
+    /**
+     * Firebase raises value events after the child events for the same data, so this
+     * marks the end of the initial download. It shares the child listener's sync of the
+     * path; nothing is fetched twice.
+     */
+    private final ValueEventListener initialLoad = new ValueEventListener() {
+        @Override
+        public void onDataChange(@NonNull DataSnapshot data) {
+            if (closed) return;
+            loaded = true;
+            Logger.d(TAG, "Library " + name + " synced: " + entries.size() + " entries in "
+                    + (SystemClock.uptimeMillis() - attachedAt) + " ms");
+            publish();
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            fail(error);
+        }
+    };
+
+    LibraryMirror(@NonNull String name, @NonNull DatabaseReference ref) {
+        this.name = name;
+        this.ref = ref;
+        ref.addChildEventListener(childListener);
+        ref.addListenerForSingleValueEvent(initialLoad);
+    }
+
+    /** Whether the initial download has finished; until then {@link #contains} can't answer. */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean contains(int movieId) {
+        return ids.contains(movieId);
+    }
+
+    /**
+     * Delivers the library now if it is loaded, then after every change until the
+     * registration is removed.
+     */
+    FirebaseRepository.ListenerRegistration subscribe(@NonNull FirebaseRepository.MovieQueueCallback subscriber) {
+        subscribers.add(subscriber);
+        if (loaded) subscriber.onLoaded(snapshot());
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Runs {@code observer} once the initial download is in and after every change, for
+     * screens that only need {@link #contains} (badges) and not the list itself.
+     */
+    FirebaseRepository.ListenerRegistration observeMembership(@NonNull Runnable observer) {
+        membershipObservers.add(observer);
+        return () -> membershipObservers.remove(observer);
+    }
+
+    /** Detaches from Firebase and drops the entries. Idempotent. */
+    void close() {
+        if (closed) return;
+        closed = true;
+        ref.removeEventListener(childListener);
+        ref.removeEventListener(initialLoad);
+        mainHandler.removeCallbacks(publishRunnable);
+        entries.clear();
+        ids.clear();
+        snapshot = null;
+        subscribers.clear();
+        membershipObservers.clear();
+    }
+
+    // ── Sync ───────────────────────────────────────────────────────────────────
+
+    private void put(DataSnapshot child) {
+        Integer id = movieId(child);
+        if (id == null) return;
+        entries.put(id, FirebaseRepository.parseLibraryEntry(child));
+        ids.add(id);
+        changed();
+    }
+
+    private void changed() {
+        snapshot = null;
+        // During the initial download the value listener publishes once at the end.
+        if (!loaded || publishPending) return;
+        publishPending = true;
+        mainHandler.post(publishRunnable);
+    }
+
+    private void publish() {
+        publishPending = false;
+        if (closed) return;
+        for (Runnable observer : new ArrayList<>(membershipObservers)) observer.run();
+        if (subscribers.isEmpty()) return;
+        List<Movie> movies = snapshot();
+        for (FirebaseRepository.MovieQueueCallback subscriber : new ArrayList<>(subscribers)) {
+            subscriber.onLoaded(movies);
+        }
+    }
+
+    private List<Movie> snapshot() {
+        if (snapshot == null) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(entries.values()));
+        }
+        return snapshot;
+    }
+
+    private void fail(DatabaseError error) {
+        if (closed) return;
+        Logger.e(TAG, "Library " + name + " listener cancelled: " + error.getMessage());
+        List<FirebaseRepository.MovieQueueCallback> waiting = new ArrayList<>(subscribers);
+        // The repository replaces a closed mirror on the next request.
+        close();
+        for (FirebaseRepository.MovieQueueCallback subscriber : waiting) {
+            subscriber.onError(error.getMessage());
+        }
+    }
+
+    @Nullable
+    private static Integer movieId(DataSnapshot child) {
+        try {
+            return child.getKey() != null ? Integer.valueOf(child.getKey()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
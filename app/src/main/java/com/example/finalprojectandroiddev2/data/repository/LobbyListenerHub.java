@@ -0,0 +1,252 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares one Firebase subscription per database path between any number of screens.
+ *
+ * Each path gets a reference-counted channel that keeps the last data it received. A new
+ * subscriber is first replayed that cached state (as Firebase would do on a fresh attach)
+ * and then receives live events, so moving from LobbyActivity to SwipingActivity to
+ * MatchActivity re-uses the already-synced members/ and status nodes instead of
+ * downloading them again.
+ *
+ * When the last subscriber leaves, the Firebase listener lingers for
+ * {@link Constants#LOBBY_LISTENER_LINGER_MS} before detaching: the next screen's
+ * {@code onCreate} may run before or after the previous screen's {@code onDestroy}.
+ *
+ * Main thread only — Firebase delivers its callbacks there and every caller is a screen.
+ */
+@MainThread
+final class LobbyListenerHub {
+
+    private static final String TAG = Constants.TAG_FIREBASE;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, ValueChannel> valueChannels = new HashMap<>();
+    private final Map<String, ChildChannel> childChannels = new HashMap<>();
+
+    /** Subscribes to the value at {@code ref}; replays the last snapshot if one is cached. */
+    FirebaseRepository.ListenerRegistration listenValue(@NonNull DatabaseReference ref,
+                                                        @NonNull ValueEventListener listener) {
+        String key = ref.toString();
+        ValueChannel channel = valueChannels.get(key);
+        if (channel == null) {
+            channel = new ValueChannel(key, ref);
+            valueChannels.put(key, channel);
+        }
+        return channel.subscribe(listener);
+    }
+
+    /** Subscribes to the children of {@code ref}; replays every cached child as "added". */
+    FirebaseRepository.ListenerRegistration listenChildren(@NonNull DatabaseReference ref,
+                                                           @NonNull ChildEventListener listener) {
+        String key = ref.toString();
+        ChildChannel channel = childChannels.get(key);
+        if (channel == null) {
+            channel = new ChildChannel(key, ref);
+            childChannels.put(key, channel);
+        }
+        return channel.subscribe(listener);
+    }
+
+    // ── Channels ───────────────────────────────────────────────────────────────
+
+    /**
+     * One Firebase listener and its subscribers. A subscriber only starts receiving live
+     * events once its replay has run, so it never sees a change before the state it
+     * changes.
+     */
+    private abstract class Channel<L> {
+
+        final String key;
+        final DatabaseReference ref;
+        final List<Subscriber<L>> subscribers = new ArrayList<>();
+        private final Runnable detachRunnable = this::detachNow;
+        private boolean attached;
+
+        Channel(String key, DatabaseReference ref) {
+            this.key = key;
+            this.ref = ref;
+        }
+
+        FirebaseRepository.ListenerRegistration subscribe(L listener) {
+            mainHandler.removeCallbacks(detachRunnable);
+            Subscriber<L> subscriber = new Subscriber<>(listener);
+            subscribers.add(subscriber);
+
+            if (!attached) {
+                attached = true;
+                attach();
+                // Firebase itself delivers the initial state to a fresh listener.
+                subscriber.live = true;
+            } else {
+                mainHandler.post(() -> {
+                    if (subscriber.removed) return;
+                    replay(listener);
+                    subscriber.live = true;
+                });
+            }
+            return () -> unsubscribe(subscriber);
+        }
+
+        private void unsubscribe(Subscriber<L> subscriber) {
+            if (subscriber.removed) return;
+            subscriber.removed = true;
+            subscribers.remove(subscriber);
+            if (subscribers.isEmpty()) {
+                mainHandler.postDelayed(detachRunnable, Constants.LOBBY_LISTENER_LINGER_MS);
+            }
+        }
+
+        private void detachNow() {
+            if (!subscribers.isEmpty() || !attached) return;
+            attached = false;
+            detach();
+            remove();
+            Logger.d(TAG, "Hub detached " + key);
+        }
+
+        /**
+         * Firebase has already dropped a cancelled listener (e.g. permission denied), so the
+         * channel is retired: the next subscribe to this path attaches a fresh one instead
+         * of joining a channel that will never deliver again.
+         */
+        void cancelled(DatabaseError error) {
+            attached = false;
+            mainHandler.removeCallbacks(detachRunnable);
+            remove();
+            Logger.w(TAG, "Hub listener cancelled " + key + ": " + error.getMessage());
+        }
+
+        /** Live subscribers, copied so a callback may unsubscribe while we iterate. */
+        List<L> live() {
+            List<L> out = new ArrayList<>(subscribers.size());
+            for (Subscriber<L> s : subscribers) {
+                if (s.live) out.add(s.listener);
+            }
+            return out;
+        }
+
+        abstract void attach();
+        abstract void detach();
+        abstract void remove();
+        abstract void replay(L listener);
+    }
+
+    private static final class Subscriber<L> {
+        final L listener;
+        boolean live;
+        boolean removed;
+
+        Subscriber(L listener) {
+            this.listener = listener;
+        }
+    }
+
+    private final class ValueChannel extends Channel<ValueEventListener>
+            implements ValueEventListener {
+
+        @Nullable
+        private DataSnapshot last;
+
+        ValueChannel(String key, DatabaseReference ref) {
+            super(key, ref);
+        }
+
+        @Override void attach() { ref.addValueEventListener(this); }
+        @Override void detach() { ref.removeEventListener(this); last = null; }
+        @Override void remove() { valueChannels.remove(key); }
+
+        @Override
+        void replay(ValueEventListener listener) {
+            if (last != null) listener.onDataChange(last);
+        }
+
+        @Override
+        public void onDataChange(@NonNull DataSnapshot snapshot) {
+            last = snapshot;
+            for (ValueEventListener l : live()) l.onDataChange(snapshot);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            last = null;
+            cancelled(error);
+            for (ValueEventListener l : live()) l.onCancelled(error);
+        }
+    }
+
+    private final class ChildChannel extends Channel<ChildEventListener>
+            implements ChildEventListener {
+
+        /** Current children in the order Firebase reported them. */
+        private final LinkedHashMap<String, DataSnapshot> children = new LinkedHashMap<>();
+
+        ChildChannel(String key, DatabaseReference ref) {
+            super(key, ref);
+        }
+
+        @Override void attach() { ref.addChildEventListener(this); }
+        @Override void detach() { ref.removeEventListener(this); children.clear(); }
+        @Override void remove() { childChannels.remove(key); }
+
+        @Override
+        void replay(ChildEventListener listener) {
+            String previous = null;
+            for (DataSnapshot child : new ArrayList<>(children.values())) {
+                listener.onChildAdded(child, previous);
+                previous = child.getKey();
+            }
+        }
+
+        @Override
+        public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previous) {
+            children.put(snapshot.getKey(), snapshot);
+            for (ChildEventListener l : live()) l.onChildAdded(snapshot, previous);
+        }
+
+        @Override
+        public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previous) {
+            children.put(snapshot.getKey(), snapshot);
+            for (ChildEventListener l : live()) l.onChildChanged(snapshot, previous);
+        }
+
+        @Override
+        public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+            children.remove(snapshot.getKey());
+            for (ChildEventListener l : live()) l.onChildRemoved(snapshot);
+        }
+
+        @Override
+        public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previous) {
+            for (ChildEventListener l : live()) l.onChildMoved(snapshot, previous);
+        }
+
+        @Override
+        public void onCancelled(@NonNull DatabaseError error) {
+            children.clear();
+            cancelled(error);
+            for (ChildEventListener l : live()) l.onCancelled(error);
+        }
+    }
+}
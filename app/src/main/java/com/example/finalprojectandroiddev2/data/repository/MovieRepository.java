@@ -0,0 +1,510 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.BuildConfig;
+import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
+import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
+import com.example.finalprojectandroiddev2.data.local.MovieCatalogDatabase;
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Single entry point for TMDB movie data. Screens ask for a list page or a movie's details
+ * and get a callback; they no longer build bearer tokens or enqueue Retrofit calls.
+ *
+ * Two cache tiers sit in front of the network:
+ *   1. In-memory LRU — list pages keyed by "kind:language:page", details keyed by movie ID.
+ *   2. {@link MovieCatalogDatabase} — SQLite catalog of movies, genre links and list pages.
+ *      Survives process death, so screens render offline and on cold start.
+ *
+ * Stale-while-revalidate: a cached value is delivered immediately, and if it is older than
+ * its TTL a background refresh runs and delivers the fresh value a second time. Callers
+ * must therefore tolerate {@code onSuccess} firing twice for one request. All callbacks run
+ * on the main thread.
+ */
+public class MovieRepository {
+
+    private static final String TAG = Constants.TAG_TMDB;
+    private static final String BEARER = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
+    private static final String LANGUAGE = "en-US";
+    /** Per-key JSON files written by the first version of this repository. */
+    private static final String LEGACY_JSON_CACHE_DIR = "movie_cache";
+
+    private static MovieRepository instance;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    private final LruCache<String, Entry<MovieListResponse>> listCache =
+            new LruCache<>(Constants.MOVIE_LIST_CACHE_ENTRIES);
+    private final LruCache<Integer, Entry<Movie>> detailsCache =
+            new LruCache<>(Constants.MOVIE_DETAILS_CACHE_ENTRIES);
+    /** Keyed by language; one entry in practice. */
+    private final LruCache<String, Entry<GenreListResponse>> genreCache = new LruCache<>(2);
+    /** Search pages aren't persisted; free-form queries rarely repeat across launches. */
+    private final SearchResultCache searchCache = new SearchResultCache(Constants.SEARCH_CACHE_ENTRIES);
+
+    @Nullable
+    private MovieCatalogDatabase catalog;
+
+    private MovieRepository() {}
+
+    /**
+     * The shared Retrofit service, looked up on first request rather than at construction
+     * so that {@link #init} stays cheap on the main thread; {@code AppStartup} builds the
+     * client in the background meanwhile.
+     */
+    private static TmdbApiService api() {
+        return TmdbApiClient.getService();
+    }
+
+    public static synchronized MovieRepository getInstance() {
+        if (instance == null) {
+            instance = new MovieRepository();
+        }
+        return instance;
+    }
+
+    /** Enables the persistent tier. Called once from {@code CineMatchApplication}. */
+    public static synchronized void init(Context context) {
+        MovieRepository repo = getInstance();
+        if (repo.catalog != null) return;
+
+        Context app = context.getApplicationContext();
+        MovieCatalogDatabase db = new MovieCatalogDatabase(app, MovieCatalogDatabase.DB_NAME);
+        repo.catalog = db;
+        repo.loadGenres();
+        repo.diskExecutor.execute(() -> {
+            // The previous release kept one JSON file per key; the catalog supersedes it.
+            deleteRecursively(new File(app.getFilesDir(), LEGACY_JSON_CACHE_DIR));
+            try {
+                int purged = db.purgeOlderThan(
+                        System.currentTimeMillis() - Constants.MOVIE_CATALOG_MAX_AGE_MS);
+                if (purged > 0) Logger.d(TAG, "Purged " + purged + " expired catalog movies");
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Catalog purge failed", e);
+            }
+        });
+    }
+
+    /**
+     * Shrinks the in-memory tiers when the system is short of memory. The SQLite catalog
+     * still has everything, so a dropped entry costs a disk read, not a network call.
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            listCache.evictAll();
+            detailsCache.evictAll();
+            searchCache.clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            listCache.trimToSize(listCache.maxSize() / 2);
+            detailsCache.trimToSize(detailsCache.maxSize() / 2);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteRecursively(child);
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    // ── Callbacks ──────────────────────────────────────────────────────────────
+
+    public interface MovieListCallback {
+        /** May fire twice: once from cache, then again after a background refresh. */
+        void onSuccess(@NonNull MovieListResponse response);
+        void onError(String message);
+    }
+
+    /** Handle to an in-flight request. After {@link #cancel()} its callback never fires. */
+    public interface PendingRequest {
+        void cancel();
+    }
+
+    private static final PendingRequest DONE = () -> { };
+
+    public interface OverviewCallback {
+        /** {@code overview} is {@code null} when nothing cached has it. */
+        void onOverview(@Nullable String overview);
+    }
+
+    public interface MovieCallback {
+        /** May fire twice: once from cache, then again after a background refresh. */
+        void onSuccess(@NonNull Movie movie);
+        void onError(String message);
+    }
+
+    // ── Lists ──────────────────────────────────────────────────────────────────
+
+    public void getTrendingMovies(String timeWindow, int page, @NonNull MovieListCallback callback) {
+        loadList("trending_" + timeWindow, page,
+                () -> api().getTrendingMovies(timeWindow, LANGUAGE, page, BEARER), callback);
+    }
+
+    /**
+     * Trending page for the swiping deck. Every lobby member must see the same cards, so a
+     * stale cached page is never shown first: it is only used if the refresh fails. Delivers
+     * exactly once.
+     */
+    public void getTrendingMoviesForDeck(String timeWindow, int page,
+                                         @NonNull MovieListCallback callback) {
+        String listKey = "trending_" + timeWindow + ":" + LANGUAGE;
+        load(listCache, listKey + ":" + page, listStore(listKey, page),
+                Constants.MOVIE_LIST_TTL_MS, true,
+                () -> api().getTrendingMovies(timeWindow, LANGUAGE, page, BEARER),
+                callback::onSuccess, callback::onError);
+    }
+
+    public void getPopularMovies(int page, @NonNull MovieListCallback callback) {
+        loadList("popular", page, () -> api().getPopularMovies(LANGUAGE, page, BEARER), callback);
+    }
+
+    public void getTopRatedMovies(int page, @NonNull MovieListCallback callback) {
+        loadList("top_rated", page, () -> api().getTopRatedMovies(LANGUAGE, page, BEARER), callback);
+    }
+
+    public void getSimilarMovies(int movieId, int page, @NonNull MovieListCallback callback) {
+        loadList("similar_" + movieId, page,
+                () -> api().getSimilarMovies(movieId, LANGUAGE, page, BEARER), callback);
+    }
+
+    public void getRecommendedMovies(int movieId, int page, @NonNull MovieListCallback callback) {
+        loadList("recommended_" + movieId, page,
+                () -> api().getRecommendedMovies(movieId, LANGUAGE, page, BEARER), callback);
+    }
+
+    /**
+     * Search results depend on free-form input, so they skip the catalog: pages come from a
+     * small in-memory LRU or the network. A cached page is delivered before this returns.
+     * Cancel the returned request when a newer query supersedes it.
+     */
+    public PendingRequest searchMovies(String query, int page, @NonNull MovieListCallback callback) {
+        MovieListResponse cached = searchCache.get(query, page);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return DONE;
+        }
+        Call<MovieListResponse> call = api().searchMovies(query.trim(), false, LANGUAGE, page, BEARER);
+        call.enqueue(new NetworkCallback<>(response -> {
+            searchCache.put(query, page, response);
+            callback.onSuccess(response);
+        }, callback::onError));
+        return call::cancel;
+    }
+
+    /** A search page already in memory, without touching the network. */
+    @Nullable
+    public MovieListResponse getCachedSearch(String query, int page) {
+        return searchCache.get(query, page);
+    }
+
+    /**
+     * Provisional results for {@code query} filtered from a cached shorter query it extends,
+     * or {@code null}. See {@link SearchResultCache#filterPrefix}.
+     */
+    @Nullable
+    public List<Movie> filterCachedSearch(String query) {
+        return searchCache.filterPrefix(query);
+    }
+
+    // ── Details ────────────────────────────────────────────────────────────────
+
+    public void getMovieDetails(int movieId, @NonNull MovieCallback callback) {
+        load(detailsCache, movieId, detailsStore(movieId),
+                Constants.MOVIE_DETAILS_TTL_MS, false,
+                () -> api().getMovieDetails(movieId, LANGUAGE, BEARER),
+                callback::onSuccess, callback::onError);
+    }
+
+    /**
+     * A movie's overview from the cache tiers only — memory details, then any catalog row,
+     * including rows stored from list pages. Never touches the network; delivers once, on
+     * the main thread, with {@code null} on a miss.
+     */
+    public void getCachedOverview(int movieId, @NonNull OverviewCallback callback) {
+        Entry<Movie> details = detailsCache.get(movieId);
+        if (details != null && details.value.getOverview() != null
+                && !details.value.getOverview().isEmpty()) {
+            callback.onOverview(details.value.getOverview());
+            return;
+        }
+        MovieCatalogDatabase db = catalog;
+        if (db == null) {
+            callback.onOverview(null);
+            return;
+        }
+        diskExecutor.execute(() -> {
+            String overview;
+            try {
+                overview = db.getOverview(movieId);
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Catalog read failed for overview " + movieId, e);
+                overview = null;
+            }
+            String result = overview;
+            mainHandler.post(() -> callback.onOverview(result));
+        });
+    }
+
+    // ── Genres ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Installs the genre list for {@link #LANGUAGE} into {@link GenreRegistry}: from the
+     * catalog at once, then from TMDB when the stored copy is older than
+     * {@link Constants#GENRE_LIST_TTL_MS}. Until then the registry's built-in names serve.
+     */
+    public void loadGenres() {
+        load(genreCache, LANGUAGE, genreStore(LANGUAGE), Constants.GENRE_LIST_TTL_MS, false,
+                () -> api().getMovieGenres(LANGUAGE, BEARER),
+                response -> GenreRegistry.getInstance().install(response.getGenres()),
+                message -> Logger.w(TAG, "Genre list unavailable, keeping built-in names: " + message));
+    }
+
+    // ── Cache plumbing ─────────────────────────────────────────────────────────
+
+    private interface CallFactory<T> {
+        Call<T> create();
+    }
+
+    private interface Delivery<T> {
+        void deliver(T value);
+    }
+
+    /** How one cached value is read from and written to the catalog. */
+    private interface Store<T> {
+        @Nullable
+        MovieCatalogDatabase.Cached<T> read(MovieCatalogDatabase db);
+
+        void write(MovieCatalogDatabase db, T value, long fetchedAt);
+
+        String describe();
+    }
+
+    private static Store<MovieListResponse> listStore(String listKey, int page) {
+        return new Store<MovieListResponse>() {
+            @Override
+            public MovieCatalogDatabase.Cached<MovieListResponse> read(MovieCatalogDatabase db) {
+                return db.getListPage(listKey, page);
+            }
+
+            @Override
+            public void write(MovieCatalogDatabase db, MovieListResponse value, long fetchedAt) {
+                db.putListPage(listKey, value, fetchedAt);
+            }
+
+            @Override
+            public String describe() {
+                return listKey + " p" + page;
+            }
+        };
+    }
+
+    private static Store<Movie> detailsStore(int movieId) {
+        return new Store<Movie>() {
+            @Override
+            public MovieCatalogDatabase.Cached<Movie> read(MovieCatalogDatabase db) {
+                return db.getMovieDetails(movieId);
+            }
+
+            @Override
+            public void write(MovieCatalogDatabase db, Movie value, long fetchedAt) {
+                db.putMovieDetails(value, fetchedAt);
+            }
+
+            @Override
+            public String describe() {
+                return "movie " + movieId;
+            }
+        };
+    }
+
+    private static Store<GenreListResponse> genreStore(String language) {
+        return new Store<GenreListResponse>() {
+            @Override
+            public MovieCatalogDatabase.Cached<GenreListResponse> read(MovieCatalogDatabase db) {
+                return db.getGenreList(language);
+            }
+
+            @Override
+            public void write(MovieCatalogDatabase db, GenreListResponse value, long fetchedAt) {
+                db.putGenreList(language, value, fetchedAt);
+            }
+
+            @Override
+            public String describe() {
+                return "genres:" + language;
+            }
+        };
+    }
+
+    private static final class Entry<T> {
+        final T value;
+        final long fetchedAt;
+
+        Entry(T value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+
+        boolean isFresh(long ttlMs) {
+            return System.currentTimeMillis() - fetchedAt < ttlMs;
+        }
+    }
+
+    private void loadList(String kind, int page, CallFactory<MovieListResponse> factory,
+                          MovieListCallback callback) {
+        String listKey = kind + ":" + LANGUAGE;
+        load(listCache, listKey + ":" + page, listStore(listKey, page),
+                Constants.MOVIE_LIST_TTL_MS, false, factory,
+                callback::onSuccess, callback::onError);
+    }
+
+    /**
+     * Memory → disk → network, delivering the first hit immediately and refreshing in the
+     * background when that hit is older than {@code ttlMs}. With {@code freshOnly}, a stale
+     * hit is held back and only delivered if the refresh fails.
+     */
+    private <K, T> void load(LruCache<K, Entry<T>> memory, K memoryKey, Store<T> store,
+                             long ttlMs, boolean freshOnly, CallFactory<T> factory,
+                             Delivery<T> onSuccess, Delivery<String> onError) {
+        Entry<T> cached = memory.get(memoryKey);
+        if (cached != null) {
+            serve(cached, memory, memoryKey, store, ttlMs, freshOnly, factory, onSuccess, onError);
+            return;
+        }
+
+        MovieCatalogDatabase db = catalog;
+        if (db == null) {
+            fetch(memory, memoryKey, store, factory, onSuccess, onError);
+            return;
+        }
+
+        diskExecutor.execute(() -> {
+            MovieCatalogDatabase.Cached<T> stored = readSafely(db, store);
+            mainHandler.post(() -> {
+                if (stored == null || stored.value == null) {
+                    fetch(memory, memoryKey, store, factory, onSuccess, onError);
+                    return;
+                }
+                Entry<T> entry = new Entry<>(stored.value, stored.fetchedAt);
+                memory.put(memoryKey, entry);
+                serve(entry, memory, memoryKey, store, ttlMs, freshOnly, factory, onSuccess, onError);
+            });
+        });
+    }
+
+    private <K, T> void serve(Entry<T> entry, LruCache<K, Entry<T>> memory, K memoryKey,
+                              Store<T> store, long ttlMs, boolean freshOnly,
+                              CallFactory<T> factory, Delivery<T> onSuccess,
+                              Delivery<String> onError) {
+        if (entry.isFresh(ttlMs)) {
+            onSuccess.deliver(entry.value);
+        } else if (freshOnly) {
+            fetch(memory, memoryKey, store, factory, onSuccess, message -> {
+                Logger.w(TAG, "Refresh failed for " + store.describe()
+                        + ", serving stale copy: " + message);
+                onSuccess.deliver(entry.value);
+            });
+        } else {
+            onSuccess.deliver(entry.value);
+            fetch(memory, memoryKey, store, factory, onSuccess, null);
+        }
+    }
+
+    /**
+     * Network fetch that writes through both tiers. A null {@code onError} marks a
+     * background revalidation: the caller already has data, so failures stay silent.
+     */
+    private <K, T> void fetch(LruCache<K, Entry<T>> memory, K memoryKey, Store<T> store,
+                              CallFactory<T> factory, Delivery<T> onSuccess,
+                              @Nullable Delivery<String> onError) {
+        factory.create().enqueue(new NetworkCallback<T>(value -> {
+            long now = System.currentTimeMillis();
+            memory.put(memoryKey, new Entry<>(value, now));
+            MovieCatalogDatabase db = catalog;
+            if (db != null) {
+                diskExecutor.execute(() -> writeSafely(db, store, value, now));
+            }
+            onSuccess.deliver(value);
+        }, message -> {
+            if (onError != null) {
+                onError.deliver(message);
+            } else {
+                Logger.w(TAG, "Background refresh failed for " + store.describe() + ": " + message);
+            }
+        }));
+    }
+
+    /** A broken catalog must never break loading; it just behaves like a cache miss. */
+    @Nullable
+    private static <T> MovieCatalogDatabase.Cached<T> readSafely(MovieCatalogDatabase db,
+                                                                 Store<T> store) {
+        try {
+            return store.read(db);
+        } catch (RuntimeException e) {
+            Logger.e(TAG, "Catalog read failed for " + store.describe(), e);
+            return null;
+        }
+    }
+
+    private static <T> void writeSafely(MovieCatalogDatabase db, Store<T> store, T value,
+                                        long fetchedAt) {
+        try {
+            store.write(db, value, fetchedAt);
+        } catch (RuntimeException e) {
+            Logger.e(TAG, "Catalog write failed for " + store.describe(), e);
+        }
+    }
+
+    /** Unwraps a Retrofit response into success (non-null body) or an error message. */
+    private static final class NetworkCallback<T> implements Callback<T> {
+        private final Delivery<T> onSuccess;
+        private final Delivery<String> onError;
+
+        NetworkCallback(Delivery<T> onSuccess, Delivery<String> onError) {
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            // Cancelled after the response was already queued for the main thread.
+            if (call.isCanceled()) return;
+            if (response.isSuccessful() && response.body() != null) {
+                onSuccess.deliver(response.body());
+            } else {
+                onError.deliver("TMDB error " + response.code());
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            if (call.isCanceled()) return;
+            Logger.e(TAG, "TMDB request failed", t);
+            onError.deliver(t.getMessage() != null ? t.getMessage() : "Network error");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * LRU of TMDB search result pages keyed by normalised query and page, so retyping or
+ * backspacing to an earlier query, or paging back, costs no request.
+ *
+ * {@link #filterPrefix} serves type-ahead: once "inter" is cached, "interstellar" can be
+ * answered at once by filtering that page's titles locally. TMDB also matches original
+ * and alternative titles, so the filtered rows are a provisional subset until the real
+ * page for the longer query arrives.
+ *
+ * Main thread only, like every other {@link MovieRepository} cache.
+ */
+final class SearchResultCache {
+
+    private final Map<String, MovieListResponse> pages;
+
+    SearchResultCache(int maxEntries) {
+        pages = new LinkedHashMap<String, MovieListResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MovieListResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** Case and surrounding/repeated whitespace don't change TMDB's answer. */
+    static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @Nullable
+    MovieListResponse get(String query, int page) {
+        return pages.get(key(normalize(query), page));
+    }
+
+    void put(String query, int page, MovieListResponse response) {
+        pages.put(key(normalize(query), page), response);
+    }
+
+    /**
+     * Movies from the first page of the longest cached query that {@code query} extends,
+     * whose titles contain {@code query}; {@code null} if no shorter query is cached.
+     */
+    @Nullable
+    List<Movie> filterPrefix(String query) {
+        String normalized = normalize(query);
+        for (int length = normalized.length() - 1; length > 0; length--) {
+            MovieListResponse prefixPage = pages.get(key(normalized.substring(0, length), 1));
+            if (prefixPage == null) continue;
+            List<Movie> matches = new ArrayList<>();
+            if (prefixPage.getResults() != null) {
+                for (Movie movie : prefixPage.getResults()) {
+                    String title = movie.getTitle();
+                    if (title != null && normalize(title).contains(normalized)) matches.add(movie);
+                }
+            }
+            return matches;
+        }
+        return null;
+    }
+
+    void clear() {
+        pages.clear();
+    }
+
+    int size() {
+        return pages.size();
+    }
+
+    private static String key(String normalizedQuery, int page) {
+        return page + ":" + normalizedQuery;
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.finalprojectandroiddev2.data.repository;
 
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -15,6 +20,9 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Repository for user profile data stored in Firebase Realtime Database.
  *
@@ -25,14 +33,41 @@ import com.google.firebase.database.ValueEventListener;
  *     gender: "Male" | "Female" | "Other" | ...
  *     birthday: "1998-05-21" (ISO string)
  *     email: "user@example.com"
+ *
+ * The signed-in user's profile is cached: in memory, and on disk in SharedPreferences so
+ * it survives process death. One long-lived listener on users/{uid} keeps both current,
+ * so after the first read every screen gets the profile without a network round trip,
+ * and {@link #observeProfile} subscribers see changes as they happen.
  */
 public class UserRepository {
 
     private static final String TAG = Constants.TAG_FIREBASE;
 
+    private static final String PREFS_NAME = "user_profile_cache";
+    private static final String PREF_UID = "uid";
+    private static final String PREF_EXISTS = "exists";
+    private static final String PREF_NAME = "name";
+    private static final String PREF_GENDER = "gender";
+    private static final String PREF_BIRTHDAY = "birthday";
+    private static final String PREF_EMAIL = "email";
+
     private static UserRepository instance;
 
     private final DatabaseReference usersRef;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Disk tier; set by {@link #init}, which may run off the main thread. */
+    @Nullable private volatile SharedPreferences prefs;
+
+    // Cache of the signed-in user's profile. Main thread only.
+    @Nullable private String watchedUid;
+    @Nullable private DatabaseReference watchedRef;
+    @Nullable private ValueEventListener watcher;
+    /** Whether {@link #cached} holds an answer; {@code cached == null} then means "no profile". */
+    private boolean known;
+    @Nullable private UserProfile cached;
+    private final List<ProfileLoadCallback> pendingLoads = new ArrayList<>();
+    private final List<ProfileLoadCallback> observers = new ArrayList<>();
 
     private UserRepository() {
         FirebaseDatabase database = FirebaseDatabase.getInstance(BuildConfig.FB_ROUTE_INSTANCE_URL);
@@ -46,6 +81,18 @@ public class UserRepository {
         return instance;
     }
 
+    /**
+     * Enables the disk tier of the profile cache. Called once at startup; the preferences
+     * file starts loading in the background right away.
+     */
+    public static synchronized void init(Context context) {
+        UserRepository repo = getInstance();
+        if (repo.prefs == null) {
+            repo.prefs = context.getApplicationContext()
+                    .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+    }
+
     /**
      * Creates or updates a user profile at users/{uid}.
      */
@@ -62,6 +109,8 @@ public class UserRepository {
                     public void onComplete(@NonNull Task<Void> task) {
                         if (task.isSuccessful()) {
                             Logger.d(TAG, "User profile saved for uid=" + profile.getUid());
+                            // The listener would catch up too; don't make the next screen wait.
+                            if (profile.getUid().equals(watchedUid)) update(profile.getUid(), profile);
                             callback.onSuccess();
                         } else {
                             Exception e = task.getException();
@@ -72,30 +121,122 @@ public class UserRepository {
                 });
     }
 
+    // ── Cached profile ─────────────────────────────────────────────────────────
+
     /**
-     * Fetches the user profile at users/{uid}.
+     * The signed-in user's profile, from memory or disk when it has been read before;
+     * only the very first read goes to the network. {@code profile} is {@code null} when
+     * users/{uid} doesn't exist. Delivers once, on the main thread.
      */
     public void getUserProfile(@NonNull String uid, @NonNull ProfileLoadCallback callback) {
-        usersRef.child(uid)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        if (snapshot.exists()) {
-                            UserProfile profile = snapshot.getValue(UserProfile.class);
-                            Logger.d(TAG, "Loaded user profile for uid=" + uid);
-                            callback.onSuccess(profile);
-                        } else {
-                            Logger.d(TAG, "No user profile found for uid=" + uid);
-                            callback.onSuccess(null);
-                        }
-                    }
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            mainHandler.post(() -> getUserProfile(uid, callback));
+            return;
+        }
+        watch(uid);
+        if (cached != null) {
+            callback.onSuccess(cached);
+        } else if (known) {
+            callback.onSuccess(null);
+        } else {
+            pendingLoads.add(callback);
+        }
+    }
 
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                        Logger.e(TAG, "getUserProfile cancelled for uid=" + uid, error.toException());
-                        callback.onError(error.getMessage());
-                    }
-                });
+    /**
+     * Like {@link #getUserProfile}, then again every time users/{uid} changes. Call from
+     * the main thread and remove the registration in {@code onDestroy}.
+     */
+    public FirebaseRepository.ListenerRegistration observeProfile(@NonNull String uid,
+                                                                  @NonNull ProfileLoadCallback observer) {
+        watch(uid);
+        observers.add(observer);
+        if (known) observer.onSuccess(cached);
+        return () -> observers.remove(observer);
+    }
+
+    /** Forgets the cached profile and stops watching it. Called on sign-out. */
+    public void clearCache() {
+        if (watchedRef != null && watcher != null) watchedRef.removeEventListener(watcher);
+        watchedRef = null;
+        watcher = null;
+        watchedUid = null;
+        cached = null;
+        known = false;
+        pendingLoads.clear();
+        observers.clear();
+        if (prefs != null) prefs.edit().clear().apply();
+    }
+
+    /**
+     * Makes {@code uid} the cached profile: loads the disk copy, and attaches the one
+     * long-lived listener that keeps memory and disk current. Switching users drops the
+     * previous user's cache.
+     */
+    private void watch(String uid) {
+        if (uid.equals(watchedUid)) return;
+        if (watchedUid != null) clearCache();
+        watchedUid = uid;
+        readDisk(uid);
+
+        watchedRef = usersRef.child(uid);
+        watcher = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                UserProfile profile = snapshot.exists() ? snapshot.getValue(UserProfile.class) : null;
+                Logger.d(TAG, (profile != null ? "Loaded" : "No") + " user profile for uid=" + uid);
+                update(uid, profile);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Logger.e(TAG, "Profile listener cancelled for uid=" + uid, error.toException());
+                List<ProfileLoadCallback> waiting = new ArrayList<>(pendingLoads);
+                pendingLoads.clear();
+                for (ProfileLoadCallback callback : waiting) callback.onError(error.getMessage());
+                for (ProfileLoadCallback observer : new ArrayList<>(observers)) {
+                    observer.onError(error.getMessage());
+                }
+                // Let the next request attach a fresh listener.
+                watchedUid = null;
+            }
+        };
+        watchedRef.addValueEventListener(watcher);
+    }
+
+    private void update(String uid, @Nullable UserProfile profile) {
+        if (!uid.equals(watchedUid)) return;
+        cached = profile;
+        known = true;
+        writeDisk(uid, profile);
+        List<ProfileLoadCallback> waiting = new ArrayList<>(pendingLoads);
+        pendingLoads.clear();
+        for (ProfileLoadCallback callback : waiting) callback.onSuccess(profile);
+        for (ProfileLoadCallback observer : new ArrayList<>(observers)) observer.onSuccess(profile);
+    }
+
+    private void readDisk(String uid) {
+        if (prefs == null || !uid.equals(prefs.getString(PREF_UID, null))) return;
+        known = true;
+        cached = prefs.getBoolean(PREF_EXISTS, false)
+                ? new UserProfile(uid, prefs.getString(PREF_NAME, null),
+                        prefs.getString(PREF_GENDER, null), prefs.getString(PREF_BIRTHDAY, null),
+                        prefs.getString(PREF_EMAIL, null))
+                : null;
+    }
+
+    private void writeDisk(String uid, @Nullable UserProfile profile) {
+        if (prefs == null) return;
+        SharedPreferences.Editor editor = prefs.edit().clear()
+                .putString(PREF_UID, uid)
+                .putBoolean(PREF_EXISTS, profile != null);
+        if (profile != null) {
+            editor.putString(PREF_NAME, profile.getName())
+                  .putString(PREF_GENDER, profile.getGender())
+                  .putString(PREF_BIRTHDAY, profile.getBirthday())
+                  .putString(PREF_EMAIL, profile.getEmail());
+        }
+        editor.apply();
     }
 
     /**
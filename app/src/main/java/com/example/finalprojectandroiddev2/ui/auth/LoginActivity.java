@@ -200,7 +200,8 @@ public class LoginActivity extends BaseActivity {
                 if (profile == null || profile.getName() == null || profile.getName().trim().isEmpty()) {
                     startActivity(clearTaskIntent(OnboardingActivity.class));
                 } else {
-                    startActivity(clearTaskIntent(HomeActivity.class));
+                    startActivity(clearTaskIntent(HomeActivity.class)
+                            .putExtra(HomeActivity.EXTRA_USER_NAME, profile.getName()));
                 }
                 finish();
             }
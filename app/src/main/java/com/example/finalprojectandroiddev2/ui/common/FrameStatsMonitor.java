@@ -0,0 +1,70 @@
+package com.example.finalprojectandroiddev2.ui.common;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+
+import com.example.finalprojectandroiddev2.BuildConfig;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+/**
+ * Debug-build frame timing for one window, from the platform's {@link FrameMetrics}.
+ *
+ * Logs every {@link #REPORT_EVERY} frames how many missed a 60 Hz frame (16.7 ms) and the
+ * slowest frame, so a scroll on a real device can be compared before and after a change
+ * without a separate benchmark module. Does nothing in release builds.
+ */
+public final class FrameStatsMonitor {
+
+    private static final String TAG = "CineMatch.Frames";
+    private static final int REPORT_EVERY = 300;
+    private static final long SLOW_FRAME_NS = 16_700_000L;
+
+    private final String label;
+    private HandlerThread thread;
+    private Window window;
+    private Window.OnFrameMetricsAvailableListener listener;
+
+    // Only touched on the metrics thread.
+    private int frames;
+    private int slowFrames;
+    private long worstNs;
+
+    public FrameStatsMonitor(@NonNull String label) {
+        this.label = label;
+    }
+
+    public void start(@NonNull Window window) {
+        if (!BuildConfig.DEBUG || listener != null) return;
+        this.window = window;
+        thread = new HandlerThread("FrameStats");
+        thread.start();
+        listener = (w, metrics, dropCount) -> {
+            long totalNs = metrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            frames++;
+            if (totalNs > SLOW_FRAME_NS) slowFrames++;
+            worstNs = Math.max(worstNs, totalNs);
+            if (frames == REPORT_EVERY) report();
+        };
+        window.addOnFrameMetricsAvailableListener(listener, new Handler(thread.getLooper()));
+    }
+
+    public void stop() {
+        if (listener == null) return;
+        window.removeOnFrameMetricsAvailableListener(listener);
+        thread.quitSafely();
+        listener = null;
+        window = null;
+    }
+
+    private void report() {
+        Logger.d(TAG, label + ": " + slowFrames + "/" + frames + " frames over 16.7 ms, worst "
+                + (worstNs / 1_000_000) + " ms");
+        frames = 0;
+        slowFrames = 0;
+        worstNs = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.finalprojectandroiddev2.ui.common;
+
+import android.content.res.ColorStateList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.repository.GenreRegistry;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Fills a {@link ChipGroup} with genre chips, reusing Chip views instead of creating
+ * new ones on every bind.
+ *
+ * Chips already in the group are relabelled in place; a row with fewer genres than
+ * last time hands its surplus chips to a spare pool, and a row with more takes them
+ * back. Share one renderer per adapter (all its rows use the same context) so that
+ * once the first screenful has been bound, scrolling creates no chips at all.
+ *
+ * Main thread only, like the views it touches.
+ */
+public final class GenreChipRenderer {
+
+    /** Applies a screen's chip look once, when a chip is first created. */
+    public interface Styler {
+        void style(@NonNull Chip chip);
+    }
+
+    /** Non-interactive chips on the surface colour, 11sp — the list/card look. */
+    public static final Styler FILLED = chip -> {
+        chip.setClickable(false);
+        chip.setCheckable(false);
+        chip.setCloseIconVisible(false);
+        chip.setChipStrokeWidth(0f);
+        chip.setTextColor(ColorStateList.valueOf(
+                ContextCompat.getColor(chip.getContext(), R.color.color_text_primary)));
+        chip.setChipBackgroundColor(ColorStateList.valueOf(
+                ContextCompat.getColor(chip.getContext(), R.color.color_surface)));
+        chip.setTextSize(11f);
+    };
+
+    /** Transparent chips with a thin outline and white text — for dark hero screens. */
+    public static final Styler OUTLINED = chip -> {
+        chip.setClickable(false);
+        chip.setCheckable(false);
+        chip.setChipBackgroundColorResource(android.R.color.transparent);
+        chip.setTextColor(chip.getContext().getColor(R.color.white));
+        chip.setChipStrokeColorResource(R.color.color_text_secondary);
+        chip.setChipStrokeWidth(1.5f);
+        chip.setTextSize(11f);
+    };
+
+    private final Styler styler;
+    private final ArrayDeque<Chip> spare = new ArrayDeque<>();
+    private int created;
+
+    public GenreChipRenderer(@NonNull Styler styler) {
+        this.styler = styler;
+    }
+
+    /** Shows the genres {@link GenreRegistry} can name, skipping unknown IDs. */
+    public void bindIds(@NonNull ChipGroup group, @Nullable List<Integer> genreIds) {
+        int count = 0;
+        if (genreIds != null) {
+            GenreRegistry registry = GenreRegistry.getInstance();
+            for (int i = 0; i < genreIds.size(); i++) {
+                String name = registry.name(genreIds.get(i));
+                if (name != null) setChip(group, count++, name);
+            }
+        }
+        trim(group, count);
+    }
+
+    /** Shows named genres, as returned by the movie details endpoint. */
+    public void bindGenres(@NonNull ChipGroup group, @Nullable List<Movie.Genre> genres) {
+        int count = 0;
+        if (genres != null) {
+            for (Movie.Genre genre : genres) setChip(group, count++, genre.getName());
+        }
+        trim(group, count);
+    }
+
+    /** Chips this renderer has had to create so far; flat while scrolling once warm. */
+    public int createdCount() {
+        return created;
+    }
+
+    private void setChip(ChipGroup group, int index, String text) {
+        Chip chip;
+        if (index < group.getChildCount()) {
+            chip = (Chip) group.getChildAt(index);
+        } else {
+            chip = spare.poll();
+            if (chip == null) {
+                chip = new Chip(group.getContext());
+                styler.style(chip);
+                created++;
+            }
+            group.addView(chip);
+        }
+        chip.setText(text);
+    }
+
+    private void trim(ChipGroup group, int count) {
+        for (int i = group.getChildCount() - 1; i >= count; i--) {
+            Chip chip = (Chip) group.getChildAt(i);
+            group.removeViewAt(i);
+            spare.push(chip);
+        }
+    }
+}
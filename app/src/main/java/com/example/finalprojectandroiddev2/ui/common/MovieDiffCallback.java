@@ -0,0 +1,50 @@
+package com.example.finalprojectandroiddev2.ui.common;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Diffs movie rows for the list adapters: same TMDB ID means same row, and a row only
+ * rebinds if a field some screen actually shows has changed.
+ *
+ * {@link Movie} has no {@code equals}, and a refresh always delivers fresh instances, so
+ * contents are compared field by field.
+ */
+public final class MovieDiffCallback extends DiffUtil.ItemCallback<Movie> {
+
+    public static final MovieDiffCallback INSTANCE = new MovieDiffCallback();
+
+    private MovieDiffCallback() {}
+
+    @Override
+    public boolean areItemsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+        return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                && Objects.equals(oldItem.getPosterPath(), newItem.getPosterPath())
+                && Objects.equals(oldItem.getBackdropPath(), newItem.getBackdropPath())
+                && Objects.equals(oldItem.getReleaseDate(), newItem.getReleaseDate())
+                && Objects.equals(oldItem.getOverview(), newItem.getOverview())
+                && oldItem.getPopularity() == newItem.getPopularity()
+                && oldItem.getVoteAverage() == newItem.getVoteAverage()
+                && Objects.equals(oldItem.getGenreIds(), newItem.getGenreIds())
+                && sameGenreNames(oldItem.getGenres(), newItem.getGenres());
+    }
+
+    private static boolean sameGenreNames(List<Movie.Genre> a, List<Movie.Genre> b) {
+        if (a == null || b == null) return a == b;
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (!Objects.equals(a.get(i).getName(), b.get(i).getName())) return false;
+        }
+        return true;
+    }
+}
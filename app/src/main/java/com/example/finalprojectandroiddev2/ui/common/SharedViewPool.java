@@ -0,0 +1,68 @@
+package com.example.finalprojectandroiddev2.ui.common;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+/**
+ * One {@link RecyclerView.RecycledViewPool} for all movie rows on a screen, plus idle-time
+ * prewarming of that pool.
+ *
+ * Each movie adapter reports its layout as its view type, so rows from different
+ * carousels never mix in the pool. While a screen waits for its first lists, {@link #prewarm}
+ * inflates ViewHolders one per main-thread idle slot, so by the time data arrives layout
+ * takes ready-made holders from the pool instead of inflating a screenful of cards in a
+ * single frame. Prewarming stops as soon as the list has items of its own.
+ *
+ * Scoped to one activity, since pooled views hold that activity's context; release it in
+ * {@code onDestroy}.
+ */
+public final class SharedViewPool {
+
+    private static final String TAG = "CineMatch.ViewPool";
+    private static final int DEFAULT_MAX_PER_TYPE = 5;
+
+    private final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+    private boolean released;
+
+    /** Makes {@code rv} draw its recycled and prewarmed holders from this pool. */
+    public void attach(@NonNull RecyclerView rv) {
+        rv.setRecycledViewPool(pool);
+    }
+
+    /**
+     * Queues {@code count} ViewHolders of {@code viewType} to be created from {@code rv}'s
+     * adapter in idle time. Call after {@link #attach} and {@code setAdapter}.
+     */
+    public void prewarm(@NonNull RecyclerView rv, int viewType, int count) {
+        RecyclerView.Adapter<?> adapter = rv.getAdapter();
+        if (adapter == null || count <= 0) return;
+        // The pool keeps 5 holders per type by default; prewarmed ones past that would be dropped.
+        pool.setMaxRecycledViews(viewType, Math.max(DEFAULT_MAX_PER_TYPE, count));
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int made;
+
+            @Override
+            public boolean queueIdle() {
+                if (rv.getAdapter() != adapter || adapter.getItemCount() > 0) {
+                    Logger.d(TAG, "Type " + viewType + ": stopped after " + made + " (data arrived)");
+                    return false;
+                }
+                if (released) return false;
+                pool.putRecycledView(adapter.createViewHolder(rv, viewType));
+                made++;
+                return made < count;
+            }
+        });
+    }
+
+    /** Cancels pending prewarming and drops pooled views. Call from {@code onDestroy}. */
+    public void release() {
+        released = true;
+        pool.clear();
+    }
+}
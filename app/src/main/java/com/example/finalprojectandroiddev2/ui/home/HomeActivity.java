@@ -2,6 +2,7 @@ package com.example.finalprojectandroiddev2.ui.home;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -17,28 +18,22 @@ import com.example.finalprojectandroiddev2.data.model.Movie;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
 import com.example.finalprojectandroiddev2.data.model.Movie;
-import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
 import com.example.finalprojectandroiddev2.data.repository.AuthRepository;
 import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
-import com.example.finalprojectandroiddev2.data.repository.UserRepository;
-import com.example.finalprojectandroiddev2.model.UserProfile;
 import com.example.finalprojectandroiddev2.ui.auth.LoginActivity;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.SharedViewPool;
 import com.example.finalprojectandroiddev2.ui.lobby.CreateLobbyActivity;
 import com.example.finalprojectandroiddev2.ui.lobby.JoinLobbyActivity;
 import com.example.finalprojectandroiddev2.ui.lobby.LobbyActivity;
+import com.example.finalprojectandroiddev2.utils.Constants;
 import com.example.finalprojectandroiddev2.utils.LobbyPrefs;
+import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 /**
  * Home screen.
@@ -49,6 +44,16 @@ import retrofit2.Response;
  */
 public class HomeActivity extends BaseActivity {
 
+    private static final String TAG = "CineMatch.Home";
+
+    /** Profile name already read by the launching screen; saves Home a second read. */
+    public static final String EXTRA_USER_NAME = "extra_user_name";
+
+    /** Requests Home's movie lists ahead of opening it. See {@code AppStartup}. */
+    public static void prefetchFeed() {
+        HomeFeedLoader.prefetchMovies();
+    }
+
     private DrawerLayout drawerLayout;
     private View         bannerReturnLobby;
     private long         lastBackPressMs = 0;
@@ -60,10 +65,20 @@ public class HomeActivity extends BaseActivity {
     private TrendingMovieAdapter trendingAdapter;
     private TopRatedMovieAdapter topRatedAdapter;
     private PopularMovieAdapter  popularAdapter;
+    /** Rows of all three sections come from, and are prewarmed into, one pool. */
+    private final SharedViewPool viewPool = new SharedViewPool();
+
+    private HomeFeedLoader feedLoader;
+    /** Rebinds the trending carousel's library badges when favorites or watchlist change. */
+    private FirebaseRepository.ListenerRegistration libraryBadgesRegistration;
+    private long createdAtMs;
+    private boolean fullyDrawn;
+    private boolean resumedOnce;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtMs = SystemClock.uptimeMillis();
         setContentView(R.layout.activity_home);
         applyEdgeToEdgeInsets(R.id.content_wrapper);
 
@@ -134,10 +149,10 @@ public class HomeActivity extends BaseActivity {
             }
         });
 
-        loadUserProfile();
         setupTrendingMovies();
         setupTopRatedMovies();
         setupPopularMovies();
+        loadFeed();
     }
 
     // ── Lifecycle ────────────────────────────────────────────────────────────
@@ -145,7 +160,17 @@ public class HomeActivity extends BaseActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        checkActiveLobby();
+        // The feed checks the lobby on the way in; later resumes (back from a lobby) re-check.
+        if (resumedOnce) checkActiveLobby();
+        resumedOnce = true;
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (feedLoader != null) feedLoader.cancel();
+        if (libraryBadgesRegistration != null) libraryBadgesRegistration.remove();
+        viewPool.release();
+        super.onDestroy();
     }
 
     /**
@@ -172,18 +197,26 @@ public class HomeActivity extends BaseActivity {
         FirebaseRepository.getInstance().getMember(roomCode, user.getUid(), member -> {
             if (member != null) {
                 // User is still in the lobby — show the banner
-                activeBannerRoomCode = roomCode;
-                activeBannerIsHost   = member.isHost();
-                bannerReturnLobby.setVisibility(View.VISIBLE);
-                bannerReturnLobby.setOnClickListener(v -> returnToLobby());
+                showLobbyBanner(roomCode, member.isHost());
             } else {
                 // User was removed from the lobby (e.g. kicked) — clear and hide
                 LobbyPrefs.clearActiveRoomCode(this);
-                bannerReturnLobby.setVisibility(View.GONE);
+                showLobbyBanner(null, false);
             }
         });
     }
 
+    private void showLobbyBanner(String roomCode, boolean isHost) {
+        activeBannerRoomCode = roomCode;
+        activeBannerIsHost   = isHost;
+        if (roomCode != null) {
+            bannerReturnLobby.setVisibility(View.VISIBLE);
+            bannerReturnLobby.setOnClickListener(v -> returnToLobby());
+        } else {
+            bannerReturnLobby.setVisibility(View.GONE);
+        }
+    }
+
     private void returnToLobby() {
         if (activeBannerRoomCode == null) return;
         Intent intent = new Intent(this, LobbyActivity.class);
@@ -203,10 +236,7 @@ public class HomeActivity extends BaseActivity {
 
     // ── Trending Movies ───────────────────────────────────────────────────────
 
-    /**
-     * Sets up the horizontal carousel and immediately fetches trending movies from
-     * TMDB /trending/movie/day using the Bearer read-access token from BuildConfig.
-     */
+    /** Horizontal carousel of /trending/movie/day; filled by {@link #applyFeed}. */
     private void setupTrendingMovies() {
         RecyclerView rv = findViewById(R.id.rv_trending_movies);
         rv.setLayoutManager(new LinearLayoutManager(
@@ -217,37 +247,9 @@ public class HomeActivity extends BaseActivity {
                     com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.newInstance(movie.getId());
             modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
         });
+        viewPool.attach(rv);
         rv.setAdapter(trendingAdapter);
-
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-
-        TmdbApiService api = TmdbApiClient.getService();
-        api.getTrendingMovies("day", "en-US", 1, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
-                    @Override
-                    public void onResponse(Call<MovieListResponse> call,
-                                          Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            // if (movies != null && !movies.isEmpty()) {
-                            //     trendingAdapter.setMovies(movies);
-                            // }
-                            if (movies != null && movies.size() > 1) {
-                                // Start with item 2 onward, then append item 1 at the end
-                                List<Movie> reordered = new ArrayList<>(movies.subList(1, movies.size()));
-                                reordered.addAll(movies.subList(0, 1));
-                                trendingAdapter.setMovies(reordered);
-                            }
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
-                        Toast.makeText(HomeActivity.this,
-                                "Failed to load trending movies",
-                                Toast.LENGTH_SHORT).show();
-                    }
-                });
+        viewPool.prewarm(rv, TrendingMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
     }
 
     // ── Top Rated Movies ──────────────────────────────────────────────────
@@ -262,34 +264,9 @@ public class HomeActivity extends BaseActivity {
                     com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.newInstance(movie.getId());
             modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
         });
+        viewPool.attach(rv);
         rv.setAdapter(topRatedAdapter);
-
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-
-        TmdbApiClient.getService()
-                .getTopRatedMovies("en-US", 5, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
-                    @Override
-                    public void onResponse(Call<MovieListResponse> call,
-                                          Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            if (movies != null && movies.size() > 9) {
-                                // Start with item 10 onward, then append items 1–9 at the end
-                                List<Movie> reordered = new ArrayList<>(movies.subList(9, movies.size()));
-                                reordered.addAll(movies.subList(0, 9));
-                                topRatedAdapter.setMovies(reordered);
-                            }
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
-                        Toast.makeText(HomeActivity.this,
-                                "Failed to load top rated movies",
-                                Toast.LENGTH_SHORT).show();
-                    }
-                });
+        viewPool.prewarm(rv, TopRatedMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
     }
 
     // ── Popular Movies ────────────────────────────────────────────────────────
@@ -306,34 +283,9 @@ public class HomeActivity extends BaseActivity {
                 modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
             }
         );
+        viewPool.attach(rv);
         rv.setAdapter(popularAdapter);
-
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-
-        TmdbApiClient.getService()
-                .getPopularMovies("en-US", 1, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
-                    @Override
-                    public void onResponse(Call<MovieListResponse> call,
-                                          Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            if (movies != null && movies.size() > 15) {
-                                // Start from item 16 onward, then append items 1–15 at the end
-                                List<Movie> reordered = new ArrayList<>(movies.subList(15, movies.size()));
-                                reordered.addAll(movies.subList(0, 15));
-                                popularAdapter.setMovies(reordered);
-                            }
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
-                        Toast.makeText(HomeActivity.this,
-                                "Failed to load popular movies",
-                                Toast.LENGTH_SHORT).show();
-                    }
-                });
+        viewPool.prewarm(rv, PopularMovieAdapter.VIEW_TYPE, Constants.PREWARM_LIST_ROWS);
     }
 
     // ── Drawer helpers ────────────────────────────────────────────────────────
@@ -346,35 +298,65 @@ public class HomeActivity extends BaseActivity {
         drawerLayout.closeDrawer(android.view.Gravity.END);
     }
 
-    // ── Profile ───────────────────────────────────────────────────────────────
+    // ── Feed ──────────────────────────────────────────────────────────────────
 
-    private void loadUserProfile() {
+    /**
+     * Loads every section, the sidebar profile and the lobby banner through one
+     * {@link HomeFeedLoader}, which hands back a single merged feed (a cached one first
+     * when it has one).
+     */
+    private void loadFeed() {
         FirebaseUser firebaseUser = AuthRepository.getInstance().getCurrentUser();
         if (firebaseUser == null) return;
 
         String email = firebaseUser.getEmail() != null ? firebaseUser.getEmail() : "";
         setSidebarEmail(email);
+        setSidebarUsername(email.isEmpty() ? getString(R.string.sidebar_default_username) : email);
+
+        feedLoader = new HomeFeedLoader(this, firebaseUser.getUid(), this::applyFeed);
+        feedLoader.load(getIntent().getStringExtra(EXTRA_USER_NAME));
+        libraryBadgesRegistration = FirebaseRepository.getInstance()
+                .observeLibraryMembership(firebaseUser.getUid(), trendingAdapter::refreshBadges);
+    }
+
+    private void applyFeed(HomeFeed feed) {
+        // Only legs new since the previous feed: a late refresh must not re-apply the lobby
+        // state checkActiveLobby() has set since, or repeat a failure toast.
+        if (isNew(feed, HomeFeed.TRENDING))  trendingAdapter.setMovies(feed.trending);
+        if (isNew(feed, HomeFeed.TOP_RATED)) topRatedAdapter.setMovies(feed.topRated);
+        if (isNew(feed, HomeFeed.POPULAR))   popularAdapter.setMovies(feed.popular);
+        if (isNew(feed, HomeFeed.PROFILE) && feed.userName != null) setSidebarUsername(feed.userName);
+        if (isNew(feed, HomeFeed.LOBBY)) showLobbyBanner(feed.lobbyRoomCode, feed.lobbyIsHost);
+        if (feed.fromCache) return;
+
+        if (hasNewFailure(feed, HomeFeed.TRENDING)) {
+            Toast.makeText(this, "Failed to load trending movies", Toast.LENGTH_SHORT).show();
+        }
+        if (hasNewFailure(feed, HomeFeed.TOP_RATED)) {
+            Toast.makeText(this, "Failed to load top rated movies", Toast.LENGTH_SHORT).show();
+        }
+        if (hasNewFailure(feed, HomeFeed.POPULAR)) {
+            Toast.makeText(this, "Failed to load popular movies", Toast.LENGTH_SHORT).show();
+        }
+        if (!fullyDrawn) {
+            fullyDrawn = true;
+            Logger.d(TAG, "Home populated " + (SystemClock.uptimeMillis() - createdAtMs)
+                    + " ms after onCreate");
+            reportFullyDrawn();
+        }
+    }
 
-        UserRepository.getInstance().getUserProfile(firebaseUser.getUid(),
-                new UserRepository.ProfileLoadCallback() {
-                    @Override
-                    public void onSuccess(UserProfile profile) {
-                        if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
-                            setSidebarUsername(profile.getName());
-                        } else {
-                            setSidebarUsername(email.isEmpty()
-                                    ? getString(R.string.sidebar_default_username) : email);
-                        }
-                    }
-
-                    @Override
-                    public void onError(String errorMessage) {
-                        setSidebarUsername(email.isEmpty()
-                                ? getString(R.string.sidebar_default_username) : email);
-                    }
-                });
+    private static boolean isNew(HomeFeed feed, int leg) {
+        return feed.hasChanged(leg) && feed.has(leg);
     }
 
+    /** Failed in this load with nothing to fall back on, and not reported before. */
+    private static boolean hasNewFailure(HomeFeed feed, int leg) {
+        return feed.hasChanged(leg) && feed.hasFailed(leg) && !feed.has(leg);
+    }
+
+    // ── Profile ───────────────────────────────────────────────────────────────
+
     private void setSidebarUsername(String name) {
         TextView tv = findViewById(R.id.sidebar_text_username);
         if (tv != null) tv.setText(name);
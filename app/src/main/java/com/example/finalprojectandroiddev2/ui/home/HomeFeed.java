@@ -0,0 +1,90 @@
+package com.example.finalprojectandroiddev2.ui.home;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the home screen shows, merged from its five data sources by
+ * {@link HomeFeedLoader}. Immutable: a change produces a new feed.
+ *
+ * Movie lists are already in display order. {@link #loaded} says which legs this feed
+ * has an answer for; a leg missing from it (still pending, or failed with nothing older
+ * to fall back on) leaves that part of the screen as it was. {@link #changed} says which
+ * legs are new since the previous feed from the same load, so a late leg or a background
+ * refresh re-applies only its own part, and a failure is reported once.
+ */
+final class HomeFeed {
+
+    static final int TRENDING  = 1;
+    static final int TOP_RATED = 1 << 1;
+    static final int POPULAR   = 1 << 2;
+    static final int PROFILE   = 1 << 3;
+    static final int LOBBY     = 1 << 4;
+    static final int ALL = TRENDING | TOP_RATED | POPULAR | PROFILE | LOBBY;
+
+    @NonNull final String uid;
+    @NonNull final List<Movie> trending;
+    @NonNull final List<Movie> topRated;
+    @NonNull final List<Movie> popular;
+    /** Profile name, or {@code null} if the user hasn't set one. */
+    @Nullable final String userName;
+    /** Lobby the user is still a member of, or {@code null}. */
+    @Nullable final String lobbyRoomCode;
+    final boolean lobbyIsHost;
+    final int loaded;
+    /** Legs whose request failed in this load. */
+    final int failed;
+    /** Legs that answered (or failed) since the previous feed of the same load. */
+    final int changed;
+    /** Shown from memory before this load's requests were answered. */
+    final boolean fromCache;
+
+    HomeFeed(@NonNull String uid, List<Movie> trending, List<Movie> topRated, List<Movie> popular,
+             @Nullable String userName, @Nullable String lobbyRoomCode, boolean lobbyIsHost,
+             int loaded, int failed, int changed, boolean fromCache) {
+        this.uid = uid;
+        this.trending = freeze(trending);
+        this.topRated = freeze(topRated);
+        this.popular = freeze(popular);
+        this.userName = userName;
+        this.lobbyRoomCode = lobbyRoomCode;
+        this.lobbyIsHost = lobbyIsHost;
+        this.loaded = loaded;
+        this.failed = failed;
+        this.changed = changed;
+        this.fromCache = fromCache;
+    }
+
+    boolean has(int leg) {
+        return (loaded & leg) != 0;
+    }
+
+    boolean hasFailed(int leg) {
+        return (failed & leg) != 0;
+    }
+
+    boolean hasChanged(int leg) {
+        return (changed & leg) != 0;
+    }
+
+    /**
+     * The same content as a cache snapshot. Lobby membership is left out: a stale
+     * "return to lobby" banner would be worse than none until the check comes back.
+     */
+    HomeFeed asCached() {
+        return new HomeFeed(uid, trending, topRated, popular, userName, null, false,
+                loaded & ~LOBBY, 0, loaded & ~LOBBY, true);
+    }
+
+    private static List<Movie> freeze(@Nullable List<Movie> movies) {
+        return movies == null || movies.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(movies));
+    }
+}
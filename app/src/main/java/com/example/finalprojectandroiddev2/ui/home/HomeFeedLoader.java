@@ -0,0 +1,277 @@
+package com.example.finalprojectandroiddev2.ui.home;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
+import com.example.finalprojectandroiddev2.data.repository.UserRepository;
+import com.example.finalprojectandroiddev2.model.UserProfile;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.LobbyPrefs;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the home screen's five legs — trending, top rated and popular movies, the user's
+ * profile and their active-lobby membership — at once, and publishes them as one
+ * {@link HomeFeed} when the last leg answers, instead of five callbacks each redrawing
+ * part of the screen.
+ *
+ * Every leg is an async call (Retrofit on OkHttp's dispatcher, Firebase on its own
+ * thread), so they all run concurrently without a thread here. A leg that hasn't
+ * answered within {@link Constants#HOME_FEED_BARRIER_TIMEOUT_MS} doesn't hold the rest
+ * back: the feed is published without it and again when it lands. Movie legs may also
+ * answer twice (cached page, then refresh); a refresh after the barrier publishes an
+ * updated feed whose {@link HomeFeed#changed} names only that leg.
+ *
+ * Before any request has answered, {@link #load} publishes the last feed this process
+ * showed for the user, so the first frame isn't empty. Logs each leg's latency and the
+ * time to the full feed. Main thread only.
+ */
+final class HomeFeedLoader {
+
+    interface Listener {
+        void onFeed(@NonNull HomeFeed feed);
+    }
+
+    private static final String TAG = "CineMatch.HomeFeed";
+    private static final int MOVIES = HomeFeed.TRENDING | HomeFeed.TOP_RATED | HomeFeed.POPULAR;
+
+    /** Last complete feed, shown first next time the home screen opens. */
+    @Nullable
+    private static HomeFeed lastFeed;
+
+    private final Context context;
+    private final String uid;
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable barrierTimeout = this::onBarrierTimeout;
+
+    private long startedAt;
+    private int pending;
+    private int loaded;
+    private int failed;
+    /** Legs that answered since the last publish. */
+    private int changed;
+    private boolean published;
+    private boolean cancelled;
+
+    private List<Movie> trending;
+    private List<Movie> topRated;
+    private List<Movie> popular;
+    @Nullable private String userName;
+    @Nullable private String lobbyRoomCode;
+    private boolean lobbyIsHost;
+
+    HomeFeedLoader(@NonNull Context context, @NonNull String uid, @NonNull Listener listener) {
+        this.context = context.getApplicationContext();
+        this.uid = uid;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the three movie lists without a listener, so a later {@link #load} finds them
+     * in the repository's memory cache (or joins the same in-flight requests).
+     */
+    static void prefetchMovies() {
+        MovieRepository.MovieListCallback ignore = new MovieRepository.MovieListCallback() {
+            @Override
+            public void onSuccess(@NonNull MovieListResponse response) {}
+
+            @Override
+            public void onError(String message) {}
+        };
+        requestTrending(ignore);
+        requestTopRated(ignore);
+        requestPopular(ignore);
+    }
+
+    /**
+     * Issues every leg, then publishes a cached feed if there is one. Call once.
+     *
+     * @param knownUserName the profile name if the caller already read it (splash, login);
+     *                      the profile leg is then answered without a database read
+     */
+    void load(@Nullable String knownUserName) {
+        startedAt = SystemClock.uptimeMillis();
+        pending = HomeFeed.ALL;
+        HomeFeed previous = lastFeed != null && lastFeed.uid.equals(uid) ? lastFeed : null;
+        if (previous != null) {
+            // Fallbacks for legs that fail this time.
+            loaded = previous.loaded & (MOVIES | HomeFeed.PROFILE);
+            trending = previous.trending;
+            topRated = previous.topRated;
+            popular = previous.popular;
+            userName = previous.userName;
+        }
+
+        loadMovies(HomeFeed.TRENDING, "trending", HomeFeedLoader::requestTrending);
+        loadMovies(HomeFeed.TOP_RATED, "top rated", HomeFeedLoader::requestTopRated);
+        loadMovies(HomeFeed.POPULAR, "popular", HomeFeedLoader::requestPopular);
+        if (knownUserName != null) {
+            userName = knownUserName;
+            onLeg(HomeFeed.PROFILE, "profile (handed over)", true);
+        } else {
+            loadProfile();
+        }
+        loadLobby();
+
+        if (pending == 0 || cancelled) return;
+        handler.postDelayed(barrierTimeout, Constants.HOME_FEED_BARRIER_TIMEOUT_MS);
+        if (previous != null) {
+            Logger.d(TAG, "First frame from cached feed");
+            listener.onFeed(previous.asCached());
+        } else if ((loaded & MOVIES) == MOVIES) {
+            // Every movie list was in the repository's memory cache and came back at once.
+            Logger.d(TAG, "First frame from cached movie lists");
+            listener.onFeed(build().asCached());
+        }
+    }
+
+    /** Stops publishing; in-flight legs are ignored when they land. */
+    void cancel() {
+        cancelled = true;
+        handler.removeCallbacks(barrierTimeout);
+    }
+
+    // ── Legs ───────────────────────────────────────────────────────────────────
+
+    private interface MovieRequest {
+        void issue(MovieRepository.MovieListCallback callback);
+    }
+
+    private static void requestTrending(MovieRepository.MovieListCallback callback) {
+        MovieRepository.getInstance().getTrendingMovies("day", 1, callback);
+    }
+
+    private static void requestTopRated(MovieRepository.MovieListCallback callback) {
+        MovieRepository.getInstance().getTopRatedMovies(5, callback);
+    }
+
+    private static void requestPopular(MovieRepository.MovieListCallback callback) {
+        MovieRepository.getInstance().getPopularMovies(1, callback);
+    }
+
+    private void loadMovies(int leg, String name, MovieRequest request) {
+        request.issue(new MovieRepository.MovieListCallback() {
+            @Override
+            public void onSuccess(@NonNull MovieListResponse response) {
+                List<Movie> movies = inDisplayOrder(leg, response.getResults());
+                if (leg == HomeFeed.TRENDING) trending = movies;
+                else if (leg == HomeFeed.TOP_RATED) topRated = movies;
+                else popular = movies;
+                onLeg(leg, name, true);
+            }
+
+            @Override
+            public void onError(String message) {
+                Logger.w(TAG, name + " failed: " + message);
+                onLeg(leg, name, false);
+            }
+        });
+    }
+
+    private void loadProfile() {
+        UserRepository.getInstance().getUserProfile(uid, new UserRepository.ProfileLoadCallback() {
+            @Override
+            public void onSuccess(UserProfile profile) {
+                userName = profile != null && profile.getName() != null && !profile.getName().isEmpty()
+                        ? profile.getName() : null;
+                onLeg(HomeFeed.PROFILE, "profile", true);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                onLeg(HomeFeed.PROFILE, "profile", false);
+            }
+        });
+    }
+
+    private void loadLobby() {
+        String roomCode = LobbyPrefs.getActiveRoomCode(context);
+        if (roomCode == null) {
+            onLeg(HomeFeed.LOBBY, "lobby", true);
+            return;
+        }
+        FirebaseRepository.getInstance().getMember(roomCode, uid, member -> {
+            if (member != null) {
+                lobbyRoomCode = roomCode;
+                lobbyIsHost = member.isHost();
+            } else {
+                // Removed from the lobby (e.g. kicked) while away.
+                LobbyPrefs.clearActiveRoomCode(context);
+            }
+            onLeg(HomeFeed.LOBBY, "lobby", true);
+        });
+    }
+
+    /**
+     * Each carousel opens a little way into its list, with the skipped head moved to the
+     * end, so the three sections don't all start on the same blockbusters.
+     */
+    private static List<Movie> inDisplayOrder(int leg, @Nullable List<Movie> movies) {
+        int skip = leg == HomeFeed.TRENDING ? 1 : leg == HomeFeed.TOP_RATED ? 9 : 15;
+        if (movies == null || movies.size() <= skip) return movies;
+        List<Movie> reordered = new ArrayList<>(movies.subList(skip, movies.size()));
+        reordered.addAll(movies.subList(0, skip));
+        return reordered;
+    }
+
+    // ── Barrier ────────────────────────────────────────────────────────────────
+
+    private void onLeg(int leg, String name, boolean ok) {
+        if (cancelled) return;
+        boolean first = (pending & leg) != 0;
+        pending &= ~leg;
+        changed |= leg;
+        if (ok) {
+            loaded |= leg;
+            failed &= ~leg;
+        } else {
+            failed |= leg;
+        }
+        if (first) {
+            Logger.d(TAG, name + (ok ? "" : " (failed)") + " in "
+                    + (SystemClock.uptimeMillis() - startedAt) + " ms");
+        }
+
+        if (published) {
+            // Late leg after a timeout, or a cached page's background refresh.
+            publish();
+        } else if (pending == 0) {
+            handler.removeCallbacks(barrierTimeout);
+            Logger.d(TAG, "Feed complete in " + (SystemClock.uptimeMillis() - startedAt) + " ms");
+            publish();
+        }
+    }
+
+    private void onBarrierTimeout() {
+        if (cancelled || published) return;
+        Logger.w(TAG, "Publishing without legs 0x" + Integer.toHexString(pending)
+                + " after " + Constants.HOME_FEED_BARRIER_TIMEOUT_MS + " ms");
+        publish();
+    }
+
+    private void publish() {
+        published = true;
+        HomeFeed feed = build();
+        changed = 0;
+        if ((feed.loaded & MOVIES) == MOVIES) lastFeed = feed;
+        listener.onFeed(feed);
+    }
+
+    private HomeFeed build() {
+        return new HomeFeed(uid, trending, topRated, popular, userName, lobbyRoomCode, lobbyIsHost,
+                loaded, failed, changed, false);
+    }
+}
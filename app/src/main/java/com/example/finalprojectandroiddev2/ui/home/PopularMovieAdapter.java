@@ -1,6 +1,5 @@
 package com.example.finalprojectandroiddev2.ui.home;
 
-import android.content.res.ColorStateList;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,28 +7,32 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
-import com.example.finalprojectandroiddev2.utils.Constants;
-import com.google.android.material.chip.Chip;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
+import com.example.finalprojectandroiddev2.ui.common.MovieDiffCallback;
 import com.google.android.material.chip.ChipGroup;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Adapter for the "Popular Movies" vertical list on the Home screen.
  * Each card shows: poster | title, popularity score, genre chips, release date.
+ *
+ * Updates are diffed off the main thread by {@link AsyncListDiffer}, and rows have stable
+ * IDs (the TMDB movie ID), so a refresh or an appended page only binds rows that changed.
  */
 public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapter.PopularViewHolder> {
 
@@ -41,34 +44,17 @@ public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapte
         void onMovieLongClick(Movie movie);
     }
 
-    private final List<Movie> movies;
+    /** View type of every row; unique per row layout so a shared pool keeps them apart. */
+    public static final int VIEW_TYPE = R.layout.item_movie_popular;
+
+    private final AsyncListDiffer<Movie> differ =
+            new AsyncListDiffer<>(this, MovieDiffCallback.INSTANCE);
+    /** Last list submitted; may still be diffing, so appends build on this, not the current list. */
+    private List<Movie> submitted = new ArrayList<>();
     private OnMovieClickListener listener;
     private OnMovieLongClickListener longClickListener;
-
-    // ── TMDB Genre ID → Name map ──────────────────────────────────────────────
-    private static final Map<Integer, String> GENRE_MAP = new HashMap<>();
-
-    static {
-        GENRE_MAP.put(28,    "Action");
-        GENRE_MAP.put(12,    "Adventure");
-        GENRE_MAP.put(16,    "Animation");
-        GENRE_MAP.put(35,    "Comedy");
-        GENRE_MAP.put(80,    "Crime");
-        GENRE_MAP.put(99,    "Documentary");
-        GENRE_MAP.put(18,    "Drama");
-        GENRE_MAP.put(10751, "Family");
-        GENRE_MAP.put(14,    "Fantasy");
-        GENRE_MAP.put(36,    "History");
-        GENRE_MAP.put(27,    "Horror");
-        GENRE_MAP.put(10402, "Music");
-        GENRE_MAP.put(9648,  "Mystery");
-        GENRE_MAP.put(10749, "Romance");
-        GENRE_MAP.put(878,   "Science Fiction");
-        GENRE_MAP.put(10770, "TV Movie");
-        GENRE_MAP.put(53,    "Thriller");
-        GENRE_MAP.put(10752, "War");
-        GENRE_MAP.put(37,    "Western");
-    }
+    /** Shared by every row so chips move between rows instead of being re-created. */
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(GenreChipRenderer.FILLED);
 
     // ── Date formatting ───────────────────────────────────────────────────────
     private static final SimpleDateFormat INPUT_DATE_FORMAT =
@@ -77,38 +63,39 @@ public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapte
             new SimpleDateFormat("MMM yyyy", Locale.getDefault());
 
     public PopularMovieAdapter(List<Movie> movies) {
-        this.movies = movies != null ? movies : new ArrayList<>();
+        this(movies, null, null);
     }
     
     public PopularMovieAdapter(List<Movie> movies, OnMovieClickListener clickListener) {
-        this.movies = movies != null ? movies : new ArrayList<>();
-        this.listener = clickListener;
+        this(movies, clickListener, null);
     }
 
     public PopularMovieAdapter(List<Movie> movies, OnMovieClickListener clickListener, OnMovieLongClickListener longClickListener) {
-        this.movies = movies != null ? movies : new ArrayList<>();
         this.listener = clickListener;
         this.longClickListener = longClickListener;
+        setHasStableIds(true);
+        setMovies(movies);
     }
 
     // ── Dataset update ────────────────────────────────────────────────────────
 
+    /** Replaces the list; unchanged rows keep their views and loaded posters. */
     public void setMovies(List<Movie> newMovies) {
-        movies.clear();
-        if (newMovies != null) movies.addAll(newMovies);
-        notifyDataSetChanged();
+        submitted = distinctById(new ArrayList<>(), newMovies);
+        differ.submitList(submitted);
     }
 
+    /** Appends a page, skipping movies already listed (TMDB pages can overlap). */
     public void addMovies(List<Movie> newMovies) {
         if (newMovies != null && !newMovies.isEmpty()) {
-            int startPosition = movies.size();
-            movies.addAll(newMovies);
-            notifyItemRangeInserted(startPosition, newMovies.size());
+            submitted = distinctById(new ArrayList<>(submitted), newMovies);
+            differ.submitList(submitted);
         }
     }
 
+    /** The list as currently shown; read-only. */
     public List<Movie> getMovies() {
-        return movies;
+        return differ.getCurrentList();
     }
 
     public void setOnMovieClickListener(OnMovieClickListener listener) {
@@ -121,22 +108,26 @@ public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapte
 
     // ── RecyclerView.Adapter overrides ────────────────────────────────────────
 
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
     @NonNull
     @Override
     public PopularViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_movie_popular, parent, false);
+                .inflate(VIEW_TYPE, parent, false);
         return new PopularViewHolder(view);
     }
 
     @Override
     public void onBindViewHolder(@NonNull PopularViewHolder holder, int position) {
-        Movie movie = movies.get(position);
+        Movie movie = differ.getCurrentList().get(position);
 
         // Poster
-        String posterUrl = Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath();
         Glide.with(holder.ivPoster.getContext())
-                .load(posterUrl)
+                .load(TmdbImage.poster(movie.getPosterPath()))
                 .centerCrop()
                 .placeholder(R.color.color_surface)
                 .error(R.color.color_surface)
@@ -149,32 +140,8 @@ public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapte
         holder.tvPopularity.setText(
                 String.format(Locale.getDefault(), "%.1f", movie.getPopularity()));
 
-        // Genre chips
-        holder.chipGroupGenres.removeAllViews();
-        List<Integer> genreIds = movie.getGenreIds();
-        if (genreIds != null) {
-            for (Integer id : genreIds) {
-                String name = GENRE_MAP.get(id);
-                if (name != null) {
-                    Chip chip = new Chip(holder.chipGroupGenres.getContext());
-                    chip.setText(name);
-                    chip.setClickable(false);
-                    chip.setCheckable(false);
-                    chip.setCloseIconVisible(false);
-                    chip.setChipStrokeWidth(0f);
-                    chip.setTextColor(ColorStateList.valueOf(
-                            ContextCompat.getColor(
-                                    holder.chipGroupGenres.getContext(),
-                                    R.color.color_text_primary)));
-                    chip.setChipBackgroundColor(ColorStateList.valueOf(
-                            ContextCompat.getColor(
-                                    holder.chipGroupGenres.getContext(),
-                                    R.color.color_surface)));
-                    chip.setTextSize(11f);
-                    holder.chipGroupGenres.addView(chip);
-                }
-            }
-        }
+        // Genre chips — relabels this row's chips, no new views once the list is warm
+        genreChips.bindIds(holder.chipGroupGenres, movie.getGenreIds());
 
         // Release date: "YYYY-MM-DD"  →  "MMM yyyy"
         holder.tvReleaseDate.setText(formatReleaseDate(movie.getReleaseDate()));
@@ -198,7 +165,33 @@ public class PopularMovieAdapter extends RecyclerView.Adapter<PopularMovieAdapte
 
     @Override
     public int getItemCount() {
-        return movies.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
+    }
+
+    /** Chips created so far; should stop growing once the first screenful is bound. */
+    public int genreChipsCreated() {
+        return genreChips.createdCount();
+    }
+
+    // ── Helper: dedup ─────────────────────────────────────────────────────────
+
+    /**
+     * Appends {@code extra} to {@code base}, dropping movies whose ID is already present.
+     * Stable IDs must be unique within the list.
+     */
+    private static List<Movie> distinctById(List<Movie> base, List<Movie> extra) {
+        if (extra == null) return base;
+        Set<Integer> seen = new HashSet<>();
+        for (Movie m : base) seen.add(m.getId());
+        for (Movie m : extra) {
+            if (seen.add(m.getId())) base.add(m);
+        }
+        return base;
     }
 
     // ── Helper: date formatting ───────────────────────────────────────────────
@@ -7,50 +7,31 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
-import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.data.repository.GenreRegistry;
+import com.example.finalprojectandroiddev2.ui.common.MovieDiffCallback;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapter for the "Top Rated Movies" horizontal carousel on the Home screen.
  * Displays a poster, title, and comma-separated genre names derived from TMDB genre IDs.
+ * Rows are keyed by TMDB movie ID; refreshes are diffed off the main thread.
  */
 public class TopRatedMovieAdapter extends RecyclerView.Adapter<TopRatedMovieAdapter.TopRatedViewHolder> {
 
-    private final List<Movie> movies;
-
-    // ── TMDB Genre ID → Name map ──────────────────────────────────────────────
-    private static final Map<Integer, String> GENRE_MAP = new HashMap<>();
-
-    static {
-        GENRE_MAP.put(28,    "Action");
-        GENRE_MAP.put(12,    "Adventure");
-        GENRE_MAP.put(16,    "Animation");
-        GENRE_MAP.put(35,    "Comedy");
-        GENRE_MAP.put(80,    "Crime");
-        GENRE_MAP.put(99,    "Documentary");
-        GENRE_MAP.put(18,    "Drama");
-        GENRE_MAP.put(10751, "Family");
-        GENRE_MAP.put(14,    "Fantasy");
-        GENRE_MAP.put(36,    "History");
-        GENRE_MAP.put(27,    "Horror");
-        GENRE_MAP.put(10402, "Music");
-        GENRE_MAP.put(9648,  "Mystery");
-        GENRE_MAP.put(10749, "Romance");
-        GENRE_MAP.put(878,   "Science Fiction");
-        GENRE_MAP.put(10770, "TV Movie");
-        GENRE_MAP.put(53,    "Thriller");
-        GENRE_MAP.put(10752, "War");
-        GENRE_MAP.put(37,    "Western");
-    }
+    /** View type of every row; unique per row layout so a shared pool keeps them apart. */
+    public static final int VIEW_TYPE = R.layout.item_movie_top_rated;
+
+    private final AsyncListDiffer<Movie> differ =
+            new AsyncListDiffer<>(this, MovieDiffCallback.INSTANCE);
 
     private final OnMovieLongClickListener longClickListener;
 
@@ -59,37 +40,40 @@ public class TopRatedMovieAdapter extends RecyclerView.Adapter<TopRatedMovieAdap
     }
 
     public TopRatedMovieAdapter(List<Movie> movies, OnMovieLongClickListener longClickListener) {
-        this.movies = movies != null ? movies : new ArrayList<>();
         this.longClickListener = longClickListener;
+        setHasStableIds(true);
+        setMovies(movies);
     }
 
     // ── Dataset update ────────────────────────────────────────────────────────
 
-    /** Replace the current dataset and refresh the list. */
+    /** Replace the current dataset; only rows that changed are rebound. */
     public void setMovies(List<Movie> newMovies) {
-        movies.clear();
-        if (newMovies != null) movies.addAll(newMovies);
-        notifyDataSetChanged();
+        differ.submitList(newMovies != null ? new ArrayList<>(newMovies) : new ArrayList<>());
     }
 
     // ── RecyclerView.Adapter overrides ────────────────────────────────────────
 
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
     @NonNull
     @Override
     public TopRatedViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_movie_top_rated, parent, false);
+                .inflate(VIEW_TYPE, parent, false);
         return new TopRatedViewHolder(view);
     }
 
     @Override
     public void onBindViewHolder(@NonNull TopRatedViewHolder holder, int position) {
-        Movie movie = movies.get(position);
+        Movie movie = differ.getCurrentList().get(position);
 
         // Load poster with Glide
-        String posterUrl = Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath();
         Glide.with(holder.ivPoster.getContext())
-                .load(posterUrl)
+                .load(TmdbImage.poster(movie.getPosterPath()))
                 .centerCrop()
                 .placeholder(R.color.color_surface)
                 .error(R.color.color_surface)
@@ -112,7 +96,12 @@ public class TopRatedMovieAdapter extends RecyclerView.Adapter<TopRatedMovieAdap
 
     @Override
     public int getItemCount() {
-        return movies.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     // ── Genre helper ─────────────────────────────────────────────────────────
@@ -125,16 +114,7 @@ public class TopRatedMovieAdapter extends RecyclerView.Adapter<TopRatedMovieAdap
      * @return e.g. "Action, Adventure, Science Fiction"
      */
     private String getGenresAsString(List<Integer> genreIds) {
-        if (genreIds == null || genreIds.isEmpty()) return "";
-        StringBuilder sb = new StringBuilder();
-        for (Integer id : genreIds) {
-            String name = GENRE_MAP.get(id);
-            if (name != null) {
-                if (sb.length() > 0) sb.append(", ");
-                sb.append(name);
-            }
-        }
-        return sb.toString();
+        return GenreRegistry.getInstance().join(genreIds, ", ");
     }
 
     // ── ViewHolder ────────────────────────────────────────────────────────────
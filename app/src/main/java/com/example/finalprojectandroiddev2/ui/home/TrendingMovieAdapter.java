@@ -3,29 +3,44 @@ package com.example.finalprojectandroiddev2.ui.home;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageButton;
 import android.widget.ImageView;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
-import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.ui.common.MovieDiffCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * RecyclerView adapter for the horizontal trending movie carousel on the Home screen.
- * Each card shows a movie poster with two overlay icon buttons:
- *  - Favourite (heart_outline_icon)
- *  - Watchlist (add_shadow_outline)
+ * Each card shows a movie poster with two overlay badges, visible when the movie is in
+ * the user's library:
+ *  - Favourite (heart_solid_icon)
+ *  - Watchlist (add_item_fill)
+ * Badges read the repository's in-memory membership index, so binding a card costs no
+ * database read; {@link #refreshBadges()} rebinds only the badges when a library changes.
+ *
+ * Rows are keyed by TMDB movie ID and refreshes are diffed off the main thread, so
+ * re-delivering the same carousel doesn't rebind or reload any poster.
  */
 public class TrendingMovieAdapter extends RecyclerView.Adapter<TrendingMovieAdapter.MovieViewHolder> {
 
-    private final List<Movie> movies;
+    /** View type of every row; unique per row layout so a shared pool keeps them apart. */
+    public static final int VIEW_TYPE = R.layout.item_movie_trending;
+
+    /** Partial-bind payload: only the library badges changed. */
+    private static final Object PAYLOAD_BADGES = new Object();
+
+    private final AsyncListDiffer<Movie> differ =
+            new AsyncListDiffer<>(this, MovieDiffCallback.INSTANCE);
     private final OnMovieLongClickListener longClickListener;
 
     public interface OnMovieLongClickListener {
@@ -33,42 +48,38 @@ public class TrendingMovieAdapter extends RecyclerView.Adapter<TrendingMovieAdap
     }
 
     public TrendingMovieAdapter(List<Movie> movies, OnMovieLongClickListener longClickListener) {
-        this.movies = movies;
         this.longClickListener = longClickListener;
+        setHasStableIds(true);
+        setMovies(movies);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
     }
 
     @NonNull
     @Override
     public MovieViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_movie_trending, parent, false);
+                .inflate(VIEW_TYPE, parent, false);
         return new MovieViewHolder(view);
     }
 
     @Override
     public void onBindViewHolder(@NonNull MovieViewHolder holder, int position) {
-        Movie movie = movies.get(position);
+        Movie movie = differ.getCurrentList().get(position);
 
         // Load poster with Glide
-        String posterUrl = Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath();
         Glide.with(holder.ivPoster.getContext())
-                .load(posterUrl)
+                .load(TmdbImage.poster(movie.getPosterPath()))
                 .centerCrop()
                 .placeholder(R.color.color_surface)
                 .error(R.color.color_surface)
                 .into(holder.ivPoster);
 
-        // Overlay button click listeners
-        // holder.btnFavorite.setOnClickListener(v ->
-        //         Toast.makeText(v.getContext(),
-        //                 "\"" + movie.getTitle() + "\" added to Favorites",
-        //                 Toast.LENGTH_SHORT).show());
-
-        // holder.btnWatchlist.setOnClickListener(v ->
-        //         Toast.makeText(v.getContext(),
-        //                 "\"" + movie.getTitle() + "\" added to Watchlist",
-        //                 Toast.LENGTH_SHORT).show());
-        
+        bindBadges(holder, movie);
+
         holder.itemView.setOnLongClickListener(v -> {
             if (longClickListener != null) {
                 longClickListener.onMovieLongClick(movie);
@@ -78,30 +89,61 @@ public class TrendingMovieAdapter extends RecyclerView.Adapter<TrendingMovieAdap
         });
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull MovieViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        // Several badge refreshes may have merged; anything else needs a full bind.
+        boolean badgesOnly = !payloads.isEmpty();
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_BADGES) badgesOnly = false;
+        }
+        if (badgesOnly) {
+            bindBadges(holder, differ.getCurrentList().get(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
     @Override
     public int getItemCount() {
-        return movies != null ? movies.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
-    /** Update the dataset and refresh the list. */
+    /** Update the dataset; only rows that changed are rebound. */
     public void setMovies(List<Movie> newMovies) {
-        movies.clear();
-        movies.addAll(newMovies);
-        notifyDataSetChanged();
+        differ.submitList(new ArrayList<>(newMovies));
+    }
+
+    /** Re-reads every card's favorite / watchlist badge; posters are left alone. */
+    public void refreshBadges() {
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_BADGES);
+    }
+
+    private static void bindBadges(MovieViewHolder holder, Movie movie) {
+        FirebaseRepository repo = FirebaseRepository.getInstance();
+        holder.ivBadgeFavorite.setVisibility(
+                repo.isInLibrary(FirebaseRepository.LIBRARY_FAVORITES, movie.getId()) ? View.VISIBLE : View.GONE);
+        holder.ivBadgeWatchlist.setVisibility(
+                repo.isInLibrary(FirebaseRepository.LIBRARY_WATCHLIST, movie.getId()) ? View.VISIBLE : View.GONE);
     }
 
     // ── ViewHolder ────────────────────────────────────────────────────────────
 
     static class MovieViewHolder extends RecyclerView.ViewHolder {
         final ImageView ivPoster;
-        // final ImageButton btnFavorite;
-        // final ImageButton btnWatchlist;
+        final ImageView ivBadgeFavorite;
+        final ImageView ivBadgeWatchlist;
 
         MovieViewHolder(@NonNull View itemView) {
             super(itemView);
-            ivPoster    = itemView.findViewById(R.id.iv_movie_poster);
-            // btnFavorite = itemView.findViewById(R.id.btn_favorite);
-            // btnWatchlist = itemView.findViewById(R.id.btn_watchlist);
+            ivPoster         = itemView.findViewById(R.id.iv_movie_poster);
+            ivBadgeFavorite  = itemView.findViewById(R.id.iv_badge_favorite);
+            ivBadgeWatchlist = itemView.findViewById(R.id.iv_badge_watchlist);
         }
     }
 }
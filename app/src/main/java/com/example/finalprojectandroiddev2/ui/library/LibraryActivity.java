@@ -47,6 +47,17 @@ public class LibraryActivity extends BaseActivity {
 
     private boolean isWatchlistActive = true; 
 
+    /** Sidebar name; follows profile changes until onDestroy. */
+    private FirebaseRepository.ListenerRegistration profileRegistration;
+
+    // Both libraries stay subscribed while the screen exists, so a tab switch is a
+    // memory read and changes made from the movie modal show up without a reload.
+    // null until that library's first sync.
+    private List<Movie> watchlist;
+    private List<Movie> favorites;
+    private FirebaseRepository.ListenerRegistration watchlistRegistration;
+    private FirebaseRepository.ListenerRegistration favoritesRegistration;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -129,13 +140,17 @@ public class LibraryActivity extends BaseActivity {
 
         // Sidebar user profile init
         loadUserProfile();
+
+        switchTab(isWatchlistActive);
+        observeLibraries();
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        // Always refresh the data when returning (since modal could have updated favorites/watchlist)
-        switchTab(isWatchlistActive); 
+    protected void onDestroy() {
+        if (profileRegistration != null) profileRegistration.remove();
+        if (watchlistRegistration != null) watchlistRegistration.remove();
+        if (favoritesRegistration != null) favoritesRegistration.remove();
+        super.onDestroy();
     }
 
     private void switchTab(boolean toWatchlist) {
@@ -164,43 +179,68 @@ public class LibraryActivity extends BaseActivity {
             tvInfoMessage.setText(R.string.info_favorites_showing);
         }
 
-        fetchData();
+        showActiveLibrary();
     }
 
-    private void fetchData() {
+    /**
+     * Subscribes to both libraries. Each answers at once from memory when it has synced
+     * before in this process, and then again only when an entry is added or removed.
+     */
+    private void observeLibraries() {
         FirebaseUser user = AuthRepository.getInstance().getCurrentUser();
         if (user == null) return;
-
-        pbLoading.setVisibility(View.VISIBLE);
-        rvLibraryMovies.setVisibility(View.GONE);
-
         String uid = user.getUid();
+        FirebaseRepository repo = FirebaseRepository.getInstance();
 
-        FirebaseRepository.MovieQueueCallback callback = new FirebaseRepository.MovieQueueCallback() {
-            @Override
-            public void onLoaded(List<Movie> movies) {
-                pbLoading.setVisibility(View.GONE);
-                if (movies.isEmpty()) {
-                    tvInfoMessage.setText(isWatchlistActive ? R.string.info_watchlist_empty : R.string.info_favorites_empty);
-                } else {
-                    tvInfoMessage.setText(isWatchlistActive ? R.string.info_watchlist_showing : R.string.info_favorites_showing);
-                }
-                adapter.setMovies(movies);
-                rvLibraryMovies.setVisibility(View.VISIBLE);
-            }
+        watchlistRegistration = repo.observeLibrary(uid, FirebaseRepository.LIBRARY_WATCHLIST,
+                new FirebaseRepository.MovieQueueCallback() {
+                    @Override
+                    public void onLoaded(List<Movie> movies) {
+                        watchlist = movies;
+                        if (isWatchlistActive) showActiveLibrary();
+                    }
 
-            @Override
-            public void onError(String message) {
-                pbLoading.setVisibility(View.GONE);
-                Toast.makeText(LibraryActivity.this, "Failed to load: " + message, Toast.LENGTH_SHORT).show();
-            }
-        };
+                    @Override
+                    public void onError(String message) {
+                        onLibraryError(message);
+                    }
+                });
+        favoritesRegistration = repo.observeLibrary(uid, FirebaseRepository.LIBRARY_FAVORITES,
+                new FirebaseRepository.MovieQueueCallback() {
+                    @Override
+                    public void onLoaded(List<Movie> movies) {
+                        favorites = movies;
+                        if (!isWatchlistActive) showActiveLibrary();
+                    }
 
-        if (isWatchlistActive) {
-            FirebaseRepository.getInstance().getWatchlist(uid, callback);
+                    @Override
+                    public void onError(String message) {
+                        onLibraryError(message);
+                    }
+                });
+    }
+
+    private void showActiveLibrary() {
+        List<Movie> movies = isWatchlistActive ? watchlist : favorites;
+        if (movies == null) {
+            // First sync still under way.
+            pbLoading.setVisibility(View.VISIBLE);
+            rvLibraryMovies.setVisibility(View.GONE);
+            return;
+        }
+        pbLoading.setVisibility(View.GONE);
+        if (movies.isEmpty()) {
+            tvInfoMessage.setText(isWatchlistActive ? R.string.info_watchlist_empty : R.string.info_favorites_empty);
         } else {
-            FirebaseRepository.getInstance().getFavorites(uid, callback);
+            tvInfoMessage.setText(isWatchlistActive ? R.string.info_watchlist_showing : R.string.info_favorites_showing);
         }
+        adapter.setMovies(movies);
+        rvLibraryMovies.setVisibility(View.VISIBLE);
+    }
+
+    private void onLibraryError(String message) {
+        pbLoading.setVisibility(View.GONE);
+        Toast.makeText(this, "Failed to load: " + message, Toast.LENGTH_SHORT).show();
     }
 
     // -- Sidebar & Profile --
@@ -224,7 +264,7 @@ public class LibraryActivity extends BaseActivity {
         String email = firebaseUser.getEmail() != null ? firebaseUser.getEmail() : "";
         setSidebarEmail(email);
 
-        UserRepository.getInstance().getUserProfile(firebaseUser.getUid(),
+        profileRegistration = UserRepository.getInstance().observeProfile(firebaseUser.getUid(),
                 new UserRepository.ProfileLoadCallback() {
                     @Override
                     public void onSuccess(UserProfile profile) {
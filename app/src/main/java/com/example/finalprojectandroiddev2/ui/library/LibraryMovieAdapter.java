@@ -7,16 +7,27 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import com.bumptech.glide.Glide;
 import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.repository.GenreRegistry;
+import com.example.finalprojectandroiddev2.ui.common.MovieDiffCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
+/**
+ * Favorites / watchlist grid. Each library update or tab switch submits the whole list;
+ * rows are keyed by TMDB movie ID and the change is diffed off the main thread, so only
+ * entries that were added, removed or changed are rebound.
+ */
 public class LibraryMovieAdapter extends RecyclerView.Adapter<LibraryMovieAdapter.LibraryViewHolder> {
 
-    private List<Movie> movies;
+    private final AsyncListDiffer<Movie> differ =
+            new AsyncListDiffer<>(this, MovieDiffCallback.INSTANCE);
     private final OnMovieLongClickListener longClickListener;
 
     public interface OnMovieLongClickListener {
@@ -24,13 +35,13 @@ public class LibraryMovieAdapter extends RecyclerView.Adapter<LibraryMovieAdapte
     }
 
     public LibraryMovieAdapter(List<Movie> movies, OnMovieLongClickListener longClickListener) {
-        this.movies = movies;
         this.longClickListener = longClickListener;
+        setHasStableIds(true);
+        setMovies(movies);
     }
 
     public void setMovies(List<Movie> movies) {
-        this.movies = movies;
-        notifyDataSetChanged();
+        differ.submitList(movies != null ? new ArrayList<>(movies) : new ArrayList<>());
     }
 
     @NonNull
@@ -43,21 +54,22 @@ public class LibraryMovieAdapter extends RecyclerView.Adapter<LibraryMovieAdapte
 
     @Override
     public void onBindViewHolder(@NonNull LibraryViewHolder holder, int position) {
-        Movie movie = movies.get(position);
+        Movie movie = differ.getCurrentList().get(position);
         
         holder.tvTitle.setText(movie.getTitle() != null ? movie.getTitle() : "Unknown Title");
         
-        String genres = movie.getGenreString();
+        // Entries saved with genreIds resolve through the registry; older ones carry names.
+        String genres = movie.getGenreIds() != null
+                ? GenreRegistry.getInstance().join(movie.getGenreIds(), ", ")
+                : movie.getGenreString();
         holder.tvGenres.setText(genres.isEmpty() ? "No Genres" : genres);
 
         // Backdrop or poster is wider, we prefer backdrop if available, otherwise poster
-        String imagePath = movie.getBackdropPath() != null && !movie.getBackdropPath().isEmpty() 
-            ? movie.getBackdropPath() : movie.getPosterPath();
+        TmdbImage image = TmdbImage.backdropOrPoster(movie.getBackdropPath(), movie.getPosterPath());
 
-        if (imagePath != null && !imagePath.isEmpty()) {
-            String imageUrl = "https://image.tmdb.org/t/p/w780" + imagePath;
+        if (image != null) {
             Glide.with(holder.itemView.getContext())
-                    .load(imageUrl)
+                    .load(image)
                     .placeholder(R.color.color_surface)
                     .error(R.color.color_surface)
                     .into(holder.ivPoster);
@@ -76,7 +88,12 @@ public class LibraryMovieAdapter extends RecyclerView.Adapter<LibraryMovieAdapte
 
     @Override
     public int getItemCount() {
-        return movies != null ? movies.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     static class LibraryViewHolder extends RecyclerView.ViewHolder {
@@ -26,6 +26,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Create lobby screen.
@@ -51,6 +52,9 @@ public class CreateLobbyActivity extends BaseActivity {
     private FirebaseRepository firebaseRepo;
     private MemberAdapter memberAdapter;
 
+    /** members/ and status subscriptions; released when leaving or in onDestroy. */
+    private final List<FirebaseRepository.ListenerRegistration> firebaseListeners = new ArrayList<>();
+
     private final java.util.LinkedHashMap<String, MemberAdapter.MemberItem>
             memberMap = new java.util.LinkedHashMap<>();
 
@@ -175,7 +179,7 @@ public class CreateLobbyActivity extends BaseActivity {
     // ── Firebase Listeners ─────────────────────────────────────────────────────
 
     private void attachFirebaseListeners() {
-        firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
+        firebaseListeners.add(firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
             @Override public void onMemberAdded(String userId, LobbyMember member) {
                 updateOrAddMember(userId, member);
             }
@@ -187,22 +191,29 @@ public class CreateLobbyActivity extends BaseActivity {
                 refreshAdapter();
                 updateStartButton();
             }
-        });
+        }));
 
         // Listen for status → when swiping starts, navigate as host to SwipingActivity
-        firebaseRepo.listenLobbyStatus(roomCode, status -> {
+        firebaseListeners.add(firebaseRepo.listenLobbyStatus(roomCode, status -> {
             if (Constants.LOBBY_STATUS_SWIPING.equals(status) && !sessionStarted) {
                 sessionStarted = true;
                 navigateToSwiping();
             }
-        });
+        }));
+    }
+
+    private void releaseFirebaseListeners() {
+        for (FirebaseRepository.ListenerRegistration registration : firebaseListeners) {
+            registration.remove();
+        }
+        firebaseListeners.clear();
     }
 
     // ── Member list helpers ────────────────────────────────────────────────────
 
     private void updateOrAddMember(String userId, LobbyMember member) {
         boolean isMe = userId.equals(currentUserId);
-        memberMap.put(userId, new MemberAdapter.MemberItem(
+        memberMap.put(userId, new MemberAdapter.MemberItem(userId,
                 member.getUsername(), member.getGender(), member.isHost(), true, isMe));
         refreshAdapter();
         updateStartButton();
@@ -225,6 +236,8 @@ public class CreateLobbyActivity extends BaseActivity {
         btnStartSwiping.setEnabled(false);
         // Clear any stale currentPage from a previous session BEFORE any device
         // enters SwipingActivity. The host will write the real initialPage there.
+        // Likewise drop decks shared in a previous session so members can't read one.
+        firebaseRepo.clearMovieQueue(roomCode);
         firebaseRepo.setCurrentPage(roomCode, 0);
         firebaseRepo.setLobbyStatus(roomCode, Constants.LOBBY_STATUS_SWIPING);
         // Status listener above fires for all devices
@@ -261,7 +274,7 @@ public class CreateLobbyActivity extends BaseActivity {
         if (roomCode != null) {
             firebaseRepo.removeMember(roomCode, currentUserId, null);
         }
-        firebaseRepo.detachLobbyListeners();
+        releaseFirebaseListeners();
         startActivity(new Intent(this, HomeActivity.class)
                 .addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP));
         finish();
@@ -269,9 +282,8 @@ public class CreateLobbyActivity extends BaseActivity {
 
     @Override
     protected void onDestroy() {
-        if (!sessionStarted) {
-            firebaseRepo.detachLobbyListeners();
-        }
+        // SwipingActivity re-subscribes to the same paths; the hub bridges the hand-off.
+        releaseFirebaseListeners();
         super.onDestroy();
     }
 }
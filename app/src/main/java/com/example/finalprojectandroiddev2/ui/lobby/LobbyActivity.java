@@ -53,6 +53,9 @@ public class LobbyActivity extends BaseActivity {
     private FirebaseRepository firebaseRepo;
     private MemberAdapter memberAdapter;
 
+    /** members/ and status subscriptions; released in onDestroy. */
+    private final List<FirebaseRepository.ListenerRegistration> firebaseListeners = new ArrayList<>();
+
     private final List<MemberAdapter.MemberItem> memberItems = new ArrayList<>();
 
     // ── View references ────────────────────────────────────────────────────────
@@ -151,7 +154,7 @@ public class LobbyActivity extends BaseActivity {
     private void attachFirebaseListeners() {
         progressLoading.setVisibility(View.VISIBLE);
 
-        firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
+        firebaseListeners.add(firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
             @Override public void onMemberAdded(String userId, LobbyMember member) {
                 progressLoading.setVisibility(View.GONE);
                 updateOrAddMember(userId, member);
@@ -162,15 +165,22 @@ public class LobbyActivity extends BaseActivity {
             @Override public void onMemberRemoved(String userId) {
                 removeMemberFromList(userId);
             }
-        });
+        }));
 
         // Status listener — navigate non-host members when swiping starts
-        firebaseRepo.listenLobbyStatus(roomCode, status -> {
+        firebaseListeners.add(firebaseRepo.listenLobbyStatus(roomCode, status -> {
             if (Constants.LOBBY_STATUS_SWIPING.equals(status) && !sessionStarted) {
                 sessionStarted = true;
                 navigateToSwiping();
             }
-        });
+        }));
+    }
+
+    private void releaseFirebaseListeners() {
+        for (FirebaseRepository.ListenerRegistration registration : firebaseListeners) {
+            registration.remove();
+        }
+        firebaseListeners.clear();
     }
 
     // ── Member list helpers ────────────────────────────────────────────────────
@@ -181,7 +191,7 @@ public class LobbyActivity extends BaseActivity {
 
     private void updateOrAddMember(String userId, LobbyMember member) {
         boolean isMe = userId.equals(currentUserId);
-        MemberAdapter.MemberItem item = new MemberAdapter.MemberItem(
+        MemberAdapter.MemberItem item = new MemberAdapter.MemberItem(userId,
                 member.getUsername(), member.getGender(), member.isHost(), true, isMe);
         memberMap.put(userId, item);
         refreshAdapter();
@@ -232,11 +242,13 @@ public class LobbyActivity extends BaseActivity {
         btnStartSwiping.setEnabled(false);
         // Set lobby status to "swiping" — the status listener fires on all devices
         // (including this host) and each device navigates to SwipingActivity independently.
-        // Each device fetches TMDB page 1 directly — deterministic, so all users
-        // see identical movies without any Firebase coordination needed.
+        // The host fetches each TMDB page once and shares the deck through Firebase,
+        // so all users see identical movies.
         // Clear any stale currentPage from a previous session BEFORE any device
         // enters SwipingActivity. This guarantees the listener fires with 0 first
         // (which is skipped), then the host writes the real initialPage.
+        // Likewise drop decks shared in a previous session so members can't read one.
+        firebaseRepo.clearMovieQueue(roomCode);
         firebaseRepo.setCurrentPage(roomCode, 0);
         firebaseRepo.setLobbyStatus(roomCode, Constants.LOBBY_STATUS_SWIPING);
         sessionStarted = true;
@@ -286,9 +298,9 @@ public class LobbyActivity extends BaseActivity {
 
     @Override
     protected void onDestroy() {
-        if (!sessionStarted) {
-            firebaseRepo.detachLobbyListeners();
-        }
+        // Safe even when the session started: SwipingActivity has already subscribed to
+        // the same paths, and the hub keeps them synced across the hand-off.
+        releaseFirebaseListeners();
         super.onDestroy();
     }
 }
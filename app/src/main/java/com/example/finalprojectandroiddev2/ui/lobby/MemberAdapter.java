@@ -7,6 +7,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.finalprojectandroiddev2.R;
@@ -14,22 +16,38 @@ import com.google.android.material.card.MaterialCardView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for lobby member list.
  * Each card shows the default avatar, member username, role (Host / Member),
  * the host badge indicator, and an online status dot.
+ *
+ * Members are keyed by user ID and each presence or host change is diffed, so only the
+ * row that changed rebinds instead of the whole list.
  */
 public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.ViewHolder> {
 
-    private final List<MemberItem> members = new ArrayList<>();
+    private static final DiffUtil.ItemCallback<MemberItem> DIFF = new DiffUtil.ItemCallback<MemberItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull MemberItem oldItem, @NonNull MemberItem newItem) {
+            return Objects.equals(oldItem.userId, newItem.userId);
+        }
 
-    public void setMembers(List<MemberItem> items) {
-        members.clear();
-        if (items != null) {
-            members.addAll(items);
+        @Override
+        public boolean areContentsTheSame(@NonNull MemberItem oldItem, @NonNull MemberItem newItem) {
+            return Objects.equals(oldItem.username, newItem.username)
+                    && Objects.equals(oldItem.gender, newItem.gender)
+                    && oldItem.isHost == newItem.isHost
+                    && oldItem.isOnline == newItem.isOnline
+                    && oldItem.isCurrentUser == newItem.isCurrentUser;
         }
-        notifyDataSetChanged();
+    };
+
+    private final AsyncListDiffer<MemberItem> differ = new AsyncListDiffer<>(this, DIFF);
+
+    public void setMembers(List<MemberItem> items) {
+        differ.submitList(items != null ? new ArrayList<>(items) : new ArrayList<>());
     }
 
     @NonNull
@@ -42,7 +60,7 @@ public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.ViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        MemberItem item = members.get(position);
+        MemberItem item = differ.getCurrentList().get(position);
 
         // Avatar
         holder.imageAvatar.setImageResource(R.drawable.default_user_avatar3);
@@ -75,7 +93,7 @@ public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.ViewHolder
 
     @Override
     public int getItemCount() {
-        return members.size();
+        return differ.getCurrentList().size();
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -96,18 +114,21 @@ public class MemberAdapter extends RecyclerView.Adapter<MemberAdapter.ViewHolder
     }
 
     public static class MemberItem {
+        public final String  userId;
         public final String  username;
         public final String  gender;
         public final boolean isHost;
         public final boolean isOnline;
         public final boolean isCurrentUser;
 
-        public MemberItem(String username, String gender, boolean isHost, boolean isCurrentUser) {
-            this(username, gender, isHost, true, isCurrentUser);
+        public MemberItem(String userId, String username, String gender, boolean isHost,
+                          boolean isCurrentUser) {
+            this(userId, username, gender, isHost, true, isCurrentUser);
         }
 
-        public MemberItem(String username, String gender, boolean isHost, boolean isOnline,
-                          boolean isCurrentUser) {
+        public MemberItem(String userId, String username, String gender, boolean isHost,
+                          boolean isOnline, boolean isCurrentUser) {
+            this.userId        = userId;
             this.username      = username;
             this.gender        = gender;
             this.isHost        = isHost;
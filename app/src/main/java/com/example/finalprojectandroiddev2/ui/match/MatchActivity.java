@@ -13,30 +13,26 @@ import androidx.activity.OnBackPressedCallback;
 import com.airbnb.lottie.LottieAnimationView;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.resource.bitmap.RoundedCorners;
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
 import com.example.finalprojectandroiddev2.ui.lobby.LobbyActivity;
 import com.example.finalprojectandroiddev2.ui.swiping.SwipingActivity;
 import com.example.finalprojectandroiddev2.ui.watch.WatchActivity;
 import com.example.finalprojectandroiddev2.utils.Constants;
 import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.android.material.button.MaterialButton;
-import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Displayed when the lobby reaches a unanimous Yes match.
  *
  * Flow:
- *  1. Read matchedMovieId from Firebase (set by FirebaseRepository.checkForMatch)
+ *  1. Read matchedMovieId from Firebase (set by FirebaseRepository.commitMatch)
  *  2. Fetch full movie details from TMDB /movie/{id}
  *  3. Bind poster, title, rating, release year, overview
  *  4. Play Lottie confetti celebration animation
@@ -63,6 +59,7 @@ public class MatchActivity extends BaseActivity {
     private TextView             tvOverview;
     private TextView             tvMemberCount;
     private ChipGroup            chipGroupGenres;
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(GenreChipRenderer.OUTLINED);
     private MaterialButton       btnWatchNow;
     private MaterialButton       btnFindAnother;
     private LottieAnimationView  lottieConfetti;
@@ -73,6 +70,8 @@ public class MatchActivity extends BaseActivity {
     // ── State ────────────────────────────────────────────────────────────────
 
     private FirebaseRepository firebaseRepo;
+    private FirebaseRepository.ListenerRegistration statusRegistration;
+    private FirebaseRepository.ListenerRegistration membersRegistration;
     private String             roomCode;
     private boolean            isHost;
     private String             tmdbUrl;      // built once movie details arrive
@@ -114,7 +113,7 @@ public class MatchActivity extends BaseActivity {
             // - status = "swiping"  → back to SwipingActivity
             // - status = "watching" → forward to WatchActivity
             if (!isHost) {
-                firebaseRepo.listenLobbyStatus(roomCode, status -> {
+                statusRegistration = firebaseRepo.listenLobbyStatus(roomCode, status -> {
                     if (Constants.LOBBY_STATUS_SWIPING.equals(status)) {
                         runOnUiThread(this::navigateBackToSwipingAsMember);
                     } else if (Constants.LOBBY_STATUS_WATCHING.equals(status)) {
@@ -138,6 +137,23 @@ public class MatchActivity extends BaseActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        releaseFirebaseListeners();
+        super.onDestroy();
+    }
+
+    private void releaseFirebaseListeners() {
+        if (statusRegistration != null) {
+            statusRegistration.remove();
+            statusRegistration = null;
+        }
+        if (membersRegistration != null) {
+            membersRegistration.remove();
+            membersRegistration = null;
+        }
+    }
+
     /**
      * For non-host members: navigate back to SwipingActivity when the host
      * starts a new round (status set to "swiping").
@@ -145,7 +161,7 @@ public class MatchActivity extends BaseActivity {
     private void navigateBackToSwipingAsMember() {
         if (isFinishing() || isDestroyed()) return;
         // Clean up MatchActivity listeners before leaving (members + status).
-        firebaseRepo.detachLobbyListeners();
+        releaseFirebaseListeners();
         Intent intent = new Intent(this, SwipingActivity.class);
         intent.putExtra(LobbyActivity.EXTRA_ROOM_CODE, roomCode);
         intent.putExtra(LobbyActivity.EXTRA_IS_HOST, false);
@@ -186,7 +202,7 @@ public class MatchActivity extends BaseActivity {
         });
 
         // Live updates: track members joining / leaving
-        firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
+        membersRegistration = firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
             @Override public void onMemberAdded(String userId, com.example.finalprojectandroiddev2.data.model.LobbyMember member) {
                 // Only increment if already past the initial load
                 if (maxCount > 0) { liveCount = Math.min(liveCount + 1, maxCount); updateMemberCountUi(); }
@@ -238,24 +254,17 @@ public class MatchActivity extends BaseActivity {
      * Fetches full movie details from TMDB and binds them to the UI.
      */
     private void fetchMovieDetails(int movieId) {
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService()
-                .getMovieDetails(movieId, "en-US", bearer)
-                .enqueue(new Callback<Movie>() {
-                    @Override
-                    public void onResponse(Call<Movie> call, Response<Movie> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            Logger.d(TAG, "getMovieDetails failed: " + response.code());
-                            return;
-                        }
-                        runOnUiThread(() -> bindMovie(response.body()));
-                    }
+        MovieRepository.getInstance().getMovieDetails(movieId, new MovieRepository.MovieCallback() {
+            @Override
+            public void onSuccess(Movie movie) {
+                bindMovie(movie);
+            }
 
-                    @Override
-                    public void onFailure(Call<Movie> call, Throwable t) {
-                        Logger.d(TAG, "getMovieDetails network error: " + t.getMessage());
-                    }
-                });
+            @Override
+            public void onError(String message) {
+                Logger.d(TAG, "getMovieDetails failed: " + message);
+            }
+        });
     }
 
     /**
@@ -263,15 +272,11 @@ public class MatchActivity extends BaseActivity {
      */
     private void bindMovie(Movie movie) {
         // Poster — use backdrop for full-screen hero; fall back to poster path
-        String imageUrl = movie.getBackdropPath() != null
-                ? Constants.TMDB_IMAGE_BASE_URL + movie.getBackdropPath()
-                : (movie.getPosterPath() != null
-                        ? Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath()
-                        : null);
-        if (imageUrl != null) {
+        TmdbImage image = TmdbImage.backdropOrPoster(movie.getBackdropPath(), movie.getPosterPath());
+        if (image != null) {
             int radiusPx = Math.round(16 * getResources().getDisplayMetrics().density);
             Glide.with(this)
-                    .load(imageUrl)
+                    .load(image)
                     .transform(new RoundedCorners(radiusPx))
                     .placeholder(R.drawable.ic_launcher_background)
                     .centerCrop()
@@ -291,21 +296,7 @@ public class MatchActivity extends BaseActivity {
         tvOverview.setText(movie.getOverview() != null ? movie.getOverview() : "");
 
         // Genre chips — style matches MovieCardAdapter
-        chipGroupGenres.removeAllViews();
-        if (movie.getGenres() != null) {
-            for (Movie.Genre genre : movie.getGenres()) {
-                Chip chip = new Chip(this);
-                chip.setText(genre.getName());
-                chip.setClickable(false);
-                chip.setCheckable(false);
-                chip.setChipBackgroundColorResource(android.R.color.transparent);
-                chip.setTextColor(getColor(R.color.white));
-                chip.setChipStrokeColorResource(R.color.color_text_secondary);
-                chip.setChipStrokeWidth(1.5f);
-                chip.setTextSize(11f);
-                chipGroupGenres.addView(chip);
-            }
-        }
+        genreChips.bindGenres(chipGroupGenres, movie.getGenres());
 
         // Build TMDb URL and enable watch button
         tmdbUrl = "https://www.themoviedb.org/movie/" + movie.getId();
@@ -335,7 +326,7 @@ public class MatchActivity extends BaseActivity {
                     firebaseRepo.setLobbyStatus(roomCode, Constants.LOBBY_STATUS_SWIPING);
 
                     // Clean up MatchActivity listeners before leaving (members + status).
-                    firebaseRepo.detachLobbyListeners();
+                    releaseFirebaseListeners();
 
                     Intent intent = new Intent(MatchActivity.this, SwipingActivity.class);
                     intent.putExtra(LobbyActivity.EXTRA_ROOM_CODE, roomCode);
@@ -363,7 +354,7 @@ public class MatchActivity extends BaseActivity {
     private void navigateToWatch(boolean asHost) {
         if (isFinishing() || isDestroyed()) return;
         // Clean up MatchActivity listeners before leaving (members + status).
-        firebaseRepo.detachLobbyListeners();
+        releaseFirebaseListeners();
 
         Intent intent = new Intent(this, WatchActivity.class);
         intent.putExtra(LobbyActivity.EXTRA_ROOM_CODE, roomCode);
@@ -0,0 +1,297 @@
+package com.example.finalprojectandroiddev2.ui.movies;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Paging engine behind the category list's infinite scroll.
+ *
+ * Keeps a contiguous window of TMDB pages and feeds the adapter the window's rows. From
+ * each viewport report it estimates scroll speed (rows/s) and keeps enough pages in
+ * flight ahead of the viewport to cover one page fetch at that speed, between
+ * {@code minAhead} and {@code maxAhead}. Pages are requested in parallel and
+ * may arrive in any order; they join the window only once they're adjacent to it.
+ *
+ * Memory stays bounded: past {@code maxPagesKept}, the page farthest from the viewport
+ * leaves the window (usually the oldest one behind it) and is fetched again if the
+ * user scrolls back. A movie that TMDB repeats on a later page is shown only once.
+ *
+ * Main thread only; the source must deliver on the main thread too.
+ */
+final class CategoryPager {
+
+    /** Loads one TMDB page. May deliver twice: a cached copy, then a refresh. */
+    interface PageSource {
+        void load(int page, PageCallback callback);
+    }
+
+    interface PageCallback {
+        void onPage(MovieListResponse response);
+        void onError(String message);
+    }
+
+    interface Listener {
+        /** The rows to show, in order and without duplicates, after any window change. */
+        void onRowsChanged(List<Movie> rows, int firstPage, int lastPage);
+        void onError(String message);
+    }
+
+    /** Assumed fetch time until a page has been timed. */
+    private static final double INITIAL_LATENCY_MS = 500;
+    /** Weight of the newest sample in the latency and velocity averages. */
+    private static final double SMOOTHING = 0.3;
+    /** A gap longer than this between viewport reports means scrolling had stopped. */
+    private static final long VELOCITY_RESET_MS = 500;
+    /** After a failed page, wait this long before requesting anything again. */
+    static final long RETRY_DELAY_MS = 3_000;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    /** {@link #lastFirstVisible} before the first viewport report. */
+    private static final int NO_VIEWPORT = Integer.MIN_VALUE;
+
+    private static final class Page {
+        final int number;
+        final List<Movie> movies;
+
+        Page(int number, List<Movie> movies) {
+            this.number = number;
+            this.movies = movies;
+        }
+    }
+
+    private final PageSource source;
+    private final Listener listener;
+    private final LongSupplier clock;
+    private final int minAhead;
+    private final int maxAhead;
+    private final int maxPagesKept;
+
+    private final ArrayDeque<Page> window = new ArrayDeque<>();
+    private final Map<Integer, List<Movie>> arrived = new HashMap<>();
+    private final Map<Integer, Long> inFlight = new HashMap<>();
+    private final Set<Integer> shownIds = new HashSet<>();
+    /** Bumped by {@link #start}; responses to an older generation are dropped. */
+    private int generation;
+    private int startPage = 1;
+    private int totalPages = Integer.MAX_VALUE;
+    private int firstVisiblePage = 1;
+    private int lastVisiblePage = 1;
+
+    private double latencyMs = INITIAL_LATENCY_MS;
+    private double velocity;
+    /** Row position of the last report, kept in the current window's coordinates. */
+    private int lastFirstVisible = NO_VIEWPORT;
+    private long lastViewportAt;
+    private long retryAt;
+
+    CategoryPager(PageSource source, Listener listener, LongSupplier clock,
+                  int minAhead, int maxAhead, int maxPagesKept) {
+        if (minAhead < 1 || maxAhead < minAhead || maxPagesKept < maxAhead + 2) {
+            throw new IllegalArgumentException("Need 1 <= minAhead <= maxAhead <= maxPagesKept - 2");
+        }
+        this.source = source;
+        this.listener = listener;
+        this.clock = clock;
+        this.minAhead = minAhead;
+        this.maxAhead = maxAhead;
+        this.maxPagesKept = maxPagesKept;
+    }
+
+    /** Drops everything and loads from page 1 again. */
+    void start() {
+        generation++;
+        window.clear();
+        arrived.clear();
+        inFlight.clear();
+        shownIds.clear();
+        startPage = 1;
+        totalPages = Integer.MAX_VALUE;
+        firstVisiblePage = lastVisiblePage = 1;
+        velocity = 0;
+        lastFirstVisible = NO_VIEWPORT;
+        retryAt = 0;
+        request(startPage);
+    }
+
+    /** First page in the window, or 0 before anything has loaded. */
+    int firstPage() {
+        return window.isEmpty() ? 0 : window.peekFirst().number;
+    }
+
+    int lastPage() {
+        return window.isEmpty() ? 0 : window.peekLast().number;
+    }
+
+    /** Pages requested but not delivered yet. */
+    int pagesInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Reports the visible row range (positions in the last rows delivered). Updates the
+     * velocity estimate, requests pages ahead of (or behind) the viewport, and drops
+     * pages that are far enough away.
+     */
+    void onViewport(int firstVisible, int lastVisible) {
+        if (window.isEmpty() || firstVisible < 0) return;
+        long now = clock.getAsLong();
+        if (lastFirstVisible != NO_VIEWPORT) {
+            long dt = now - lastViewportAt;
+            if (dt > VELOCITY_RESET_MS) {
+                velocity = 0;
+            } else if (dt > 0) {
+                double sample = (firstVisible - lastFirstVisible) * 1000.0 / dt;
+                velocity += SMOOTHING * (sample - velocity);
+            }
+        }
+        lastFirstVisible = firstVisible;
+        lastViewportAt = now;
+
+        firstVisiblePage = pageAt(firstVisible);
+        lastVisiblePage = pageAt(lastVisible);
+        requestAround();
+        if (trim()) publish();
+    }
+
+    /** Pages to keep loaded or in flight past the one the viewport ends in. */
+    int pagesAhead() {
+        int rows = 0;
+        for (Page page : window) rows += page.movies.size();
+        double pageSize = window.isEmpty() || rows == 0 ? DEFAULT_PAGE_SIZE : (double) rows / window.size();
+        double rowsPerFetch = Math.max(velocity, 0) * latencyMs / 1000.0;
+        int ahead = 1 + (int) Math.ceil(rowsPerFetch / pageSize);
+        return Math.max(minAhead, Math.min(maxAhead, ahead));
+    }
+
+    // ── Requests ───────────────────────────────────────────────────────────────
+
+    private void requestAround() {
+        if (window.isEmpty()) return;
+        int target = Math.min(lastVisiblePage + pagesAhead(), totalPages);
+        for (int page = lastPage() + 1; page <= target; page++) request(page);
+        // Scrolled back into the first kept page: bring back the one before it.
+        if (firstPage() > 1 && firstVisiblePage <= firstPage()) request(firstPage() - 1);
+    }
+
+    private void request(int page) {
+        if (page < 1 || page > totalPages || inFlight.containsKey(page)
+                || arrived.containsKey(page) || inWindow(page)) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (now < retryAt) return;
+        inFlight.put(page, now);
+        int requestGeneration = generation;
+        source.load(page, new PageCallback() {
+            @Override
+            public void onPage(MovieListResponse response) {
+                if (requestGeneration != generation) return;
+                Long startedAt = inFlight.remove(page);
+                // Second delivery (background refresh) of a page already taken: ignore.
+                if (startedAt == null) return;
+                latencyMs += SMOOTHING * ((clock.getAsLong() - startedAt) - latencyMs);
+                if (response.getTotalPages() > 0) totalPages = response.getTotalPages();
+                List<Movie> results = response.getResults();
+                arrived.put(page, results != null ? results : Collections.emptyList());
+                if (flush()) {
+                    trim();
+                    publish();
+                }
+                requestAround();
+            }
+
+            @Override
+            public void onError(String message) {
+                if (requestGeneration != generation || inFlight.remove(page) == null) return;
+                retryAt = clock.getAsLong() + RETRY_DELAY_MS;
+                listener.onError(message);
+            }
+        });
+    }
+
+    // ── Window ─────────────────────────────────────────────────────────────────
+
+    /** Moves arrived pages that touch the window into it. @return whether it changed */
+    private boolean flush() {
+        boolean changed = false;
+        while (true) {
+            if (window.isEmpty()) {
+                List<Movie> first = arrived.remove(startPage);
+                if (first == null) break;
+                window.addLast(new Page(startPage, distinct(first)));
+            } else if (arrived.containsKey(lastPage() + 1)) {
+                int number = lastPage() + 1;
+                window.addLast(new Page(number, distinct(arrived.remove(number))));
+            } else if (arrived.containsKey(firstPage() - 1)) {
+                int number = firstPage() - 1;
+                Page page = new Page(number, distinct(arrived.remove(number)));
+                window.addFirst(page);
+                shiftRows(page.movies.size());
+            } else {
+                break;
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    /** Drops the page farthest from the viewport until the window fits. */
+    private boolean trim() {
+        boolean changed = false;
+        while (window.size() > maxPagesKept) {
+            int behind = firstVisiblePage - firstPage();
+            int ahead = lastPage() - lastVisiblePage;
+            boolean front = behind >= ahead;
+            Page dropped = front ? window.pollFirst() : window.pollLast();
+            if (front) shiftRows(-dropped.movies.size());
+            for (Movie movie : dropped.movies) shownIds.remove(movie.getId());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Rows were added or dropped at the front, so every position moved by {@code delta}.
+     * Keeps the next velocity sample measuring the scroll, not the shift.
+     */
+    private void shiftRows(int delta) {
+        if (lastFirstVisible != NO_VIEWPORT) lastFirstVisible += delta;
+    }
+
+    private List<Movie> distinct(List<Movie> movies) {
+        List<Movie> kept = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            if (shownIds.add(movie.getId())) kept.add(movie);
+        }
+        return kept;
+    }
+
+    private void publish() {
+        List<Movie> rows = new ArrayList<>();
+        for (Page page : window) rows.addAll(page.movies);
+        listener.onRowsChanged(rows, firstPage(), lastPage());
+    }
+
+    private boolean inWindow(int page) {
+        return !window.isEmpty() && page >= firstPage() && page <= lastPage();
+    }
+
+    /** Page number of a row position in the current window; clamps to its ends. */
+    private int pageAt(int position) {
+        int start = 0;
+        for (Page page : window) {
+            start += page.movies.size();
+            if (position < start) return page.number;
+        }
+        return lastPage();
+    }
+}
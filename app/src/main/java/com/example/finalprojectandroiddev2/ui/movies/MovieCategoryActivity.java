@@ -2,6 +2,8 @@ package com.example.finalprojectandroiddev2.ui.movies;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Debug;
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -12,33 +14,34 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.FrameStatsMonitor;
 import com.example.finalprojectandroiddev2.ui.home.PopularMovieAdapter;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class MovieCategoryActivity extends BaseActivity {
 
+    private static final String TAG = "CineMatch.Category";
+
     public static final String EXTRA_CATEGORY = "extra_category";
     public static final String CATEGORY_TRENDING = "TRENDING";
     public static final String CATEGORY_POPULAR = "POPULAR";
     public static final String CATEGORY_TOP_RATED = "TOP_RATED";
 
     private String currentCategory = "";
-    private int currentPage = 1;
-    private int totalPages = 1;
-    private int totalResults = 0;
-    private boolean isLoading = false;
+    private CategoryPager pager;
+    private long peakJavaHeap;
+    private long peakNativeHeap;
+    private final FrameStatsMonitor frameStats = new FrameStatsMonitor("Category list");
 
     private PopularMovieAdapter moviesAdapter;
     private RecyclerView rvCategoryMovies;
@@ -78,6 +81,7 @@ public class MovieCategoryActivity extends BaseActivity {
             }
         );
         rvCategoryMovies.setAdapter(moviesAdapter);
+        frameStats.start(getWindow());
 
         // Infinite Scroll Listener
         rvCategoryMovies.addOnScrollListener(new RecyclerView.OnScrollListener() {
@@ -92,25 +96,22 @@ public class MovieCategoryActivity extends BaseActivity {
                     btnFabScrollTop.hide();
                 }
 
-                // Load more logic
-                if (!isLoading && currentPage < totalPages) {
-                    int visibleItemCount = layoutManager.getChildCount();
-                    int totalItemCount = layoutManager.getItemCount();
-                    int firstVisibleItemPosition = layoutManager.findFirstVisibleItemPosition();
-
-                    if ((visibleItemCount + firstVisibleItemPosition) >= totalItemCount
-                            && firstVisibleItemPosition >= 0) {
-                        isLoading = true;
-                        currentPage++;
-                        loadMovies(currentPage);
-                    }
+                // Paging: the pager keeps pages in flight ahead of (or behind) the viewport
+                if (pager != null) {
+                    pager.onViewport(layoutManager.findFirstVisibleItemPosition(),
+                            layoutManager.findLastVisibleItemPosition());
                 }
             }
         });
 
-        // FAB Click -> Scroll to top
+        // FAB Click -> Scroll to top; if page 1 has been dropped, reload from it instead
         btnFabScrollTop.setOnClickListener(v -> {
-            rvCategoryMovies.smoothScrollToPosition(0);
+            if (pager != null && pager.firstPage() > 1) {
+                pager.start();
+                rvCategoryMovies.scrollToPosition(0);
+            } else {
+                rvCategoryMovies.smoothScrollToPosition(0);
+            }
         });
 
         // Get category
@@ -135,61 +136,80 @@ public class MovieCategoryActivity extends BaseActivity {
             }
 
             if (currentCategory != null && !currentCategory.trim().isEmpty()) {
-                loadMovies(1);
+                pager = createPager();
+                pager.start();
             } else {
                 Toast.makeText(this, "Empty category", Toast.LENGTH_SHORT).show();
             }
         }
     }
 
-    private void loadMovies(int page) {
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiService api = TmdbApiClient.getService();
-        Call<MovieListResponse> call = null;
+    /**
+     * Debug-only heap sample per window change, for checking the Glide budget and the
+     * pager's page window while scrolling a long list. Bitmap pixels live in the native
+     * heap on API 26+.
+     */
+    private void logHeap(int firstPage, int lastPage, int rows) {
+        Runtime rt = Runtime.getRuntime();
+        long javaUsed   = rt.totalMemory() - rt.freeMemory();
+        long nativeUsed = Debug.getNativeHeapAllocatedSize();
+        peakJavaHeap   = Math.max(peakJavaHeap, javaUsed);
+        peakNativeHeap = Math.max(peakNativeHeap, nativeUsed);
+        Logger.d(TAG, "Pages " + firstPage + "-" + lastPage + " (" + rows + " rows, "
+                + pager.pagesInFlight() + " in flight, " + pager.pagesAhead() + " ahead): java "
+                + (javaUsed >> 20) + " MB (peak " + (peakJavaHeap >> 20) + "), native "
+                + (nativeUsed >> 20) + " MB (peak " + (peakNativeHeap >> 20) + "), genre chips "
+                + moviesAdapter.genreChipsCreated());
+    }
+
+    private CategoryPager createPager() {
+        CategoryPager.Listener listener = new CategoryPager.Listener() {
+            @Override
+            public void onRowsChanged(List<Movie> rows, int firstPage, int lastPage) {
+                moviesAdapter.setMovies(rows);
+                if (BuildConfig.DEBUG) logHeap(firstPage, lastPage, rows.size());
+            }
+
+            @Override
+            public void onError(String message) {
+                Toast.makeText(MovieCategoryActivity.this, "Network error", Toast.LENGTH_SHORT).show();
+            }
+        };
+        return new CategoryPager(this::loadPage, listener, SystemClock::uptimeMillis,
+                Constants.CATEGORY_MIN_PAGES_AHEAD, Constants.CATEGORY_MAX_PAGES_AHEAD,
+                Constants.CATEGORY_MAX_PAGES_KEPT);
+    }
+
+    private void loadPage(int page, CategoryPager.PageCallback pageCallback) {
+        MovieRepository repo = MovieRepository.getInstance();
+        MovieRepository.MovieListCallback callback = new MovieRepository.MovieListCallback() {
+            @Override
+            public void onSuccess(@NonNull MovieListResponse body) {
+                pageCallback.onPage(body);
+            }
+
+            @Override
+            public void onError(String message) {
+                pageCallback.onError(message);
+            }
+        };
 
         switch (currentCategory) {
             case CATEGORY_TRENDING:
-                call = api.getTrendingMovies("day", "en-US", page, bearer);
+                repo.getTrendingMovies("day", page, callback);
                 break;
             case CATEGORY_POPULAR:
-                call = api.getPopularMovies("en-US", page, bearer);
+                repo.getPopularMovies(page, callback);
                 break;
             case CATEGORY_TOP_RATED:
-                call = api.getTopRatedMovies("en-US", page, bearer);
+                repo.getTopRatedMovies(page, callback);
                 break;
         }
+    }
 
-        if (call != null) {
-            call.enqueue(new Callback<MovieListResponse>() {
-                @Override
-                public void onResponse(@NonNull Call<MovieListResponse> call, @NonNull Response<MovieListResponse> response) {
-                    isLoading = false;
-                    if (response.isSuccessful() && response.body() != null) {
-                        MovieListResponse body = response.body();
-                        
-                        currentPage = body.getPage();
-                        totalPages = body.getTotalPages();
-                        totalResults = body.getTotalResults();
-
-                        List<Movie> results = body.getResults();
-                        if (results != null) {
-                            if (currentPage == 1) {
-                                moviesAdapter.setMovies(results);
-                            } else {
-                                moviesAdapter.addMovies(results);
-                            }
-                        }
-                    } else {
-                        Toast.makeText(MovieCategoryActivity.this, "Failed to load movies", Toast.LENGTH_SHORT).show();
-                    }
-                }
-
-                @Override
-                public void onFailure(@NonNull Call<MovieListResponse> call, @NonNull Throwable t) {
-                    isLoading = false;
-                    Toast.makeText(MovieCategoryActivity.this, "Network error", Toast.LENGTH_SHORT).show();
-                }
-            });
-        }
+    @Override
+    protected void onDestroy() {
+        frameStats.stop();
+        super.onDestroy();
     }
 }
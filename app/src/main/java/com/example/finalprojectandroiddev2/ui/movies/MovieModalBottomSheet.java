@@ -2,7 +2,6 @@ package com.example.finalprojectandroiddev2.ui.movies;
 
 import android.app.Dialog;
 import android.content.Intent;
-import android.content.res.ColorStateList;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -17,18 +16,16 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 
 import com.bumptech.glide.Glide;
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
-import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
 import com.google.android.material.bottomsheet.BottomSheetBehavior;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 import com.google.android.material.button.MaterialButton;
-import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
@@ -39,10 +36,6 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class MovieModalBottomSheet extends BottomSheetDialogFragment {
 
     public static final String TAG = "MovieModalBottomSheet";
@@ -59,6 +52,7 @@ public class MovieModalBottomSheet extends BottomSheetDialogFragment {
     private View rowPopularity;
     private View rowReleaseDate;
     private ChipGroup chipGroupGenres;
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(GenreChipRenderer.FILLED);
     
     private MaterialButton btnViewDetails;
     private MaterialButton btnWatchlist;
@@ -155,27 +149,17 @@ public class MovieModalBottomSheet extends BottomSheetDialogFragment {
     }
 
     private void fetchMovieDetails() {
-        TmdbApiService apiService = TmdbApiClient.getService();
-        String token = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-
-        apiService.getMovieDetails(movieId, "en-US", token).enqueue(new Callback<Movie>() {
+        MovieRepository.getInstance().getMovieDetails(movieId, new MovieRepository.MovieCallback() {
             @Override
-            public void onResponse(@NonNull Call<Movie> call, @NonNull Response<Movie> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    currentMovie = response.body();
-                    populateUi(currentMovie);
-                } else {
-                    if (getContext() != null) {
-                        Toast.makeText(getContext(), "Failed to load movie details", Toast.LENGTH_SHORT).show();
-                        dismiss();
-                    }
-                }
+            public void onSuccess(@NonNull Movie movie) {
+                currentMovie = movie;
+                populateUi(currentMovie);
             }
 
             @Override
-            public void onFailure(@NonNull Call<Movie> call, @NonNull Throwable t) {
+            public void onError(String message) {
                 if (getContext() != null) {
-                    Toast.makeText(getContext(), "Network Error", Toast.LENGTH_SHORT).show();
+                    Toast.makeText(getContext(), "Failed to load movie details", Toast.LENGTH_SHORT).show();
                     dismiss();
                 }
             }
@@ -186,9 +170,8 @@ public class MovieModalBottomSheet extends BottomSheetDialogFragment {
         if (getContext() == null) return;
         
         // Poster
-        String posterUrl = Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath();
         Glide.with(this)
-                .load(posterUrl)
+                .load(TmdbImage.poster(movie.getPosterPath()))
                 .centerCrop()
                 .placeholder(R.color.color_surface)
                 .error(R.color.color_surface)
@@ -200,22 +183,7 @@ public class MovieModalBottomSheet extends BottomSheetDialogFragment {
         tvReleaseDate.setText(formatReleaseDate(movie.getReleaseDate()));
 
         // Genre chips
-        chipGroupGenres.removeAllViews();
-        List<Movie.Genre> genres = movie.getGenres();
-        if (genres != null) {
-            for (Movie.Genre genre : genres) {
-                Chip chip = new Chip(getContext());
-                chip.setText(genre.getName());
-                chip.setClickable(false);
-                chip.setCheckable(false);
-                chip.setCloseIconVisible(false);
-                chip.setChipStrokeWidth(0f);
-                chip.setTextColor(ColorStateList.valueOf(ContextCompat.getColor(getContext(), R.color.color_text_primary)));
-                chip.setChipBackgroundColor(ColorStateList.valueOf(ContextCompat.getColor(getContext(), R.color.color_surface)));
-                chip.setTextSize(11f);
-                chipGroupGenres.addView(chip);
-            }
-        }
+        genreChips.bindGenres(chipGroupGenres, movie.getGenres());
 
         // Show UI
         setUiVisibility(View.VISIBLE);
@@ -232,7 +200,9 @@ public class MovieModalBottomSheet extends BottomSheetDialogFragment {
     
     private void checkInitialLibraryStates() {
         FirebaseRepository repo = FirebaseRepository.getInstance();
-        
+        // Keeps the membership index live, so the next modal answers without a read.
+        repo.watchLibraries(currentUserUid);
+
         // Check Favorites
         repo.checkIfFavorite(currentUserUid, movieId, exists -> {
             isFavorite = exists;
@@ -3,6 +3,9 @@ package com.example.finalprojectandroiddev2.ui.movies;
 import android.content.Intent;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.view.inputmethod.EditorInfo;
 import android.widget.EditText;
@@ -16,20 +19,22 @@ import androidx.drawerlayout.widget.DrawerLayout;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
 import com.example.finalprojectandroiddev2.data.repository.AuthRepository;
+import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.data.repository.UserRepository;
 import com.example.finalprojectandroiddev2.model.UserProfile;
 import com.example.finalprojectandroiddev2.ui.auth.LoginActivity;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.SharedViewPool;
 import com.example.finalprojectandroiddev2.ui.home.PopularMovieAdapter;
 import com.example.finalprojectandroiddev2.ui.home.TopRatedMovieAdapter;
 import com.example.finalprojectandroiddev2.ui.home.TrendingMovieAdapter;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.android.material.textfield.TextInputLayout;
 
 import com.google.firebase.auth.FirebaseUser;
@@ -37,20 +42,33 @@ import com.google.firebase.auth.FirebaseUser;
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class MoviesActivity extends BaseActivity {
 
+    private static final String TAG = "CineMatch.Movies";
+
+    private static final int SECTION_TRENDING  = 1;
+    private static final int SECTION_TOP_RATED = 1 << 1;
+    private static final int SECTION_POPULAR   = 1 << 2;
+    private static final int ALL_SECTIONS = SECTION_TRENDING | SECTION_TOP_RATED | SECTION_POPULAR;
+
     private TrendingMovieAdapter trendingAdapter;
     private TopRatedMovieAdapter topRatedAdapter;
     private PopularMovieAdapter popularAdapter;
     private DrawerLayout drawerLayout;
 
+    /** Rows of all three sections come from, and are prewarmed into, one pool. */
+    private final SharedViewPool viewPool = new SharedViewPool();
+    private TypeAheadSearch searchPrefetch;
+    /** Sidebar name; follows profile changes until onDestroy. */
+    private FirebaseRepository.ListenerRegistration profileRegistration;
+    private long createdAtMs;
+    /** Bit per section that has delivered; a cached list may be followed by a refresh. */
+    private int loadedSections;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtMs = SystemClock.uptimeMillis();
         setContentView(R.layout.activity_movies);
         applyEdgeToEdgeInsets(R.id.container_movies);
 
@@ -132,6 +150,21 @@ public class MoviesActivity extends BaseActivity {
         EditText searchEdit = findViewById(R.id.edit_search_movies);
         TextView textSearchError = findViewById(R.id.text_search_error);
 
+        // Fetch page 1 as the user types, so the results screen usually opens from cache
+        searchPrefetch = new TypeAheadSearch(MovieRepository.getInstance(), null);
+        searchEdit.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchPrefetch.onQueryChanged(s);
+            }
+        });
+
         // Handle keyboard enter / search action
         searchEdit.setOnEditorActionListener((v, actionId, event) -> {
             if (actionId == EditorInfo.IME_ACTION_SEARCH) {
@@ -151,6 +184,27 @@ public class MoviesActivity extends BaseActivity {
         setupPopularMovies();
     }
 
+    @Override
+    protected void onDestroy() {
+        searchPrefetch.cancel();
+        if (profileRegistration != null) profileRegistration.remove();
+        viewPool.release();
+        super.onDestroy();
+    }
+
+    /**
+     * Called whenever a section's list (or error) arrives. The first time all three are in,
+     * logs the time since onCreate and reports the screen fully drawn, which shows up in
+     * logcat as "Fully drawn" next to the system's "Displayed" time.
+     */
+    private void onSectionLoaded(int section) {
+        if (loadedSections == ALL_SECTIONS) return;
+        loadedSections |= section;
+        if (loadedSections != ALL_SECTIONS) return;
+        Logger.d(TAG, "Sections loaded " + (SystemClock.uptimeMillis() - createdAtMs) + " ms after onCreate");
+        reportFullyDrawn();
+    }
+
     private long lastSearchTime = 0;
 
     private void performSearch(String query, TextView errorText) {
@@ -185,27 +239,27 @@ public class MoviesActivity extends BaseActivity {
                     com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.newInstance(movie.getId());
             modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
         });
+        viewPool.attach(rv);
         rv.setAdapter(trendingAdapter);
+        viewPool.prewarm(rv, TrendingMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
 
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiService api = TmdbApiClient.getService();
-        api.getTrendingMovies("day", "en-US", 18, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+        MovieRepository.getInstance().getTrendingMovies("day", 18,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            if (movies != null && movies.size() > 1) {
-                                List<Movie> reordered = new ArrayList<>(movies.subList(1, movies.size()));
-                                reordered.addAll(movies.subList(0, 1));
-                                trendingAdapter.setMovies(reordered);
-                            }
+                    public void onSuccess(MovieListResponse response) {
+                        List<Movie> movies = response.getResults();
+                        if (movies != null && movies.size() > 1) {
+                            List<Movie> reordered = new ArrayList<>(movies.subList(1, movies.size()));
+                            reordered.addAll(movies.subList(0, 1));
+                            trendingAdapter.setMovies(reordered);
                         }
+                        onSectionLoaded(SECTION_TRENDING);
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
+                    public void onError(String message) {
                         Toast.makeText(MoviesActivity.this, "Failed to load trending movies", Toast.LENGTH_SHORT).show();
+                        onSectionLoaded(SECTION_TRENDING);
                     }
                 });
     }
@@ -220,26 +274,27 @@ public class MoviesActivity extends BaseActivity {
                     com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.newInstance(movie.getId());
             modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
         });
+        viewPool.attach(rv);
         rv.setAdapter(topRatedAdapter);
+        viewPool.prewarm(rv, TopRatedMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
 
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService().getTopRatedMovies("en-US", 48, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+        MovieRepository.getInstance().getTopRatedMovies(48,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            if (movies != null && movies.size() > 9) {
-                                List<Movie> reordered = new ArrayList<>(movies.subList(9, movies.size()));
-                                reordered.addAll(movies.subList(0, 9));
-                                topRatedAdapter.setMovies(reordered);
-                            }
+                    public void onSuccess(MovieListResponse response) {
+                        List<Movie> movies = response.getResults();
+                        if (movies != null && movies.size() > 9) {
+                            List<Movie> reordered = new ArrayList<>(movies.subList(9, movies.size()));
+                            reordered.addAll(movies.subList(0, 9));
+                            topRatedAdapter.setMovies(reordered);
                         }
+                        onSectionLoaded(SECTION_TOP_RATED);
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
+                    public void onError(String message) {
                         Toast.makeText(MoviesActivity.this, "Failed to load top rated movies", Toast.LENGTH_SHORT).show();
+                        onSectionLoaded(SECTION_TOP_RATED);
                     }
                 });
     }
@@ -257,26 +312,27 @@ public class MoviesActivity extends BaseActivity {
                 modal.show(getSupportFragmentManager(), com.example.finalprojectandroiddev2.ui.movies.MovieModalBottomSheet.TAG);
             }
         );
+        viewPool.attach(rv);
         rv.setAdapter(popularAdapter);
+        viewPool.prewarm(rv, PopularMovieAdapter.VIEW_TYPE, Constants.PREWARM_LIST_ROWS);
 
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService().getPopularMovies("en-US", 36, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+        MovieRepository.getInstance().getPopularMovies(36,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            if (movies != null && movies.size() > 15) {
-                                List<Movie> reordered = new ArrayList<>(movies.subList(15, movies.size()));
-                                reordered.addAll(movies.subList(0, 15));
-                                popularAdapter.setMovies(reordered);
-                            }
+                    public void onSuccess(MovieListResponse response) {
+                        List<Movie> movies = response.getResults();
+                        if (movies != null && movies.size() > 15) {
+                            List<Movie> reordered = new ArrayList<>(movies.subList(15, movies.size()));
+                            reordered.addAll(movies.subList(0, 15));
+                            popularAdapter.setMovies(reordered);
                         }
+                        onSectionLoaded(SECTION_POPULAR);
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
+                    public void onError(String message) {
                         Toast.makeText(MoviesActivity.this, "Failed to load popular movies", Toast.LENGTH_SHORT).show();
+                        onSectionLoaded(SECTION_POPULAR);
                     }
                 });
     }
@@ -301,7 +357,7 @@ public class MoviesActivity extends BaseActivity {
         String email = firebaseUser.getEmail() != null ? firebaseUser.getEmail() : "";
         setSidebarEmail(email);
 
-        UserRepository.getInstance().getUserProfile(firebaseUser.getUid(),
+        profileRegistration = UserRepository.getInstance().observeProfile(firebaseUser.getUid(),
                 new UserRepository.ProfileLoadCallback() {
                     @Override
                     public void onSuccess(UserProfile profile) {
@@ -2,30 +2,31 @@ package com.example.finalprojectandroiddev2.ui.movies;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
 import com.example.finalprojectandroiddev2.ui.home.PopularMovieAdapter;
+import com.example.finalprojectandroiddev2.utils.Constants;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class SearchedMovieResultActivity extends BaseActivity {
 
     public static final String EXTRA_QUERY = "extra_query";
@@ -34,8 +35,14 @@ public class SearchedMovieResultActivity extends BaseActivity {
     private int currentPage = 1;
     private int totalPages = 1;
     private int totalResults = 0;
+    /** Whether the rows are a results page of currentQuery, not filtered or cleared rows. */
+    private boolean pageOnScreen;
 
     private PopularMovieAdapter moviesAdapter;
+    private TypeAheadSearch typeAhead;
+    /** Prev/next page load; cancelled when the user pages again or edits the query. */
+    @Nullable
+    private MovieRepository.PendingRequest pageRequest;
 
     private TextView textSearchContext;
     private TextView textPaginationInfo;
@@ -91,56 +98,149 @@ public class SearchedMovieResultActivity extends BaseActivity {
             }
         });
 
+        // Live search: page 1 follows the query as it is typed
+        typeAhead = new TypeAheadSearch(MovieRepository.getInstance(), new TypeAheadSearch.Listener() {
+            @Override
+            public void onLocalResults(@NonNull String query, @NonNull List<Movie> movies) {
+                moviesAdapter.setMovies(movies);
+                pageOnScreen = false;
+                showSearching(query);
+            }
+
+            @Override
+            public void onResults(@NonNull String query, @NonNull MovieListResponse response) {
+                currentQuery = query;
+                showPage(response);
+            }
+
+            @Override
+            public void onError(@NonNull String query, String message) {
+                Toast.makeText(SearchedMovieResultActivity.this, "Search failed", Toast.LENGTH_SHORT).show();
+                if (pageOnScreen) {
+                    updateUI();  // back to describing the page still on screen
+                } else {
+                    textSearchContext.setText("");
+                    updatePaginationButtons();
+                }
+            }
+        });
+
         // Initialize state
         updatePaginationButtons();
 
         // Get query
+        EditText searchEdit = findViewById(R.id.edit_search_results);
         Intent intent = getIntent();
         if (intent != null && intent.hasExtra(EXTRA_QUERY)) {
             currentQuery = intent.getStringExtra(EXTRA_QUERY);
             if (currentQuery != null && !currentQuery.trim().isEmpty()) {
-                performSearch(1);
+                searchEdit.setText(currentQuery);
+                searchEdit.setSelection(searchEdit.length());
+                typeAhead.searchNow(currentQuery);
+                onQueryInput();
             } else {
                 Toast.makeText(this, "Empty search query", Toast.LENGTH_SHORT).show();
             }
         }
+
+        // Attached after the initial text so it doesn't count as an edit
+        searchEdit.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                cancelPageRequest();
+                typeAhead.onQueryChanged(s);
+                onQueryInput();
+            }
+        });
+        searchEdit.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId == EditorInfo.IME_ACTION_SEARCH) {
+                cancelPageRequest();
+                typeAhead.searchNow(searchEdit.getText().toString());
+                onQueryInput();
+                return true;
+            }
+            return false;
+        });
     }
 
-    private void performSearch(int page) {
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiService api = TmdbApiClient.getService();
+    @Override
+    protected void onDestroy() {
+        typeAhead.cancel();
+        cancelPageRequest();
+        super.onDestroy();
+    }
+
+    /**
+     * Brings the header and page buttons in line with what the query box now holds. Until
+     * its results are in, Prev/Next stay off: they would page through the previous query.
+     */
+    private void onQueryInput() {
+        String query = typeAhead.query();
+        if (typeAhead.isPending()) {
+            showSearching(query);
+        } else if (!pageOnScreen || !query.equals(currentQuery)) {
+            // Too short to search: nothing on screen belongs to this query.
+            moviesAdapter.setMovies(new ArrayList<>());
+            pageOnScreen = false;
+            textSearchContext.setText(query.isEmpty() ? ""
+                    : getString(R.string.text_search_query_too_short, Constants.SEARCH_MIN_QUERY_LENGTH));
+            textPaginationInfo.setText("");
+        }
+        updatePaginationButtons();
+    }
+
+    private void showSearching(String query) {
+        textSearchContext.setText(getString(R.string.text_search_context_pending, query));
+        textPaginationInfo.setText("");
+    }
 
-        api.searchMovies(currentQuery, false, "en-US", page, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+    private void performSearch(int page) {
+        cancelPageRequest();
+        pageRequest = MovieRepository.getInstance().searchMovies(currentQuery, page,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            MovieListResponse body = response.body();
-                            
-                            currentPage = body.getPage();
-                            totalPages = body.getTotalPages();
-                            totalResults = body.getTotalResults();
-
-                            List<Movie> results = body.getResults();
-                            if (results != null) {
-                                moviesAdapter.setMovies(results);
-                            } else {
-                                moviesAdapter.setMovies(new ArrayList<>());
-                            }
-
-                            updateUI();
-                        } else {
-                            Toast.makeText(SearchedMovieResultActivity.this, "Search failed", Toast.LENGTH_SHORT).show();
-                        }
+                    public void onSuccess(MovieListResponse body) {
+                        pageRequest = null;
+                        showPage(body);
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
-                        Toast.makeText(SearchedMovieResultActivity.this, "Network error", Toast.LENGTH_SHORT).show();
+                    public void onError(String message) {
+                        pageRequest = null;
+                        Toast.makeText(SearchedMovieResultActivity.this, "Search failed", Toast.LENGTH_SHORT).show();
                     }
                 });
     }
 
+    private void cancelPageRequest() {
+        if (pageRequest != null) {
+            pageRequest.cancel();
+            pageRequest = null;
+        }
+    }
+
+    private void showPage(MovieListResponse body) {
+        currentPage = body.getPage();
+        totalPages = body.getTotalPages();
+        totalResults = body.getTotalResults();
+        pageOnScreen = true;
+
+        List<Movie> results = body.getResults();
+        if (results != null) {
+            moviesAdapter.setMovies(results);
+        } else {
+            moviesAdapter.setMovies(new ArrayList<>());
+        }
+
+        updateUI();
+    }
+
     private void updateUI() {
         // Context Text: "X result(s) for query 'Y'"
         String contextText = getString(R.string.text_search_context, totalResults, currentQuery);
@@ -158,11 +258,16 @@ public class SearchedMovieResultActivity extends BaseActivity {
     }
 
     private void updatePaginationButtons() {
-        btnPrevPage.setEnabled(currentPage > 1);
-        btnNextPage.setEnabled(currentPage < totalPages);
+        // Paging follows currentQuery, so only while its page is what the user sees
+        boolean canPage = pageOnScreen && !typeAhead.isPending()
+                && typeAhead.query().equals(currentQuery);
+        boolean hasPrev = canPage && currentPage > 1;
+        boolean hasNext = canPage && currentPage < totalPages;
+        btnPrevPage.setEnabled(hasPrev);
+        btnNextPage.setEnabled(hasNext);
         
         // Optional: fade alpha when disabled for better UX
-        btnPrevPage.setAlpha(currentPage > 1 ? 1.0f : 0.4f);
-        btnNextPage.setAlpha(currentPage < totalPages ? 1.0f : 0.4f);
+        btnPrevPage.setAlpha(hasPrev ? 1.0f : 0.4f);
+        btnNextPage.setAlpha(hasNext ? 1.0f : 0.4f);
     }
 }
@@ -0,0 +1,166 @@
+package com.example.finalprojectandroiddev2.ui.movies;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
+import com.example.finalprojectandroiddev2.utils.Constants;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.util.List;
+
+/**
+ * Turns keystrokes into TMDB searches for the first results page.
+ *
+ * Each change answers from memory right away when it can: the exact query if it is
+ * cached, otherwise rows filtered from a cached shorter query ("inter" → "interstellar").
+ * The request itself waits for {@link Constants#SEARCH_DEBOUNCE_MS} of quiet, and a
+ * newer query cancels the older one's in-flight call so a slow response can never
+ * overwrite fresher results.
+ *
+ * Logs keystroke-to-results latency for every delivery, split by where the rows came
+ * from, with a running mean for the network path.
+ *
+ * Main thread only. Call {@link #cancel()} from {@code onDestroy}.
+ */
+final class TypeAheadSearch {
+
+    interface Listener {
+        /** Provisional rows filtered locally; {@link #onResults} follows for the same query. */
+        void onLocalResults(@NonNull String query, @NonNull List<Movie> movies);
+        void onResults(@NonNull String query, @NonNull MovieListResponse response);
+        void onError(@NonNull String query, String message);
+    }
+
+    private static final String TAG = "CineMatch.Search";
+
+    private final MovieRepository repository;
+    @Nullable
+    private final Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable fire = this::fire;
+
+    private String query = "";
+    private long keystrokeAt;
+    private boolean debouncing;
+    @Nullable
+    private MovieRepository.PendingRequest inFlight;
+
+    private int networkSamples;
+    private long networkTotalMs;
+
+    /** With a {@code null} listener results only warm the repository's search cache. */
+    TypeAheadSearch(@NonNull MovieRepository repository, @Nullable Listener listener) {
+        this.repository = repository;
+        this.listener = listener;
+    }
+
+    /** The query the next results will be for (trimmed). */
+    @NonNull
+    String query() {
+        return query;
+    }
+
+    /** Whether results for {@link #query()} are still to come (waiting out the debounce or in flight). */
+    boolean isPending() {
+        return debouncing || inFlight != null;
+    }
+
+    /**
+     * Call from a TextWatcher on every edit. Queries shorter than
+     * {@link Constants#SEARCH_MIN_QUERY_LENGTH} only cancel what is pending.
+     */
+    void onQueryChanged(@NonNull CharSequence text) {
+        queryChanged(text, Constants.SEARCH_MIN_QUERY_LENGTH);
+    }
+
+    /**
+     * Searches {@code text} without waiting, e.g. for the keyboard's search action. An
+     * explicit submit searches any non-empty query, however short ("9", "M").
+     */
+    void searchNow(@NonNull String text) {
+        query = "";
+        queryChanged(text, 1);
+        if (debouncing) {
+            handler.removeCallbacks(fire);
+            fire();
+        }
+    }
+
+    private void queryChanged(CharSequence text, int minLength) {
+        String next = text.toString().trim();
+        if (next.equals(query)) return;
+        query = next;
+        keystrokeAt = SystemClock.uptimeMillis();
+        cancel();
+        if (next.length() < minLength) return;
+
+        MovieListResponse cached = repository.getCachedSearch(next, 1);
+        if (cached != null) {
+            deliver(next, cached, "cache");
+            return;
+        }
+        List<Movie> local = repository.filterCachedSearch(next);
+        if (local != null && listener != null) {
+            log(next, "prefix filter (" + local.size() + " rows)");
+            listener.onLocalResults(next, local);
+        }
+        debouncing = true;
+        handler.postDelayed(fire, Constants.SEARCH_DEBOUNCE_MS);
+    }
+
+    /** Drops the pending query and any call in flight. */
+    void cancel() {
+        debouncing = false;
+        handler.removeCallbacks(fire);
+        cancelInFlight();
+    }
+
+    private void fire() {
+        debouncing = false;
+        String requested = query;
+        inFlight = repository.searchMovies(requested, 1, new MovieRepository.MovieListCallback() {
+            @Override
+            public void onSuccess(@NonNull MovieListResponse response) {
+                inFlight = null;
+                deliver(requested, response, "network");
+            }
+
+            @Override
+            public void onError(String message) {
+                inFlight = null;
+                if (listener != null) listener.onError(requested, message);
+            }
+        });
+    }
+
+    private void deliver(String requested, MovieListResponse response, String source) {
+        if ("network".equals(source)) {
+            networkSamples++;
+            networkTotalMs += SystemClock.uptimeMillis() - keystrokeAt;
+            log(requested, source + ", mean " + (networkTotalMs / networkSamples)
+                    + " ms over " + networkSamples);
+        } else {
+            log(requested, source);
+        }
+        if (listener != null) listener.onResults(requested, response);
+    }
+
+    private void log(String requested, String source) {
+        Logger.d(TAG, "\"" + requested + "\": " + (SystemClock.uptimeMillis() - keystrokeAt)
+                + " ms after keystroke from " + source);
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+}
@@ -15,31 +15,29 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.core.content.ContextCompat;
 
 import com.bumptech.glide.Glide;
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiService;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
 import com.example.finalprojectandroiddev2.data.repository.AuthRepository;
+import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.data.repository.UserRepository;
 import com.example.finalprojectandroiddev2.model.UserProfile;
 import com.example.finalprojectandroiddev2.ui.auth.LoginActivity;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
+import com.example.finalprojectandroiddev2.ui.common.SharedViewPool;
 import com.example.finalprojectandroiddev2.ui.home.HomeActivity;
 import com.example.finalprojectandroiddev2.ui.home.TopRatedMovieAdapter;
 import com.example.finalprojectandroiddev2.ui.home.TrendingMovieAdapter;
-import com.google.android.material.chip.Chip;
+import com.example.finalprojectandroiddev2.utils.Constants;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseUser;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class ViewMovieActivity extends BaseActivity {
 
     public static final String EXTRA_MOVIE_ID = "extra_movie_id";
@@ -53,6 +51,12 @@ public class ViewMovieActivity extends BaseActivity {
     private TextView tvRating;
     private TextView tvOverview;
     private ChipGroup chipGroupGenres;
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(chip -> {
+        chip.setChipBackgroundColorResource(R.color.color_background); // fallback
+        chip.setTextColor(ContextCompat.getColor(chip.getContext(), R.color.color_text_primary));
+        chip.setChipStrokeColorResource(R.color.color_primary);
+        chip.setChipStrokeWidth(2f);
+    });
 
     private RecyclerView rvSimilar;
     private RecyclerView rvRecommended;
@@ -62,6 +66,10 @@ public class ViewMovieActivity extends BaseActivity {
     // Adapters
     private TopRatedMovieAdapter similarAdapter;
     private TrendingMovieAdapter recommendedAdapter;
+    /** Similar and recommended rows come from, and are prewarmed into, one pool. */
+    private final SharedViewPool viewPool = new SharedViewPool();
+    /** Sidebar name; follows profile changes until onDestroy. */
+    private FirebaseRepository.ListenerRegistration profileRegistration;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -117,7 +125,9 @@ public class ViewMovieActivity extends BaseActivity {
             MovieModalBottomSheet modal = MovieModalBottomSheet.newInstance(movie.getId());
             modal.show(getSupportFragmentManager(), MovieModalBottomSheet.TAG);
         });
+        viewPool.attach(rvSimilar);
         rvSimilar.setAdapter(similarAdapter);
+        viewPool.prewarm(rvSimilar, TopRatedMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
 
         rvRecommended.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
         recommendedAdapter = new TrendingMovieAdapter(new ArrayList<>(), movie -> {
@@ -129,27 +139,30 @@ public class ViewMovieActivity extends BaseActivity {
         // but let's try setting it anyway or remove it if it causes errors.
         // ACTUALLY the error says "cannot find symbol setOnMovieLongClickListener" 
         // so we must remove it from trending adapter
+        viewPool.attach(rvRecommended);
         rvRecommended.setAdapter(recommendedAdapter);
+        viewPool.prewarm(rvRecommended, TrendingMovieAdapter.VIEW_TYPE, Constants.PREWARM_CAROUSEL_ROWS);
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (profileRegistration != null) profileRegistration.remove();
+        viewPool.release();
+        super.onDestroy();
     }
 
     private void fetchMovieDetails(int movieId) {
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService().getMovieDetails(movieId, "en-US", bearer)
-                .enqueue(new Callback<Movie>() {
-                    @Override
-                    public void onResponse(Call<Movie> call, Response<Movie> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            populateMovieDetails(response.body());
-                        } else {
-                            Toast.makeText(ViewMovieActivity.this, "Details failed to load", Toast.LENGTH_SHORT).show();
-                        }
-                    }
+        MovieRepository.getInstance().getMovieDetails(movieId, new MovieRepository.MovieCallback() {
+            @Override
+            public void onSuccess(Movie movie) {
+                populateMovieDetails(movie);
+            }
 
-                    @Override
-                    public void onFailure(Call<Movie> call, Throwable t) {
-                        Toast.makeText(ViewMovieActivity.this, "Network error", Toast.LENGTH_SHORT).show();
-                    }
-                });
+            @Override
+            public void onError(String message) {
+                Toast.makeText(ViewMovieActivity.this, "Details failed to load", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void populateMovieDetails(Movie movie) {
@@ -165,51 +178,33 @@ public class ViewMovieActivity extends BaseActivity {
 
         tvRating.setText(String.format("%.1f", movie.getVoteAverage()));
 
-        if (movie.getBackdropPath() != null) {
+        TmdbImage hero = TmdbImage.backdropOrPoster(movie.getBackdropPath(), movie.getPosterPath());
+        if (hero != null) {
             Glide.with(this)
-                 .load("https://image.tmdb.org/t/p/w1280" + movie.getBackdropPath())
-                 .centerCrop()
-                 .into(ivBackdrop);
-        } else if (movie.getPosterPath() != null) {
-            Glide.with(this)
-                 .load("https://image.tmdb.org/t/p/w500" + movie.getPosterPath())
+                 .load(hero)
                  .centerCrop()
                  .into(ivBackdrop);
         }
 
         // Add Genre Chips
-        chipGroupGenres.removeAllViews();
-        if (movie.getGenres() != null) {
-            for (Movie.Genre genre : movie.getGenres()) {
-                Chip chip = new Chip(this);
-                chip.setText(genre.getName());
-                chip.setChipBackgroundColorResource(R.color.color_background); // fallback
-                chip.setTextColor(ContextCompat.getColor(this, R.color.color_text_primary));
-                chip.setChipStrokeColorResource(R.color.color_primary);
-                chip.setChipStrokeWidth(2f);
-                chipGroupGenres.addView(chip);
-            }
-        }
+        genreChips.bindGenres(chipGroupGenres, movie.getGenres());
     }
 
     private void fetchSimilarMovies(int movieId) {
         pbSimilar.setVisibility(View.VISIBLE);
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService().getSimilarMovies(movieId, "en-US", 1, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+        MovieRepository.getInstance().getSimilarMovies(movieId, 1,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
+                    public void onSuccess(MovieListResponse response) {
                         pbSimilar.setVisibility(View.GONE);
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> results = response.body().getResults();
-                            if (results != null) {
-                                similarAdapter.setMovies(results); 
-                            }
+                        List<Movie> results = response.getResults();
+                        if (results != null) {
+                            similarAdapter.setMovies(results);
                         }
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
+                    public void onError(String message) {
                         pbSimilar.setVisibility(View.GONE);
                     }
                 });
@@ -217,22 +212,19 @@ public class ViewMovieActivity extends BaseActivity {
 
     private void fetchRecommendedMovies(int movieId) {
         pbRecommended.setVisibility(View.VISIBLE);
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService().getRecommendedMovies(movieId, "en-US", 1, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+        MovieRepository.getInstance().getRecommendedMovies(movieId, 1,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call, Response<MovieListResponse> response) {
+                    public void onSuccess(MovieListResponse response) {
                         pbRecommended.setVisibility(View.GONE);
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> results = response.body().getResults();
-                            if (results != null) {
-                                recommendedAdapter.setMovies(results); 
-                            }
+                        List<Movie> results = response.getResults();
+                        if (results != null) {
+                            recommendedAdapter.setMovies(results);
                         }
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
+                    public void onError(String message) {
                         pbRecommended.setVisibility(View.GONE);
                     }
                 });
@@ -306,7 +298,7 @@ public class ViewMovieActivity extends BaseActivity {
         String email = firebaseUser.getEmail() != null ? firebaseUser.getEmail() : "";
         setSidebarEmail(email);
 
-        UserRepository.getInstance().getUserProfile(firebaseUser.getUid(),
+        profileRegistration = UserRepository.getInstance().observeProfile(firebaseUser.getUid(),
                 new UserRepository.ProfileLoadCallback() {
                     @Override
                     public void onSuccess(UserProfile profile) {
@@ -2,12 +2,9 @@ package com.example.finalprojectandroiddev2.ui.splash;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 
+import com.example.finalprojectandroiddev2.AppStartup;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.repository.AuthRepository;
-import com.example.finalprojectandroiddev2.data.repository.UserRepository;
 import com.example.finalprojectandroiddev2.model.UserProfile;
 import com.example.finalprojectandroiddev2.ui.auth.LoginActivity;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
@@ -19,53 +16,45 @@ import com.example.finalprojectandroiddev2.utils.Logger;
 /**
  * Splash screen with app logo and loading indicator.
  * On launch: if not authenticated → Login; if authenticated, checks profile → Onboarding (no profile) or Home.
+ *
+ * There is no fixed delay: {@link AppStartup} resolves auth and profile from process start,
+ * and the splash routes as soon as that resolution arrives. Home gets the profile name so
+ * it doesn't read it again.
  */
 public class SplashActivity extends BaseActivity {
 
-    private static final long SPLASH_DELAY_MS = 2000;
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
         applyEdgeToEdgeInsets(R.id.container_splash);
 
-        new Handler(Looper.getMainLooper()).postDelayed(this::navigateByAuthState, SPLASH_DELAY_MS);
+        AppStartup.whenResolved(this::navigateByAuthState);
     }
 
     /**
      * If not authenticated → Login. If authenticated, check users/{uid} profile → Onboarding or Home.
      */
-    private void navigateByAuthState() {
-        AuthRepository authRepository = AuthRepository.getInstance();
-        if (authRepository.getCurrentUser() == null) {
+    private void navigateByAuthState(AppStartup.Resolution resolution) {
+        if (isFinishing() || isDestroyed()) return;
+        if (resolution.uid == null) {
             Logger.d(Constants.TAG_AUTH, "Splash: not authenticated, navigating to Login");
             startActivity(clearTaskIntent(LoginActivity.class));
-            finish();
-            return;
-        }
-
-        String uid = authRepository.getCurrentUser().getUid();
-        UserRepository.getInstance().getUserProfile(uid, new UserRepository.ProfileLoadCallback() {
-            @Override
-            public void onSuccess(UserProfile profile) {
-                if (profile == null || profile.getName() == null || profile.getName().trim().isEmpty()) {
-                    Logger.d(Constants.TAG_AUTH, "Splash: no profile, navigating to Onboarding");
-                    startActivity(clearTaskIntent(OnboardingActivity.class));
-                } else {
-                    Logger.d(Constants.TAG_AUTH, "Splash: profile exists, navigating to Home");
-                    startActivity(clearTaskIntent(HomeActivity.class));
-                }
-                finish();
-            }
-
-            @Override
-            public void onError(String errorMessage) {
-                Logger.e(Constants.TAG_AUTH, "Splash: profile load failed, sending to Onboarding: " + errorMessage);
+        } else if (resolution.error != null) {
+            Logger.e(Constants.TAG_AUTH, "Splash: profile load failed, sending to Onboarding: " + resolution.error);
+            startActivity(clearTaskIntent(OnboardingActivity.class));
+        } else {
+            UserProfile profile = resolution.profile;
+            if (profile == null || profile.getName() == null || profile.getName().trim().isEmpty()) {
+                Logger.d(Constants.TAG_AUTH, "Splash: no profile, navigating to Onboarding");
                 startActivity(clearTaskIntent(OnboardingActivity.class));
-                finish();
+            } else {
+                Logger.d(Constants.TAG_AUTH, "Splash: profile exists, navigating to Home");
+                startActivity(clearTaskIntent(HomeActivity.class)
+                        .putExtra(HomeActivity.EXTRA_USER_NAME, profile.getName()));
             }
-        });
+        }
+        finish();
     }
 
     private Intent clearTaskIntent(Class<?> activityClass) {
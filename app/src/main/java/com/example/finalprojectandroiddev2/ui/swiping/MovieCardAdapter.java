@@ -4,6 +4,7 @@ import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
@@ -12,20 +13,27 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
 import com.example.finalprojectandroiddev2.R;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
-import com.example.finalprojectandroiddev2.utils.Constants;
-import com.google.android.material.chip.Chip;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
+import com.example.finalprojectandroiddev2.ui.common.MovieDiffCallback;
 import com.google.android.material.chip.ChipGroup;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * ViewPager2 adapter that displays full-screen swipeable movie cards.
@@ -43,30 +51,6 @@ import java.util.Map;
  */
 public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    // ── TMDB Genre ID → Name ──────────────────────────────────────────────────
-    private static final Map<Integer, String> GENRE_MAP = new HashMap<>();
-    static {
-        GENRE_MAP.put(28,    "Action");
-        GENRE_MAP.put(12,    "Adventure");
-        GENRE_MAP.put(16,    "Animation");
-        GENRE_MAP.put(35,    "Comedy");
-        GENRE_MAP.put(80,    "Crime");
-        GENRE_MAP.put(99,    "Documentary");
-        GENRE_MAP.put(18,    "Drama");
-        GENRE_MAP.put(10751, "Family");
-        GENRE_MAP.put(14,    "Fantasy");
-        GENRE_MAP.put(36,    "History");
-        GENRE_MAP.put(27,    "Horror");
-        GENRE_MAP.put(10402, "Music");
-        GENRE_MAP.put(9648,  "Mystery");
-        GENRE_MAP.put(10749, "Romance");
-        GENRE_MAP.put(878,   "Sci-Fi");
-        GENRE_MAP.put(10770, "TV Movie");
-        GENRE_MAP.put(53,    "Thriller");
-        GENRE_MAP.put(10752, "War");
-        GENRE_MAP.put(37,    "Western");
-    }
-
     // ── Swipe constants ───────────────────────────────────────────────────────
 
     /** Horizontal drag distance (dp) required to trigger a swipe. */
@@ -82,6 +66,9 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
     private static final int TYPE_MOVIE       = 0;
     private static final int TYPE_END_OF_DECK = 1;
 
+    /** Stable ID of the end-of-deck card; TMDB movie IDs are positive. */
+    private static final long END_OF_DECK_ID  = -1L;
+
     // ── Callbacks ─────────────────────────────────────────────────────────────
 
     /** Notified when a card is fully swiped left (No) or right (Yes). */
@@ -101,7 +88,12 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
     private int               usersDoneCount = 0;
     private int               totalUsersCount = 0;
 
+    @Nullable private PosterPrefetcher posterPrefetcher;
+    /** Shared by every card so chips move between cards instead of being re-created. */
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(GenreChipRenderer.FILLED);
+
     public void setSwipeCallback(SwipeCallback cb)         { this.swipeCallback     = cb; }
+    void setPosterPrefetcher(@Nullable PosterPrefetcher p) { this.posterPrefetcher  = p; }
     public void setEndOfDeckCallback(EndOfDeckCallback cb) { this.endOfDeckCallback = cb; }
     public void setIsHost(boolean host)                    { this.isHost           = host; }
     
@@ -118,10 +110,41 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
 
     private final List<Movie> movies = new ArrayList<>();
 
+    public MovieCardAdapter() {
+        setHasStableIds(true);
+    }
+
+    /**
+     * Replaces the deck. Cards that are still in the new deck keep their views and images;
+     * the diff runs synchronously because swipe positions must match the deck immediately.
+     */
     public void setMovies(List<Movie> newMovies) {
+        List<Movie> next = newMovies != null ? new ArrayList<>(newMovies) : new ArrayList<>();
+        if (movies.isEmpty() || next.isEmpty()) {
+            // Nothing bound to keep, or the footer card comes and goes with the deck.
+            movies.clear();
+            movies.addAll(next);
+            notifyDataSetChanged();
+            return;
+        }
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override public int getOldListSize() { return movies.size(); }
+            @Override public int getNewListSize() { return next.size(); }
+
+            @Override
+            public boolean areItemsTheSame(int oldPos, int newPos) {
+                return MovieDiffCallback.INSTANCE.areItemsTheSame(movies.get(oldPos), next.get(newPos));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPos, int newPos) {
+                return MovieDiffCallback.INSTANCE.areContentsTheSame(movies.get(oldPos), next.get(newPos));
+            }
+        });
         movies.clear();
-        if (newMovies != null) movies.addAll(newMovies);
-        notifyDataSetChanged();
+        movies.addAll(next);
+        // The end-of-deck card sits after the last movie and shifts with these updates.
+        diff.dispatchUpdatesTo(this);
     }
 
     /**
@@ -149,6 +172,36 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
         return toAdd.size();
     }
 
+    /**
+     * Sets the overview of a card that arrived without one (shared decks omit it) and
+     * rebinds that card. No-op if the movie isn't in the deck.
+     */
+    public void setOverview(int movieId, String overview) {
+        for (int i = 0; i < movies.size(); i++) {
+            Movie m = movies.get(i);
+            if (m.getId() == movieId) {
+                m.setOverview(overview);
+                notifyItemChanged(i);
+                return;
+            }
+        }
+    }
+
+    // ── Card image ────────────────────────────────────────────────────────────
+
+    /** Backdrop if the movie has one, else poster, else null (placeholder only). */
+    @Nullable
+    static TmdbImage imageFor(Movie movie) {
+        return TmdbImage.backdropOrPoster(movie.getBackdropPath(), movie.getPosterPath());
+    }
+
+    /**
+     * The request a card's image is loaded with. Bind and preload must agree on model and
+     * transformation, or the preloaded bitmap sits under a different memory-cache key.
+     */
+    static RequestBuilder<Drawable> cardImageRequest(RequestManager glide, @Nullable TmdbImage image) {
+        return glide.load(image).centerCrop();
+    }
 
     // ── Adapter ───────────────────────────────────────────────────────────────
 
@@ -183,6 +236,11 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
     @Override
     public int getItemCount() { return movies.isEmpty() ? 0 : movies.size() + 1; }
 
+    @Override
+    public long getItemId(int position) {
+        return position == movies.size() ? END_OF_DECK_ID : movies.get(position).getId();
+    }
+
     // ── EndOfDeckViewHolder ───────────────────────────────────────────────────
 
     static class EndOfDeckViewHolder extends RecyclerView.ViewHolder {
@@ -270,6 +328,13 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
             // Convert threshold dp → px once
             float density      = itemView.getContext().getResources().getDisplayMetrics().density;
             swipeThresholdPx   = SWIPE_THRESHOLD_DP * density;
+
+            // Every card has the same image size; the prefetcher decodes at exactly that.
+            ivPoster.addOnLayoutChangeListener((v, left, top, right, bottom, oldL, oldT, oldR, oldB) -> {
+                if (posterPrefetcher != null) {
+                    posterPrefetcher.onPosterSized(right - left, bottom - top);
+                }
+            });
         }
 
         void bind(Movie movie) {
@@ -286,22 +351,32 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
             tvReleaseDate.setText(formatReleaseDate(movie.getReleaseDate()));
             tvOverview.setText(movie.getOverview() != null ? movie.getOverview() : "");
 
-            buildGenreChips(itemView.getContext(), movie);
+            genreChips.bindIds(chipGroupGenres, movie.getGenreIds());
 
-            // Load image
-            String imagePath;
-            if (movie.getBackdropPath() != null && !movie.getBackdropPath().isEmpty()) {
-                imagePath = Constants.TMDB_IMAGE_BASE_URL + movie.getBackdropPath();
-            } else if (movie.getPosterPath() != null && !movie.getPosterPath().isEmpty()) {
-                imagePath = Constants.TMDB_IMAGE_BASE_URL + movie.getPosterPath();
-            } else {
-                imagePath = null;
-            }
-            Glide.with(itemView.getContext())
-                    .load(imagePath)
-                    .centerCrop()
+            // Load image — same request PosterPrefetcher preloads, so usually a memory hit
+            int movieId = movie.getId();
+            cardImageRequest(Glide.with(itemView.getContext()), imageFor(movie))
                     .placeholder(R.color.color_surface)
                     .error(R.color.color_surface)
+                    .listener(new RequestListener<Drawable>() {
+                        @Override
+                        public boolean onResourceReady(@NonNull Drawable resource,
+                                                       @NonNull Object model,
+                                                       Target<Drawable> target,
+                                                       @NonNull DataSource dataSource,
+                                                       boolean isFirstResource) {
+                            if (posterPrefetcher != null) posterPrefetcher.markReady(movieId);
+                            return false;
+                        }
+
+                        @Override
+                        public boolean onLoadFailed(@Nullable GlideException e,
+                                                    @Nullable Object model,
+                                                    @NonNull Target<Drawable> target,
+                                                    boolean isFirstResource) {
+                            return false;
+                        }
+                    })
                     .into(ivPoster);
 
             // Attach swipe + tap gesture
@@ -452,25 +527,6 @@ public class MovieCardAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
             chipGroupGenres.setVisibility(vis);
         }
 
-        // ── Genre chips ───────────────────────────────────────────────────────
-
-        private void buildGenreChips(Context ctx, Movie movie) {
-            chipGroupGenres.removeAllViews();
-            if (movie.getGenreIds() == null) return;
-            for (int id : movie.getGenreIds()) {
-                String name = GENRE_MAP.get(id);
-                if (name == null) continue;
-                Chip chip = new Chip(ctx);
-                chip.setText(name);
-                chip.setClickable(false);
-                chip.setCheckable(false);
-                chip.setChipBackgroundColorResource(R.color.color_surface);
-                chip.setTextColor(ctx.getColor(R.color.color_text_primary));
-                chip.setTextSize(11f);
-                chipGroupGenres.addView(chip);
-            }
-        }
-
         // ── Date formatting ───────────────────────────────────────────────────
 
         private String formatReleaseDate(String rawDate) {
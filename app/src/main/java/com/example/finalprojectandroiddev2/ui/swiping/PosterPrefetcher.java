@@ -0,0 +1,161 @@
+package com.example.finalprojectandroiddev2.ui.swiping;
+
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.utils.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Downloads and decodes the images of the next {@code lookahead} cards into Glide's
+ * memory cache before ViewPager2 creates those cards.
+ *
+ * Preloads use the same model, transformation and pixel size as
+ * {@link MovieCardAdapter}'s bind, so the bind is a memory-cache hit rather than a
+ * second decode. The size is only known once the first card's image view has been laid
+ * out; until then {@link #moveTo} just remembers the window. Cards that fall behind the
+ * window are cancelled.
+ *
+ * Also counts how many cards were selected before their image was ready, logged every
+ * {@link #REPORT_EVERY} cards and on {@link #release()}.
+ *
+ * Main thread only.
+ */
+final class PosterPrefetcher {
+
+    private static final String TAG = "CineMatch.Prefetch";
+    private static final int REPORT_EVERY = 20;
+
+    private final RequestManager glide;
+    private final int lookahead;
+
+    private int targetWidth;
+    private int targetHeight;
+
+    /** In-flight preloads by movie ID. */
+    private final Map<Integer, Target<Drawable>> inFlight = new HashMap<>();
+    /** Movies whose image (at the current size) is decoded and in the memory cache. */
+    private final Set<Integer> ready = new HashSet<>();
+
+    @Nullable private List<Movie> pendingMovies;
+    private int pendingPosition;
+
+    private int shown;
+    private int shownBeforeReady;
+
+    PosterPrefetcher(@NonNull RequestManager glide, int lookahead) {
+        this.glide     = glide;
+        this.lookahead = lookahead;
+    }
+
+    /** Called by the adapter when a card's image view is laid out. */
+    void onPosterSized(int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        if (width == targetWidth && height == targetHeight) return;
+        targetWidth  = width;
+        targetHeight = height;
+        // Anything preloaded at the old size is a different cache key.
+        cancelAll();
+        ready.clear();
+        if (pendingMovies != null) moveTo(pendingMovies, pendingPosition);
+    }
+
+    /** Preloads the cards after {@code position} and cancels those outside the window. */
+    void moveTo(@NonNull List<Movie> movies, int position) {
+        pendingMovies   = movies;
+        pendingPosition = position;
+        if (targetWidth == 0) return;
+
+        Map<Integer, TmdbImage> wanted = new LinkedHashMap<>();
+        int end = Math.min(movies.size(), position + lookahead + 1);
+        for (int i = Math.max(0, position + 1); i < end; i++) {
+            Movie movie = movies.get(i);
+            TmdbImage image = MovieCardAdapter.imageFor(movie);
+            if (image != null) wanted.put(movie.getId(), image);
+        }
+
+        for (Integer movieId : new HashSet<>(inFlight.keySet())) {
+            if (!wanted.containsKey(movieId)) {
+                glide.clear(inFlight.remove(movieId));
+            }
+        }
+        for (Map.Entry<Integer, TmdbImage> entry : wanted.entrySet()) {
+            int movieId = entry.getKey();
+            if (ready.contains(movieId) || inFlight.containsKey(movieId)) continue;
+            Target<Drawable> target = MovieCardAdapter.cardImageRequest(glide, entry.getValue())
+                    .listener(new PreloadListener(movieId))
+                    .preload(targetWidth, targetHeight);
+            // A memory-cache hit completes inside preload(); nothing left to track.
+            if (!ready.contains(movieId)) inFlight.put(movieId, target);
+        }
+    }
+
+    /** Called by the adapter once a bound card has its image on screen. */
+    void markReady(int movieId) {
+        ready.add(movieId);
+    }
+
+    /** Records whether the newly selected card already had its image. */
+    void onCardShown(int movieId) {
+        shown++;
+        if (!ready.contains(movieId)) shownBeforeReady++;
+        if (shown % REPORT_EVERY == 0) report();
+    }
+
+    /** Cancels every preload and logs the final miss rate. */
+    void release() {
+        cancelAll();
+        pendingMovies = null;
+        if (shown > 0) report();
+    }
+
+    private void cancelAll() {
+        for (Target<Drawable> target : inFlight.values()) glide.clear(target);
+        inFlight.clear();
+    }
+
+    private void report() {
+        Logger.d(TAG, "Cards shown before their image was ready: " + shownBeforeReady + "/"
+                + shown + " (" + (100 * shownBeforeReady / shown) + "%)");
+    }
+
+    private final class PreloadListener implements RequestListener<Drawable> {
+        private final int movieId;
+
+        PreloadListener(int movieId) {
+            this.movieId = movieId;
+        }
+
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                       Target<Drawable> target, @NonNull DataSource dataSource,
+                                       boolean isFirstResource) {
+            ready.add(movieId);
+            if (inFlight.get(movieId) == target) inFlight.remove(movieId);
+            return false;
+        }
+
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                    @NonNull Target<Drawable> target, boolean isFirstResource) {
+            if (inFlight.get(movieId) == target) inFlight.remove(movieId);
+            Logger.w(TAG, "Preload failed for movie " + movieId);
+            return false;
+        }
+    }
+}
@@ -2,23 +2,25 @@ package com.example.finalprojectandroiddev2.ui.swiping;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.activity.OnBackPressedCallback;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.viewpager2.widget.CompositePageTransformer;
 import androidx.viewpager2.widget.MarginPageTransformer;
 import androidx.viewpager2.widget.ViewPager2;
 
-import com.example.finalprojectandroiddev2.BuildConfig;
+import com.bumptech.glide.Glide;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
 import com.example.finalprojectandroiddev2.data.model.LobbyMember;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
 import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
 import com.example.finalprojectandroiddev2.ui.home.HomeActivity;
 import com.example.finalprojectandroiddev2.ui.lobby.LobbyActivity;
@@ -28,22 +30,21 @@ import com.example.finalprojectandroiddev2.utils.LobbyPrefs;
 import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.firebase.auth.FirebaseAuth;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Swiping screen: displays a full-screen ViewPager2 deck of movie cards.
  *
- * Every device fetches the same TMDB endpoint (trending/day, page 1) directly.
- * Because page 1 is deterministic and identical for all clients at a given moment,
- * all users in the same lobby see the same movies in the same order — no Firebase
- * coordination required for the movie list itself.
+ * Only the host talks to TMDB. It fetches each trending page once, writes the deck to
+ * lobbies/{roomCode}/movies/{page} and then broadcasts currentPage; members read that
+ * deck from Firebase, so every device shows the same movies in the same order without
+ * N identical TMDB calls. A member whose deck doesn't arrive in time falls back to
+ * fetching the page itself.
  */
 public class SwipingActivity extends BaseActivity {
 
@@ -68,9 +69,28 @@ public class SwipingActivity extends BaseActivity {
     /** Tracks whether the first batch of movies has been loaded (setMovies vs appendMovies). */
     private boolean                          initialLoadDone = false;
 
+    /** Page, status and members subscriptions held for the whole screen. */
+    private final List<FirebaseRepository.ListenerRegistration> firebaseListeners = new ArrayList<>();
+    /** Swapped whenever the page changes. */
+    private FirebaseRepository.ListenerRegistration endOfDeckRegistration;
+    /** Vote subscriptions for the visible card and the next few; null in solo sessions. */
+    private VoteSyncWindow                   voteWindow;
+    /** Decodes the next few cards' images ahead of ViewPager2. */
+    private PosterPrefetcher                 posterPrefetcher;
+    /** Movie whose page-selected → status-bar latency is still being timed (0 = none). */
+    private int                              timedMovieId;
+    private long                             pageSelectedAtMs;
+    /** For the time-to-first-card log. */
+    private long                             createdAtMs;
+    /** TMDB trending page each deck movie came from, for hydrating overviews a page at a time. */
+    private final Map<Integer, Integer>      deckPageOf = new HashMap<>();
+    /** Movies whose overview is being looked up, so re-selecting a card doesn't ask again. */
+    private final Set<Integer>               overviewRequested = new HashSet<>();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtMs = SystemClock.elapsedRealtime();
         setContentView(R.layout.activity_swiping);
         applyEdgeToEdgeInsets(R.id.container_swiping);
 
@@ -105,10 +125,12 @@ public class SwipingActivity extends BaseActivity {
 
         // ── Firebase-driven movie loading ────────────────────────────────────
         // ALL devices listen for currentPage changes via listenForPageChanges().
-        // Members react to every change by fetching the TMDB page.
-        // The HOST fetches locally (in onCreate + loadMoreMovies) and writes to
-        // Firebase so members' listeners fire.
+        // Members react to every change by reading that page's shared deck.
+        // The HOST fetches TMDB (in onCreate + loadMoreMovies), writes the deck and
+        // then currentPage to Firebase so members' listeners fire.
         if (roomCode != null && !roomCode.isEmpty()) {
+            voteWindow = new VoteSyncWindow(firebaseRepo, roomCode,
+                    Constants.VOTE_SYNC_LOOKAHEAD, this::onWindowVotesChanged);
             listenForPageChanges();
 
             if (isHost) {
@@ -123,12 +145,7 @@ public class SwipingActivity extends BaseActivity {
                 }
 
                 currentPage = initialPage;
-
-                // Host fetches movies locally (no dependency on Firebase callback)
-                fetchMoviesForPage(initialPage);
-
-                // Broadcast to Firebase so member listeners fire
-                firebaseRepo.setCurrentPage(roomCode, initialPage);
+                publishHostPage(initialPage);
             }
         }
 
@@ -150,6 +167,8 @@ public class SwipingActivity extends BaseActivity {
 
     private void setupViewPager() {
         movieCardAdapter = new MovieCardAdapter();
+        posterPrefetcher = new PosterPrefetcher(Glide.with(this), Constants.POSTER_PREFETCH_LOOKAHEAD);
+        movieCardAdapter.setPosterPrefetcher(posterPrefetcher);
         viewPagerMovies.setAdapter(movieCardAdapter);
 
         // Route swipe gestures through the same Yes/No handlers as the buttons.
@@ -178,15 +197,19 @@ public class SwipingActivity extends BaseActivity {
         });
         viewPagerMovies.setPageTransformer(transformer);
 
-        // Re-attach the vote listener for the current card on page change.
+        // Slide the vote window along with the current card.
         viewPagerMovies.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
             @Override
             public void onPageSelected(int position) {
                 // Only sync votes for real movie cards (not the end-of-deck card)
                 if (currentMovies != null && position < currentMovies.size()) {
-                    int movieId = currentMovies.get(position).getId();
+                    hydrateOverviews(position);
+                    posterPrefetcher.onCardShown(currentMovies.get(position).getId());
+                    posterPrefetcher.moveTo(currentMovies, position);
                     if (roomCode != null && !roomCode.isEmpty()) {
-                        attachVoteSyncForMovie(movieId);
+                        timedMovieId     = currentMovies.get(position).getId();
+                        pageSelectedAtMs = SystemClock.elapsedRealtime();
+                        syncVoteWindow(position);
                         firebaseRepo.markEndOfDeck(roomCode, currentPage, currentUserId, false);
                     }
                     layoutSwipeControls.setVisibility(View.VISIBLE);
@@ -315,19 +338,12 @@ public class SwipingActivity extends BaseActivity {
 
     /**
      * Host-only: fetch the next TMDB page, append unique movies to the adapter,
-     * broadcast the page number via Firebase, and hide the overlay.
+     * share the deck and broadcast the page number via Firebase.
      */
     private void loadMoreMovies() {
         currentPage++;
         Logger.d(TAG, "loadMoreMovies → fetching page " + currentPage);
-
-        // 1. Host fetches movies locally (guaranteed to work — no Firebase dependency)
-        fetchMoviesForPage(currentPage);
-
-        // 2. Broadcast the new page to Firebase so members' listeners fire
-        if (roomCode != null && !roomCode.isEmpty()) {
-            firebaseRepo.setCurrentPage(roomCode, currentPage);
-        }
+        publishHostPage(currentPage);
     }
 
     /**
@@ -336,104 +352,241 @@ public class SwipingActivity extends BaseActivity {
      *
      * Flow:
      *  1. LobbyActivity resets currentPage to 0 before starting the session.
-     *  2. Host writes initialPage to Firebase in onCreate().
-     *  3. This listener fires on ALL devices with the new page → TMDB fetch.
-     *  4. Host clicks "Load More" → writes currentPage+1 → listener fires again.
+     *  2. Host fetches initialPage, writes its deck, then writes currentPage.
+     *  3. This listener fires on ALL devices; members read the shared deck.
+     *  4. Host clicks "Load More" → same publish for currentPage+1 → listener fires again.
      *
      * Guards: page <= 0 (sentinel/invalid) and page == currentPage (echo/duplicate).
      */
     private void listenForPageChanges() {
         if (roomCode == null || roomCode.isEmpty()) return;
-        firebaseRepo.listenCurrentPage(roomCode, page -> {
+        firebaseListeners.add(firebaseRepo.listenCurrentPage(roomCode, page -> {
             Logger.d(TAG, "listenForPageChanges → received page=" + page
                     + ", currentPage=" + currentPage + ", isHost=" + isHost);
 
             // Skip sentinel (0) and any echo of a value we already processed
             if (page <= 0 || page == currentPage) return;
 
-            // Host already fetched in loadMoreMovies() — just update tracking
+            // Host already fetched in publishHostPage() — just update tracking
             if (isHost) {
                 currentPage = page;
                 return;
             }
 
-            // Member: update tracking and fetch movies
+            // Member: update tracking and load the host's deck
             currentPage = page;
-            fetchMoviesForPage(page);
+            loadSharedPage(page);
+        }));
+    }
+
+    /**
+     * Host: the one TMDB fetch for this page. Shows it locally, writes the deck to
+     * Firebase and only then broadcasts currentPage, so members' reads find it.
+     */
+    private void publishHostPage(int page) {
+        listenEndOfDeck(page);
+        MovieRepository.getInstance().getTrendingMoviesForDeck("day", page,
+                new MovieRepository.MovieListCallback() {
+                    @Override
+                    public void onSuccess(MovieListResponse response) {
+                        List<Movie> movies = response.getResults() != null
+                                ? response.getResults() : new ArrayList<>();
+                        showPage(page, movies, "tmdb");
+                        firebaseRepo.saveMovieQueue(roomCode, page, movies,
+                                new FirebaseRepository.SimpleCallback() {
+                                    @Override public void onSuccess() {
+                                        firebaseRepo.setCurrentPage(roomCode, page);
+                                    }
+                                    @Override public void onFailure(String message) {
+                                        // Members will time out waiting and fetch TMDB themselves.
+                                        firebaseRepo.setCurrentPage(roomCode, page);
+                                    }
+                                });
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Logger.e(TAG, "TMDB fetch error (page " + page + "): " + message);
+                        Toast.makeText(SwipingActivity.this,
+                                "Could not load movies. Try again.",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    /** Member: read the host's deck for this page, or fetch TMDB if it never shows up. */
+    private void loadSharedPage(int page) {
+        listenEndOfDeck(page);
+        firebaseRepo.listenMovieQueue(roomCode, page, Constants.DECK_QUEUE_WAIT_MS,
+                new FirebaseRepository.MovieQueueCallback() {
+                    @Override
+                    public void onLoaded(List<Movie> movies) {
+                        if (isFinishing() || isDestroyed()) return;
+                        showPage(page, movies, "shared deck");
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        if (isFinishing() || isDestroyed()) return;
+                        Logger.w(TAG, "Shared deck unavailable (page " + page + "): "
+                                + message + " — fetching TMDB directly");
+                        fetchPageFromTmdb(page);
+                    }
+                });
+    }
+
+    /** Member fallback: the pre-shared-deck behaviour of fetching the page directly. */
+    private void fetchPageFromTmdb(int page) {
+        MovieRepository.getInstance().getTrendingMoviesForDeck("day", page,
+                new MovieRepository.MovieListCallback() {
+                    @Override
+                    public void onSuccess(MovieListResponse response) {
+                        showPage(page, response.getResults() != null
+                                ? response.getResults() : new ArrayList<>(), "tmdb fallback");
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Logger.e(TAG, "TMDB fetch error (page " + page + "): " + message);
+                        Toast.makeText(SwipingActivity.this,
+                                "Could not load movies. Try again.",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    private void listenEndOfDeck(int page) {
+        if (roomCode == null || roomCode.isEmpty()) return;
+        if (endOfDeckRegistration != null) endOfDeckRegistration.remove();
+        endOfDeckRegistration = firebaseRepo.listenEndOfDeckForPage(roomCode, page, voterUids -> {
+            int doneCount = voterUids.size();
+            int totalCount = memberMap != null ? memberMap.size() : 0;
+            runOnUiThread(() -> {
+                movieCardAdapter.setEndOfDeckProgress(doneCount, totalCount);
+            });
         });
     }
 
     /**
-     * Fetches trending movies for the given TMDB page.
+     * Puts one page of the deck on screen.
      * First call uses setMovies() (replaces adapter); subsequent calls use appendMovies().
-     * Called by listenForPageChanges() on ALL devices (host + member) identically.
      */
-    private void fetchMoviesForPage(int page) {
-        if (roomCode != null && !roomCode.isEmpty()) {
-            firebaseRepo.listenEndOfDeckForPage(roomCode, page, voterUids -> {
-                int doneCount = voterUids.size();
-                int totalCount = memberMap != null ? memberMap.size() : 0;
-                runOnUiThread(() -> {
-                    movieCardAdapter.setEndOfDeckProgress(doneCount, totalCount);
-                });
+    private void showPage(int page, List<Movie> movies, String source) {
+        for (Movie movie : movies) deckPageOf.put(movie.getId(), page);
+        if (!initialLoadDone) {
+            // ── First load: replace the entire adapter ────────
+            // Copy: the repository caches the response list itself.
+            currentMovies = new ArrayList<>(movies);
+            movieCardAdapter.setMovies(movies);
+            initialLoadDone = true;
+            Logger.d(TAG, "Initial load: " + movies.size() + " movies (page " + page
+                    + ", " + source + "), first card after "
+                    + (SystemClock.elapsedRealtime() - createdAtMs) + " ms");
+            // Kick off vote sync if memberMap is ready
+            if (!memberMap.isEmpty() && !movies.isEmpty()) {
+                syncVoteWindow(0);
+            }
+            hydrateOverviews(0);
+            posterPrefetcher.moveTo(currentMovies, 0);
+        } else {
+            // ── Load more: append to existing deck ────────────
+            int firstNewPos = currentMovies.size();
+            int added = movieCardAdapter.appendMovies(movies);
+            currentMovies.addAll(movies);
+            Logger.d(TAG, "Appended " + added + " movies (page " + page + ", " + source + ")");
+            // Extend the window if it was clipped by the old deck end.
+            syncVoteWindow(viewPagerMovies.getCurrentItem());
+            posterPrefetcher.moveTo(currentMovies, viewPagerMovies.getCurrentItem());
+            if (added > 0) {
+                viewPagerMovies.post(() ->
+                        viewPagerMovies.setCurrentItem(firstNewPos, true));
+            }
+        }
+    }
+
+    /**
+     * Shared decks arrive without overviews (see DeckCodec). Hydrates the visible card and
+     * the next one only, so members never look up text for cards nobody reaches:
+     *   1. The local cache — any catalog row has the overview, including rows stored from
+     *      a list page (Home's trending carousel, an earlier session of the same deck).
+     *   2. The card's trending page, once per page: one call fills the catalog for every
+     *      card on it, as the pre-shared-deck flow did.
+     *   3. /movie/{id}, only if the page no longer lists the movie (trending has moved).
+     */
+    private void hydrateOverviews(int position) {
+        if (currentMovies == null) return;
+        int end = Math.min(currentMovies.size(), position + 2);
+        for (int i = position; i < end; i++) {
+            Movie movie = currentMovies.get(i);
+            if (movie.getOverview() != null && !movie.getOverview().isEmpty()) continue;
+            if (!overviewRequested.add(movie.getId())) continue;
+            MovieRepository.getInstance().getCachedOverview(movie.getId(), overview -> {
+                if (isFinishing() || isDestroyed()) return;
+                if (overview != null) {
+                    applyOverview(movie, overview);
+                } else {
+                    hydrateFromDeckPage(movie);
+                }
             });
         }
-        
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService()
-                .getTrendingMovies("day", "en-US", page, bearer)
-                .enqueue(new Callback<MovieListResponse>() {
+    }
+
+    private void hydrateFromDeckPage(Movie movie) {
+        Integer page = deckPageOf.get(movie.getId());
+        if (page == null) {
+            hydrateFromDetails(movie);
+            return;
+        }
+        // Memory-cached after the first card of the page, and coalesced while in flight.
+        MovieRepository.getInstance().getTrendingMoviesForDeck("day", page,
+                new MovieRepository.MovieListCallback() {
                     @Override
-                    public void onResponse(Call<MovieListResponse> call,
-                                           Response<MovieListResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<Movie> movies = response.body().getResults();
-                            runOnUiThread(() -> {
-                                if (!initialLoadDone) {
-                                    // ── First load: replace the entire adapter ────────
-                                    currentMovies = movies;
-                                    movieCardAdapter.setMovies(movies);
-                                    initialLoadDone = true;
-                                    Logger.d(TAG, "Initial load: " + movies.size()
-                                            + " movies (page " + page + ")");
-                                    // Kick off vote sync if memberMap is ready
-                                    if (!memberMap.isEmpty() && !movies.isEmpty()) {
-                                        attachVoteSyncForMovie(movies.get(0).getId());
-                                    }
-                                } else {
-                                    // ── Load more: append to existing deck ────────────
-                                    int firstNewPos = currentMovies.size();
-                                    int added = movieCardAdapter.appendMovies(movies);
-                                    if (movies != null) currentMovies.addAll(movies);
-                                    Logger.d(TAG, "Appended " + added
-                                            + " movies (page " + page + ")");
-                                    if (added > 0) {
-                                        viewPagerMovies.post(() ->
-                                                viewPagerMovies.setCurrentItem(firstNewPos, true));
-                                    }
+                    public void onSuccess(@NonNull MovieListResponse response) {
+                        if (isFinishing() || isDestroyed()) return;
+                        if (response.getResults() != null) {
+                            for (Movie listed : response.getResults()) {
+                                if (listed.getId() == movie.getId() && listed.getOverview() != null
+                                        && !listed.getOverview().isEmpty()) {
+                                    applyOverview(movie, listed.getOverview());
+                                    return;
                                 }
-                            });
-                        } else {
-                            Logger.w(TAG, "TMDB fetch failed: HTTP " + response.code()
-                                    + " (page " + page + ")");
-                            runOnUiThread(() ->
-                                    Toast.makeText(SwipingActivity.this,
-                                            "Could not load movies. Try again.",
-                                            Toast.LENGTH_SHORT).show());
+                            }
                         }
+                        hydrateFromDetails(movie);
                     }
 
                     @Override
-                    public void onFailure(Call<MovieListResponse> call, Throwable t) {
-                        Logger.e(TAG, "TMDB fetch error (page " + page + "): " + t.getMessage());
-                        runOnUiThread(() ->
-                                Toast.makeText(SwipingActivity.this,
-                                        "Network error. Please try again.",
-                                        Toast.LENGTH_SHORT).show());
+                    public void onError(String message) {
+                        if (isFinishing() || isDestroyed()) return;
+                        hydrateFromDetails(movie);
+                    }
+                });
+    }
+
+    private void hydrateFromDetails(Movie movie) {
+        int movieId = movie.getId();
+        MovieRepository.getInstance().getMovieDetails(movieId,
+                new MovieRepository.MovieCallback() {
+                    @Override
+                    public void onSuccess(@NonNull Movie details) {
+                        if (isFinishing() || isDestroyed()) return;
+                        applyOverview(movie, details.getOverview());
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Logger.w(TAG, "Overview for movie " + movieId + " unavailable: " + message);
+                        // Let the next visit to this card try again.
+                        overviewRequested.remove(movieId);
                     }
                 });
     }
 
+    private void applyOverview(Movie movie, String overview) {
+        movie.setOverview(overview);
+        movieCardAdapter.setOverview(movie.getId(), overview);
+    }
+
     // ── Real-time vote sync (Phase 7.4) ──────────────────────────────────────────
 
     /**
@@ -447,14 +600,14 @@ public class SwipingActivity extends BaseActivity {
         }
 
         // Live updates: track members via listenMembers to detect if count drops < 2
-        firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
+        firebaseListeners.add(firebaseRepo.listenMembers(roomCode, new FirebaseRepository.MembersCallback() {
             @Override
             public void onMemberAdded(String userId, LobbyMember member) {
                 memberMap.put(userId, member);
                 movieCardAdapter.setIsHost(isHost);
-                // On initial load, start listening to votes for card 0
+                // On initial load, start listening to votes for the first cards
                 if (currentMovies != null && !currentMovies.isEmpty()) {
-                    attachVoteSyncForMovie(currentMovies.get(0).getId());
+                    syncVoteWindow(viewPagerMovies.getCurrentItem());
                 }
             }
 
@@ -471,7 +624,7 @@ public class SwipingActivity extends BaseActivity {
                     runOnUiThread(SwipingActivity.this::handleNotEnoughMembers);
                 }
             }
-        });
+        }));
     }
 
     /**
@@ -495,14 +648,39 @@ public class SwipingActivity extends BaseActivity {
     }
 
     /**
-     * Attaches (or re-attaches) the real-time vote listener for a specific movie.
-     * Called both after members load and on every onPageSelected event.
+     * Moves the vote window to {@code position} and renders the card's votes right away
+     * from whatever the window has already synced.
      */
-    private void attachVoteSyncForMovie(int movieId) {
-        if (roomCode == null || roomCode.isEmpty()) return;
-        firebaseRepo.listenVotesForMovie(roomCode, movieId, voterUids ->
-                runOnUiThread(() -> updateVoteStatusBar(voterUids, memberMap.size()))
-        );
+    private void syncVoteWindow(int position) {
+        if (voteWindow == null || currentMovies == null || position >= currentMovies.size()) {
+            return;
+        }
+        voteWindow.moveTo(currentMovies, position);
+
+        int movieId = currentMovies.get(position).getId();
+        Set<String> voters = voteWindow.votersFor(movieId);
+        updateVoteStatusBar(voters != null ? voters : java.util.Collections.emptySet(),
+                memberMap.size());
+        if (voters != null) logVoteStatusLatency(movieId, "prefetched");
+    }
+
+    /** Window callback: only the visible card's changes reach the status bar. */
+    private void onWindowVotesChanged(int movieId, Set<String> voterUids) {
+        int position = viewPagerMovies.getCurrentItem();
+        if (currentMovies == null || position >= currentMovies.size()
+                || currentMovies.get(position).getId() != movieId) {
+            return;
+        }
+        runOnUiThread(() -> updateVoteStatusBar(voterUids, memberMap.size()));
+        logVoteStatusLatency(movieId, "network");
+    }
+
+    /** Logs page-selected → status-bar time once per selected card. */
+    private void logVoteStatusLatency(int movieId, String source) {
+        if (timedMovieId != movieId) return;
+        timedMovieId = 0;
+        Logger.d(TAG, "Vote status for movie " + movieId + " ready in "
+                + (SystemClock.elapsedRealtime() - pageSelectedAtMs) + " ms (" + source + ")");
     }
 
     /**
@@ -545,11 +723,11 @@ public class SwipingActivity extends BaseActivity {
      */
     private void listenForMatch() {
         if (roomCode == null || roomCode.isEmpty()) return;
-        firebaseRepo.listenLobbyStatus(roomCode, status -> {
+        firebaseListeners.add(firebaseRepo.listenLobbyStatus(roomCode, status -> {
             if (Constants.LOBBY_STATUS_MATCHED.equals(status)) {
                 runOnUiThread(this::navigateToMatch);
             }
-        });
+        }));
     }
 
     private void navigateToMatch() {
@@ -565,10 +743,16 @@ public class SwipingActivity extends BaseActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        // Detach only swiping-owned listeners (votes + page). Do not detach status here,
-        // because MatchActivity may attach a status listener while this activity is finishing.
-        firebaseRepo.detachSwipingListeners();
+        // Releases only this screen's subscriptions. MatchActivity's own status/members
+        // subscriptions on the same paths keep them synced through the hub.
+        for (FirebaseRepository.ListenerRegistration registration : firebaseListeners) {
+            registration.remove();
+        }
+        firebaseListeners.clear();
+        if (voteWindow != null) voteWindow.release();
+        if (posterPrefetcher != null) posterPrefetcher.release();
+        if (endOfDeckRegistration != null) endOfDeckRegistration.remove();
     }
 
-    // ── TMDB fetch (fetchMoviesForPage) is defined above, near listenForPageChanges ──
+    // ── Deck loading (publishHostPage / loadSharedPage) is defined above, near listenForPageChanges ──
 }
@@ -0,0 +1,91 @@
+package com.example.finalprojectandroiddev2.ui.swiping;
+
+import androidx.annotation.Nullable;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps vote subscriptions open for the visible card and the next {@code lookahead} cards.
+ *
+ * Moving the window only diffs the subscriptions: cards that stay in range keep their
+ * listener and their locally held voter set, new cards are subscribed, cards that fell
+ * out are released. By the time a card is selected its votes have usually been synced
+ * already, so the status bar can render from {@link #votersFor(int)} without waiting
+ * for a round-trip.
+ */
+final class VoteSyncWindow {
+
+    interface Listener {
+        /** Voter set changed for a movie inside the window (main thread). */
+        void onVotesChanged(int movieId, Set<String> voterUserIds);
+    }
+
+    private final FirebaseRepository firebaseRepo;
+    private final String roomCode;
+    private final int lookahead;
+    private final Listener listener;
+
+    private final Map<Integer, FirebaseRepository.ListenerRegistration> registrations = new HashMap<>();
+    /** Last voter set per movie; absent until that movie's first sync arrives. */
+    private final Map<Integer, Set<String>> voters = new HashMap<>();
+
+    VoteSyncWindow(FirebaseRepository firebaseRepo, String roomCode, int lookahead,
+                   Listener listener) {
+        this.firebaseRepo = firebaseRepo;
+        this.roomCode     = roomCode;
+        this.lookahead    = lookahead;
+        this.listener     = listener;
+    }
+
+    /** Re-centres the window on {@code position} in the current deck. */
+    void moveTo(List<Movie> movies, int position) {
+        Set<Integer> wanted = new LinkedHashSet<>();
+        int end = Math.min(movies.size(), position + lookahead + 1);
+        for (int i = Math.max(0, position); i < end; i++) {
+            wanted.add(movies.get(i).getId());
+        }
+
+        for (Integer movieId : new HashSet<>(registrations.keySet())) {
+            if (!wanted.contains(movieId)) {
+                registrations.remove(movieId).remove();
+                voters.remove(movieId);
+            }
+        }
+        for (Integer movieId : wanted) {
+            if (registrations.containsKey(movieId)) continue;
+            registrations.put(movieId, firebaseRepo.listenVotesForMovie(roomCode, movieId,
+                    voterUserIds -> {
+                        // Ignore late events for a movie that has left the window.
+                        if (!registrations.containsKey(movieId)) return;
+                        voters.put(movieId, voterUserIds);
+                        listener.onVotesChanged(movieId, voterUserIds);
+                    }));
+        }
+    }
+
+    /**
+     * The synced voter set for a movie in the window, or {@code null} if no vote has been
+     * seen for it yet (a child listener stays silent while {@code votes/{movieId}} is empty).
+     */
+    @Nullable
+    Set<String> votersFor(int movieId) {
+        return voters.get(movieId);
+    }
+
+    /** Releases every subscription. */
+    void release() {
+        for (FirebaseRepository.ListenerRegistration registration : registrations.values()) {
+            registration.remove();
+        }
+        registrations.clear();
+        voters.clear();
+    }
+}
@@ -11,25 +11,21 @@ import androidx.activity.OnBackPressedCallback;
 
 import com.bumptech.glide.Glide;
 
-import com.example.finalprojectandroiddev2.BuildConfig;
 import com.example.finalprojectandroiddev2.R;
-import com.example.finalprojectandroiddev2.data.api.TmdbApiClient;
+import com.example.finalprojectandroiddev2.data.api.TmdbImage;
 import com.example.finalprojectandroiddev2.data.model.Movie;
 import com.example.finalprojectandroiddev2.data.repository.FirebaseRepository;
+import com.example.finalprojectandroiddev2.data.repository.MovieRepository;
 import com.example.finalprojectandroiddev2.ui.base.BaseActivity;
+import com.example.finalprojectandroiddev2.ui.common.GenreChipRenderer;
 import com.example.finalprojectandroiddev2.ui.home.HomeActivity;
 import com.example.finalprojectandroiddev2.ui.lobby.LobbyActivity;
 import com.example.finalprojectandroiddev2.utils.Constants;
 import com.example.finalprojectandroiddev2.utils.LobbyPrefs;
 import com.example.finalprojectandroiddev2.utils.Logger;
 import com.google.android.material.button.MaterialButton;
-import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Watch screen shown after the host taps "Watch Now" on MatchActivity.
  * Plays a default intro video and shows the matched movie details.
@@ -42,6 +38,7 @@ public class WatchActivity extends BaseActivity {
     private boolean isHost;
 
     private FirebaseRepository firebaseRepo;
+    private FirebaseRepository.ListenerRegistration statusRegistration;
 
     // Views
     private TextView    tvWatchInfo;
@@ -60,6 +57,7 @@ public class WatchActivity extends BaseActivity {
     private TextView   tvReleaseDate;
     private TextView   tvOverview;
     private ChipGroup  chipGroupGenres;
+    private final GenreChipRenderer genreChips = new GenreChipRenderer(GenreChipRenderer.OUTLINED);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -87,6 +85,12 @@ public class WatchActivity extends BaseActivity {
         listenForStatusChanges();
     }
 
+    @Override
+    protected void onDestroy() {
+        releaseStatusListener();
+        super.onDestroy();
+    }
+
     private void bindViews() {
         tvWatchInfo       = findViewById(R.id.text_watch_info);
         videoIntro        = findViewById(R.id.video_intro);
@@ -157,7 +161,7 @@ public class WatchActivity extends BaseActivity {
     private void listenForStatusChanges() {
         if (roomCode == null || roomCode.isEmpty()) return;
         
-        firebaseRepo.listenLobbyStatus(roomCode, status -> {
+        statusRegistration = firebaseRepo.listenLobbyStatus(roomCode, status -> {
             if (Constants.LOBBY_STATUS_PLAYING.equals(status)) {
                 runOnUiThread(() -> {
                     if (!isHost) {
@@ -184,9 +188,16 @@ public class WatchActivity extends BaseActivity {
         });
     }
 
+    private void releaseStatusListener() {
+        if (statusRegistration != null) {
+            statusRegistration.remove();
+            statusRegistration = null;
+        }
+    }
+
     private void navigateToHome() {
         if (isFinishing() || isDestroyed()) return;
-        firebaseRepo.detachLobbyListeners();
+        releaseStatusListener();
         LobbyPrefs.clearActiveRoomCode(this);
 
         android.content.Intent intent = new android.content.Intent(this, HomeActivity.class);
@@ -240,30 +251,22 @@ public class WatchActivity extends BaseActivity {
     }
 
     private void fetchMovieDetails(int movieId) {
-        String bearer = "Bearer " + BuildConfig.TMDB_READ_ACCESS_TOKEN;
-        TmdbApiClient.getService()
-                .getMovieDetails(movieId, "en-US", bearer)
-                .enqueue(new Callback<Movie>() {
-                    @Override
-                    public void onResponse(Call<Movie> call, Response<Movie> response) {
-                        if (!response.isSuccessful() || response.body() == null) {
-                            Logger.d(TAG, "Watch getMovieDetails failed: " + response.code());
-                            return;
-                        }
-                        runOnUiThread(() -> bindMovie(response.body()));
-                    }
+        MovieRepository.getInstance().getMovieDetails(movieId, new MovieRepository.MovieCallback() {
+            @Override
+            public void onSuccess(Movie movie) {
+                bindMovie(movie);
+            }
 
-                    @Override
-                    public void onFailure(Call<Movie> call, Throwable t) {
-                        Logger.d(TAG, "Watch getMovieDetails network error: " + t.getMessage());
-                    }
-                });
+            @Override
+            public void onError(String message) {
+                Logger.d(TAG, "Watch getMovieDetails failed: " + message);
+            }
+        });
     }
 
     private void bindMovie(Movie movie) {
         if (movie.getPosterPath() != null && !movie.getPosterPath().isEmpty()) {
-            String posterUrl = "https://image.tmdb.org/t/p/w500" + movie.getPosterPath();
-            Glide.with(this).load(posterUrl).into(imgPoster);
+            Glide.with(this).load(TmdbImage.poster(movie.getPosterPath())).into(imgPoster);
         }
 
         tvTitle.setText(movie.getTitle() != null ? movie.getTitle() : "—");
@@ -271,21 +274,7 @@ public class WatchActivity extends BaseActivity {
         tvReleaseDate.setText(formatReleaseDate(movie.getReleaseDate()));
         tvOverview.setText(movie.getOverview() != null ? movie.getOverview() : "");
 
-        chipGroupGenres.removeAllViews();
-        if (movie.getGenres() != null) {
-            for (Movie.Genre genre : movie.getGenres()) {
-                Chip chip = new Chip(this);
-                chip.setText(genre.getName());
-                chip.setClickable(false);
-                chip.setCheckable(false);
-                chip.setChipBackgroundColorResource(android.R.color.transparent);
-                chip.setTextColor(getColor(R.color.white));
-                chip.setChipStrokeColorResource(R.color.color_text_secondary);
-                chip.setChipStrokeWidth(1.5f);
-                chip.setTextSize(11f);
-                chipGroupGenres.addView(chip);
-            }
-        }
+        genreChips.bindGenres(chipGroupGenres, movie.getGenres());
     }
 
     private String formatReleaseDate(String releaseDate) {
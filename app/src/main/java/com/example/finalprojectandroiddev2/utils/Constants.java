@@ -20,6 +20,7 @@ public final class Constants {
     public static final String NODE_MEMBERS = "members";
     public static final String NODE_MOVIES = "movies";
     public static final String NODE_VOTES = "votes";
+    public static final String NODE_MEMBER_COUNT = "memberCount";
     public static final String NODE_MATCHED_MOVIE = "matchedMovie";
     public static final String NODE_CURRENT_PAGE = "currentPage";
     public static final String NODE_MATCHED_MOVIE_ID = "matchedMovieId";
@@ -36,9 +37,70 @@ public final class Constants {
 
     // TMDB API (base URL and paths; token from BuildConfig)
     public static final String TMDB_BASE_URL = "https://api.themoviedb.org/3/";
-    public static final String TMDB_IMAGE_BASE_URL = "https://image.tmdb.org/t/p/w500";
+    /** Followed by a size bucket and the image path; see data.api.TmdbImage. */
+    public static final String TMDB_IMAGE_BASE_URL = "https://image.tmdb.org/t/p/";
+
+    // TMDB HTTP client (shared OkHttp cache + connection pool)
+    public static final String TMDB_HTTP_CACHE_DIR = "tmdb_http_cache";
+    public static final long TMDB_HTTP_CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+    public static final int TMDB_LIST_MAX_AGE_SECONDS = 10 * 60;
+    public static final int TMDB_DETAILS_MAX_AGE_SECONDS = 24 * 60 * 60;
+    public static final int TMDB_OFFLINE_MAX_STALE_DAYS = 7;
+    public static final int TMDB_MAX_REQUESTS_PER_HOST = 10;
+    public static final int TMDB_MAX_IDLE_CONNECTIONS = 4;
+    public static final long TMDB_KEEP_ALIVE_MINUTES = 5;
+
+    // MovieRepository caches (in-memory LRU + SQLite catalog)
+    public static final int MOVIE_LIST_CACHE_ENTRIES = 64;
+    public static final int MOVIE_DETAILS_CACHE_ENTRIES = 128;
+    public static final long MOVIE_LIST_TTL_MS = 10 * 60 * 1000L;
+    public static final long MOVIE_DETAILS_TTL_MS = 24 * 60 * 60 * 1000L;
+    /** Catalog rows older than this are purged on startup; before that they serve offline. */
+    public static final long MOVIE_CATALOG_MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+    /** TMDB's genre list almost never changes; refresh the stored copy weekly. */
+    public static final long GENRE_LIST_TTL_MS = 7 * 24 * 60 * 60 * 1000L;
+
+    // Glide (see CineMatchGlideModule): fractions of the app's heap class
+    public static final int GLIDE_MEMORY_CACHE_HEAP_DIVISOR = 8;
+    public static final int GLIDE_BITMAP_POOL_HEAP_DIVISOR = 16;
+    public static final String GLIDE_DISK_CACHE_DIR = "tmdb_images";
+    public static final long GLIDE_DISK_CACHE_SIZE_BYTES = 100L * 1024 * 1024;
+
+    // Movie rows built ahead of data (see SharedViewPool)
+    /** Cards per horizontal carousel: what fits on a phone, plus one. */
+    public static final int PREWARM_CAROUSEL_ROWS = 4;
+    /** Rows of a vertical list inside a NestedScrollView, which lays out every row at once. */
+    public static final int PREWARM_LIST_ROWS = 10;
+
+    // Category infinite scroll (see CategoryPager)
+    /** Pages always kept loaded or in flight past the viewport. */
+    public static final int CATEGORY_MIN_PAGES_AHEAD = 1;
+    /** Upper bound when fast scrolling raises the lookahead. */
+    public static final int CATEGORY_MAX_PAGES_AHEAD = 3;
+    /** Pages held in the list at once; farther ones are dropped and re-fetched on return. */
+    public static final int CATEGORY_MAX_PAGES_KEPT = 10;
+
+    // Home feed (see HomeFeedLoader): longest the screen waits for its slowest source
+    public static final long HOME_FEED_BARRIER_TIMEOUT_MS = 4_000L;
+
+    // Type-ahead search (see TypeAheadSearch)
+    /** Quiet time after the last keystroke before a query goes to TMDB. */
+    public static final long SEARCH_DEBOUNCE_MS = 300L;
+    /** Shorter queries match too much of the catalog to be worth a request. */
+    public static final int SEARCH_MIN_QUERY_LENGTH = 2;
+    /** Query/page results kept in memory for backspacing, retyping and paging back. */
+    public static final int SEARCH_CACHE_ENTRIES = 30;
+
+    // Lobby listener hub: how long an unused Firebase subscription survives a screen change
+    public static final long LOBBY_LISTENER_LINGER_MS = 5_000L;
 
     // Swiping session
+    /** Cards past the visible one whose votes are kept subscribed. */
+    public static final int VOTE_SYNC_LOOKAHEAD = 3;
+    /** Cards past the visible one whose images are decoded ahead of time. */
+    public static final int POSTER_PREFETCH_LOOKAHEAD = 4;
+    /** How long a member waits for the host's shared deck before fetching TMDB itself. */
+    public static final long DECK_QUEUE_WAIT_MS = 8_000L;
     public static final int SWIPING_SESSION_TIMEOUT_SECONDS = 120;
 
     // Room code
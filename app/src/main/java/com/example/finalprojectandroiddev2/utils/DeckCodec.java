@@ -0,0 +1,122 @@
+package com.example.finalprojectandroiddev2.utils;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact text encoding for one page of the shared swipe deck
+ * ({@code lobbies/{roomCode}/movies/{page}}).
+ *
+ * The whole page is a single string: a version line, then one line per card with
+ * tab-separated fields
+ * <pre>
+ *   id  title  rating×10  release_date  poster_path  backdrop_path  genre,ids
+ * </pre>
+ * Overviews are left out — they are most of the bytes and are hydrated lazily from
+ * {@code MovieRepository} for the cards actually reached. One string instead of a tree
+ * of ~10 children per card also means members decode with plain {@code indexOf} scans
+ * rather than a {@code DataSnapshot} lookup per field.
+ *
+ * All methods are {@code static} — this class is never instantiated.
+ */
+public final class DeckCodec {
+
+    static final String VERSION = "d1";
+
+    private static final char FIELD  = '\t';
+    private static final char RECORD = '\n';
+    private static final int  FIELD_COUNT = 7;
+
+    private DeckCodec() {}
+
+    /** Encodes the cards in order. Movies decoded from the result have no overview. */
+    public static String encode(List<Movie> movies) {
+        StringBuilder sb = new StringBuilder(VERSION.length() + movies.size() * 96);
+        sb.append(VERSION);
+        for (Movie m : movies) {
+            sb.append(RECORD)
+              .append(m.getId()).append(FIELD)
+              .append(clean(m.getTitle())).append(FIELD)
+              .append(Math.round(m.getVoteAverage() * 10)).append(FIELD)
+              .append(clean(m.getReleaseDate())).append(FIELD)
+              .append(clean(m.getPosterPath())).append(FIELD)
+              .append(clean(m.getBackdropPath())).append(FIELD);
+            List<Integer> genreIds = m.getGenreIds();
+            if (genreIds != null) {
+                for (int i = 0; i < genreIds.size(); i++) {
+                    if (i > 0) sb.append(',');
+                    sb.append(genreIds.get(i));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a string produced by {@link #encode(List)}.
+     *
+     * @throws IllegalArgumentException if the version or a record is not recognised
+     */
+    public static List<Movie> decode(String deck) {
+        int lineEnd = lineEnd(deck, 0);
+        if (lineEnd != VERSION.length() || !deck.startsWith(VERSION)) {
+            throw new IllegalArgumentException("Unknown deck version");
+        }
+
+        List<Movie> movies = new ArrayList<>();
+        String[] fields = new String[FIELD_COUNT];
+        int pos = lineEnd + 1;
+        while (pos <= deck.length()) {
+            lineEnd = lineEnd(deck, pos);
+            int start = pos;
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                int end = f == FIELD_COUNT - 1 ? lineEnd : deck.indexOf(FIELD, start);
+                if (end < 0 || end > lineEnd) {
+                    throw new IllegalArgumentException("Malformed deck record at " + pos);
+                }
+                fields[f] = deck.substring(start, end);
+                start = end + 1;
+            }
+            movies.add(toMovie(fields));
+            pos = lineEnd + 1;
+        }
+        return movies;
+    }
+
+    private static Movie toMovie(String[] f) {
+        Movie m = new Movie();
+        m.setId(Integer.parseInt(f[0]));
+        m.setTitle(f[1]);
+        m.setVoteAverage(Integer.parseInt(f[2]) / 10.0);
+        m.setReleaseDate(f[3]);
+        m.setPosterPath(f[4]);
+        m.setBackdropPath(f[5]);
+
+        List<Integer> genreIds = new ArrayList<>();
+        String genres = f[6];
+        int start = 0;
+        while (start < genres.length()) {
+            int comma = genres.indexOf(',', start);
+            int end = comma < 0 ? genres.length() : comma;
+            genreIds.add(Integer.parseInt(genres.substring(start, end)));
+            start = end + 1;
+        }
+        m.setGenreIds(genreIds);
+        return m;
+    }
+
+    private static int lineEnd(String s, int from) {
+        int end = s.indexOf(RECORD, from);
+        return end < 0 ? s.length() : end;
+    }
+
+    /** Separators inside a value would split the record; TMDB titles never need them. */
+    private static String clean(String value) {
+        if (value == null) return "";
+        return value.indexOf(FIELD) < 0 && value.indexOf(RECORD) < 0
+                ? value
+                : value.replace(FIELD, ' ').replace(RECORD, ' ');
+    }
+}
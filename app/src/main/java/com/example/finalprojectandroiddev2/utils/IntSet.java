@@ -0,0 +1,142 @@
+package com.example.finalprojectandroiddev2.utils;
+
+/**
+ * Set of {@code int}s stored in one open-addressed array: no boxing, no entry objects.
+ *
+ * <p>Used for movie-ID membership (is this movie in the user's favorites?), which is
+ * asked once per bound card, so {@link #contains} is a hash and a short linear probe.
+ * Removal shifts the following run back instead of leaving tombstones, so lookups stay
+ * short however many adds and removes a long-lived set sees.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public final class IntSet {
+
+    /** Marks a free slot; the value 0 itself is tracked by {@link #hasZero}. */
+    private static final int FREE = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] slots;
+    private int mask;
+    /** Non-zero values stored in {@link #slots}. */
+    private int used;
+    private boolean hasZero;
+
+    public IntSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /** @param expected number of values the set should hold without growing */
+    public IntSet(int expected) {
+        allocate(capacityFor(expected));
+    }
+
+    public boolean contains(int value) {
+        if (value == FREE) return hasZero;
+        int i = home(value);
+        while (true) {
+            int slot = slots[i];
+            if (slot == FREE) return false;
+            if (slot == value) return true;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /** @return {@code true} if {@code value} was not already present */
+    public boolean add(int value) {
+        if (value == FREE) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int i = home(value);
+        while (true) {
+            int slot = slots[i];
+            if (slot == FREE) break;
+            if (slot == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        // Grow at 3/4 full so probes stay short.
+        if (++used * 4 >= slots.length * 3) rehash(slots.length * 2);
+        return true;
+    }
+
+    /** @return {@code true} if {@code value} was present */
+    public boolean remove(int value) {
+        if (value == FREE) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        int i = home(value);
+        while (true) {
+            int slot = slots[i];
+            if (slot == FREE) return false;
+            if (slot == value) break;
+            i = (i + 1) & mask;
+        }
+        // Move back every later entry in the run whose home slot isn't after the gap.
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int slot = slots[j];
+            if (slot == FREE) break;
+            int k = home(slot);
+            boolean stays = gap <= j ? (gap < k && k <= j) : (gap < k || k <= j);
+            if (!stays) {
+                slots[gap] = slot;
+                gap = j;
+            }
+        }
+        slots[gap] = FREE;
+        used--;
+        return true;
+    }
+
+    public int size() {
+        return used + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Removes every value and shrinks back to the initial capacity. */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        used = 0;
+        hasZero = false;
+    }
+
+    // ── Internals ──────────────────────────────────────────────────────────────
+
+    private int home(int value) {
+        // Fibonacci hashing spreads sequential IDs across the table.
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        allocate(capacity);
+        for (int value : old) {
+            if (value == FREE) continue;
+            int i = home(value);
+            while (slots[i] != FREE) i = (i + 1) & mask;
+            slots[i] = value;
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 <= Math.max(expected, 0) * 4) capacity <<= 1;
+        return capacity;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.example.finalprojectandroiddev2.utils.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Exercises the shared TMDB OkHttpClient against a local MockWebServer: cache hits,
+ * conditional revalidation, the Cache-Control floor and offline fallback.
+ */
+public class TmdbApiClientCacheTest {
+
+    private static final String LIST_BODY =
+            "{\"page\":1,\"results\":[{\"id\":27205,\"title\":\"Inception\"}],"
+                    + "\"total_pages\":1,\"total_results\":1}";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private MockWebServer server;
+    private TmdbHttpStats stats;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        stats = new TmdbHttpStats();
+        client = TmdbApiClient.createHttpClient(tmp.newFolder("http"), stats);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void missingCacheControl_secondCallIsServedFromDisk() throws IOException {
+        server.enqueue(new MockResponse().setBody(LIST_BODY));
+
+        assertEquals(LIST_BODY, get("/3/trending/movie/day?page=1"));
+        assertEquals(LIST_BODY, get("/3/trending/movie/day?page=1"));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, stats.getCacheHits());
+        assertEquals(1, stats.getCacheMisses());
+        assertEquals(LIST_BODY.length(), stats.getNetworkBytes());
+    }
+
+    @Test
+    public void shortMaxAge_isRaisedToTheListFloor() throws IOException {
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", "public, max-age=5")
+                .setBody(LIST_BODY));
+
+        try (Response response = call("/3/movie/popular?page=1")) {
+            assertEquals("public, max-age=" + Constants.TMDB_LIST_MAX_AGE_SECONDS,
+                    response.header("Cache-Control"));
+        }
+        get("/3/movie/popular?page=1");
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, stats.getCacheHits());
+    }
+
+    @Test
+    public void detailsPath_getsTheLongerFloor() throws IOException {
+        server.enqueue(new MockResponse().setBody("{\"id\":27205}"));
+
+        try (Response response = call("/3/movie/27205?language=en-US")) {
+            assertEquals("public, max-age=" + Constants.TMDB_DETAILS_MAX_AGE_SECONDS,
+                    response.header("Cache-Control"));
+        }
+    }
+
+    @Test
+    public void noCacheResponse_revalidatesWithEtagAndCountsNoExtraBytes() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Cache-Control", "no-cache")
+                .setHeader("ETag", "\"v1\"")
+                .setBody(LIST_BODY));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        assertEquals(LIST_BODY, get("/3/movie/top_rated?page=1"));
+        long bytesAfterFirst = stats.getNetworkBytes();
+        assertEquals(LIST_BODY, get("/3/movie/top_rated?page=1"));
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        assertEquals(1, stats.getConditionalHits());
+        assertEquals(bytesAfterFirst, stats.getNetworkBytes());
+    }
+
+    @Test
+    public void noStoreResponse_isNeverCached() throws IOException {
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "no-store").setBody("a"));
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "no-store").setBody("b"));
+
+        assertEquals("a", get("/3/search/movie?query=x"));
+        assertEquals("b", get("/3/search/movie?query=x"));
+        assertEquals(0, stats.getCacheHits());
+    }
+
+    @Test
+    public void networkFailure_fallsBackToStaleCacheEntry() throws IOException {
+        // Served an hour ago with the list floor, so it is stale by the second call.
+        server.enqueue(new MockResponse()
+                .setHeader("Date", httpDate(System.currentTimeMillis() - 60 * 60 * 1000L))
+                .setHeader("Cache-Control", "max-age=" + Constants.TMDB_LIST_MAX_AGE_SECONDS)
+                .setBody(LIST_BODY));
+
+        get("/3/trending/movie/day?page=2");
+        server.shutdown();
+        assertEquals(LIST_BODY, get("/3/trending/movie/day?page=2"));
+    }
+
+    @Test(expected = IOException.class)
+    public void networkFailure_withNothingCached_stillFails() throws IOException {
+        String path = "/3/trending/movie/day?page=3";
+        Request request = new Request.Builder().url(server.url(path)).build();
+        server.shutdown();
+        client.newCall(request).execute();
+    }
+
+    @Test
+    public void retrofitService_parsesThroughTheSharedClient() throws IOException {
+        server.enqueue(new MockResponse().setBody(LIST_BODY));
+        TmdbApiService service = TmdbApiClient.createService(client, server.url("/3/").toString());
+
+        MovieListResponse first = service.getPopularMovies("en-US", 1, "Bearer t").execute().body();
+        MovieListResponse second = service.getPopularMovies("en-US", 1, "Bearer t").execute().body();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("Inception", second.getResults().get(0).getTitle());
+        assertEquals(1, server.getRequestCount());
+        assertTrue(stats.getCacheHits() >= 1);
+    }
+
+    @Test
+    public void clientWithoutCacheDir_stillWorks() throws Exception {
+        OkHttpClient uncached = TmdbApiClient.createHttpClient(null, new TmdbHttpStats());
+        assertNull(uncached.cache());
+
+        server.enqueue(new MockResponse().setBody("ok"));
+        try (Response response = uncached.newCall(new Request.Builder()
+                .url(server.url("/3/movie/1")).build()).execute()) {
+            assertEquals("ok", response.body().string());
+        }
+        assertNotNull(server.takeRequest(1, TimeUnit.SECONDS));
+    }
+
+    private static String httpDate(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(millis));
+    }
+
+    private Response call(String path) throws IOException {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+
+    private String get(String path) throws IOException {
+        try (Response response = call(path)) {
+            return response.body().string();
+        }
+    }
+}
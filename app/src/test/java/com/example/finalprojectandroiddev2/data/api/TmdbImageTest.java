@@ -0,0 +1,62 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class TmdbImageTest {
+
+    @Test
+    public void listThumbnail_getsASmallPosterBucket() {
+        TmdbImage poster = TmdbImage.poster("/abc.jpg");
+        // 110dp × 165dp thumbnail at xhdpi (2.0)
+        assertEquals("w342", poster.sizeFor(220, 330));
+        // Same thumbnail at mdpi
+        assertEquals("w154", poster.sizeFor(110, 165));
+        assertEquals("https://image.tmdb.org/t/p/w154/abc.jpg", poster.urlFor(110, 165));
+    }
+
+    @Test
+    public void posterBucket_coversHeightWhenCentreCropped() {
+        // A wide, short view: 150px wide but 300px tall needs a 200px-wide 2:3 poster.
+        assertEquals("w342", TmdbImage.poster("/p.jpg").sizeFor(150, 300));
+    }
+
+    @Test
+    public void exactBucketWidth_isNotRoundedUp() {
+        assertEquals("w185", TmdbImage.poster("/p.jpg").sizeFor(185, 100));
+        assertEquals("w342", TmdbImage.poster("/p.jpg").sizeFor(186, 100));
+    }
+
+    @Test
+    public void backdrops_useBackdropBuckets() {
+        TmdbImage backdrop = TmdbImage.backdrop("/b.jpg");
+        assertEquals("w300", backdrop.sizeFor(300, 100));
+        assertEquals("w780", backdrop.sizeFor(720, 400));
+        assertEquals("w1280", backdrop.sizeFor(1080, 600));
+    }
+
+    @Test
+    public void largerThanEveryBucket_orUnknownSize_getsOriginal() {
+        assertEquals("original", TmdbImage.poster("/p.jpg").sizeFor(1440, 2160));
+        assertEquals("original", TmdbImage.backdrop("/b.jpg").sizeFor(2560, 1440));
+        assertEquals("original", TmdbImage.poster("/p.jpg").sizeFor(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void missingPaths_giveNoModel() {
+        assertNull(TmdbImage.poster(null));
+        assertNull(TmdbImage.poster(""));
+        assertNull(TmdbImage.backdropOrPoster(null, ""));
+        assertEquals(TmdbImage.poster("/p.jpg"), TmdbImage.backdropOrPoster("", "/p.jpg"));
+    }
+
+    @Test
+    public void equality_isByKindAndPath() {
+        assertEquals(TmdbImage.poster("/x.jpg"), TmdbImage.poster("/x.jpg"));
+        assertEquals(TmdbImage.poster("/x.jpg").hashCode(), TmdbImage.poster("/x.jpg").hashCode());
+        assertNotEquals(TmdbImage.poster("/x.jpg"), TmdbImage.backdrop("/x.jpg"));
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TmdbRequestCoalescerTest {
+
+    private static final int CALLERS = 5;
+
+    private MockWebServer server;
+    private TmdbHttpStats stats;
+    private OkHttpClient client;
+    private TmdbRequestCoalescer coalescer;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        // Hold every response until the test has queued all callers behind the first one.
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                if (request.getPath() != null && request.getPath().contains("fail")) {
+                    return new MockResponse().setResponseCode(500).setBody("boom");
+                }
+                return new MockResponse().setBody("body:" + request.getPath());
+            }
+        });
+        server.start();
+        stats = new TmdbHttpStats();
+        client = TmdbApiClient.createHttpClient(null, stats);
+        for (Interceptor interceptor : client.interceptors()) {
+            if (interceptor instanceof TmdbRequestCoalescer) {
+                coalescer = (TmdbRequestCoalescer) interceptor;
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        release.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void identicalConcurrentCalls_shareOneNetworkRequest() throws Exception {
+        List<String> bodies = fire("/3/trending/movie/day?language=en-US&page=1", CALLERS);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, stats.getLeaderCalls());
+        assertEquals(CALLERS - 1, stats.getCoalescedCalls());
+        assertEquals(CALLERS, bodies.size());
+        for (String body : bodies) {
+            assertEquals("body:/3/trending/movie/day?language=en-US&page=1", body);
+        }
+    }
+
+    @Test
+    public void errorResponses_areFannedOutToo() throws Exception {
+        List<String> bodies = fire("/3/movie/fail", 3);
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(3, bodies.size());
+        for (String body : bodies) {
+            assertEquals("500:boom", body);
+        }
+    }
+
+    @Test
+    public void cancelledLeader_followersRetryAndSucceed() throws Exception {
+        String path = "/3/search/movie?query=dune&page=1";
+        CountDownLatch leaderFailed = new CountDownLatch(1);
+        Call leader = client.newCall(get(server.url(path).toString()));
+        leader.enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                leaderFailed.countDown();
+            }
+        });
+        awaitStat(() -> stats.getLeaderCalls() >= 1);
+
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(2);
+        enqueue(path, bodies, finished);
+        enqueue(path, bodies, finished);
+        awaitStat(() -> coalescer.waitingCount() >= 2);
+
+        // The leader's caller gives up (a superseded search) while the others still wait.
+        leader.cancel();
+        assertTrue(leaderFailed.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, bodies.size());
+        for (String body : bodies) {
+            assertEquals("body:" + path, body);
+        }
+        // One follower took over as leader; only the other was served by a shared call.
+        assertEquals(2, stats.getLeaderCalls());
+        assertEquals(1, stats.getCoalescedCalls());
+    }
+
+    @Test
+    public void sequentialCalls_areNotCoalesced() throws Exception {
+        release.countDown();
+        execute("/3/movie/550");
+        execute("/3/movie/550");
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, stats.getCoalescedCalls());
+    }
+
+    @Test
+    public void key_ignoresQueryOrderButNotValues() {
+        Request a = get("https://api.themoviedb.org/3/movie/popular?language=en-US&page=1");
+        Request b = get("https://api.themoviedb.org/3/movie/popular?page=1&language=en-US");
+        Request c = get("https://api.themoviedb.org/3/movie/popular?page=2&language=en-US");
+
+        assertEquals(TmdbRequestCoalescer.keyFor(a), TmdbRequestCoalescer.keyFor(b));
+        assertNotEquals(TmdbRequestCoalescer.keyFor(a), TmdbRequestCoalescer.keyFor(c));
+    }
+
+    @Test
+    public void key_includesCredentials() {
+        Request a = get("https://api.themoviedb.org/3/movie/550").newBuilder()
+                .header("Authorization", "Bearer one").build();
+        Request b = a.newBuilder().header("Authorization", "Bearer two").build();
+
+        assertNotEquals(TmdbRequestCoalescer.keyFor(a), TmdbRequestCoalescer.keyFor(b));
+    }
+
+    /** Enqueues {@code count} identical calls, releases the server once all but one wait. */
+    private List<String> fire(String path, int count) throws InterruptedException {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            enqueue(path, bodies, finished);
+        }
+
+        awaitStat(() -> coalescer.waitingCount() >= count - 1);
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        return new ArrayList<>(bodies);
+    }
+
+    /** Records the body (or "code:body" for an error) of one call; failures record nothing. */
+    private void enqueue(String path, List<String> bodies, CountDownLatch finished) {
+        client.newCall(get(server.url(path).toString())).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
+                String body = response.body().string();
+                bodies.add(response.isSuccessful() ? body : response.code() + ":" + body);
+                finished.countDown();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                finished.countDown();
+            }
+        });
+    }
+
+    private interface Condition {
+        boolean met();
+    }
+
+    private static void awaitStat(Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.met() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void execute(String path) throws IOException {
+        try (Response response = client.newCall(get(server.url(path).toString())).execute()) {
+            response.body().string();
+        }
+    }
+
+    private static Request get(String url) {
+        return new Request.Builder().url(url).build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.finalprojectandroiddev2.data.api;
+
+import com.example.finalprojectandroiddev2.data.model.GenreListResponse;
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the streaming adapters against Gson's reflective binding on TMDB-shaped fixtures
+ * (src/test/resources/tmdb). The parse-cost comparison only runs when asked for; see
+ * {@link #parseCostPerPage_reflectiveVsStreaming()}.
+ */
+public class TmdbTypeAdaptersTest {
+
+    private static final String BENCHMARK = "tmdb.benchmark";
+
+    private final Gson streaming = TmdbTypeAdapters.register(new GsonBuilder()).setLenient().create();
+    private final Gson reflective = new GsonBuilder().setLenient().create();
+
+    @Test
+    public void listPage_matchesReflectiveBinding() throws IOException {
+        String json = fixture("movie_popular_page1.json");
+
+        MovieListResponse expected = reflective.fromJson(json, MovieListResponse.class);
+        MovieListResponse actual = streaming.fromJson(json, MovieListResponse.class);
+
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getTotalPages(), actual.getTotalPages());
+        assertEquals(expected.getTotalResults(), actual.getTotalResults());
+        assertEquals(20, actual.getResults().size());
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            assertSameMovie(expected.getResults().get(i), actual.getResults().get(i));
+        }
+    }
+
+    @Test
+    public void details_readNamedGenresAndSkipNestedExtras() throws IOException {
+        String json = fixture("movie_details.json");
+
+        Movie expected = reflective.fromJson(json, Movie.class);
+        Movie actual = streaming.fromJson(json, Movie.class);
+
+        assertSameMovie(expected, actual);
+        assertEquals(3, actual.getGenres().size());
+        assertEquals("Science Fiction", actual.getGenres().get(1).getName());
+        assertNull(actual.getGenreIds());
+    }
+
+    @Test
+    public void nullsAndMissingFields_keepModelDefaults() {
+        Movie movie = streaming.fromJson(
+                "{\"id\":7,\"poster_path\":null,\"vote_average\":null,\"genre_ids\":null}", Movie.class);
+
+        assertEquals(7, movie.getId());
+        assertNull(movie.getPosterPath());
+        assertNull(movie.getTitle());
+        assertEquals(0.0, movie.getVoteAverage(), 0.0);
+        assertNull(movie.getGenreIds());
+    }
+
+    @Test
+    public void genreList_andWrite_roundTrip() {
+        GenreListResponse genres = streaming.fromJson(
+                "{\"genres\":[{\"id\":28,\"name\":\"Action\"},{\"id\":35,\"name\":\"Comedy\"}]}",
+                GenreListResponse.class);
+        assertEquals(2, genres.getGenres().size());
+        assertEquals("Comedy", genres.getGenres().get(1).getName());
+
+        Movie movie = new Movie();
+        movie.setId(550);
+        movie.setTitle("Fight Club");
+        movie.setGenreIds(Arrays.asList(18, 53));
+        Movie back = streaming.fromJson(streaming.toJson(movie), Movie.class);
+        assertEquals(550, back.getId());
+        assertEquals("Fight Club", back.getTitle());
+        assertEquals(Arrays.asList(18, 53), back.getGenreIds());
+    }
+
+    /**
+     * Not a pass/fail check: prints mean parse time and bytes allocated per page for the
+     * reflective and streaming paths. Allocation counts come from HotSpot's per-thread
+     * counter and print as -1 on JVMs without it.
+     *
+     * Skipped unless asked for:
+     * {@code ./gradlew :app:testDebugUnitTest --tests '*TmdbTypeAdaptersTest' -Ptmdb.benchmark}
+     * (app/build.gradle.kts turns the project property into the {@code tmdb.benchmark}
+     * system property of the test JVM).
+     */
+    @Test
+    public void parseCostPerPage_reflectiveVsStreaming() throws IOException {
+        assumeTrue("pass -Ptmdb.benchmark to measure parse cost", Boolean.getBoolean(BENCHMARK));
+        String json = fixture("movie_popular_page1.json");
+        int warmup = 300;
+        int pages = 1_000;
+
+        Cost before = measure(reflective, json, warmup, pages);
+        Cost after = measure(streaming, json, warmup, pages);
+
+        System.out.println("TMDB list page (" + json.length() + " chars, " + pages + " pages):");
+        System.out.println("  reflective: " + before);
+        System.out.println("  streaming:  " + after);
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static final class Cost {
+        final double microsPerPage;
+        final long bytesPerPage;
+
+        Cost(double microsPerPage, long bytesPerPage) {
+            this.microsPerPage = microsPerPage;
+            this.bytesPerPage = bytesPerPage;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f us/page, %d bytes/page", microsPerPage, bytesPerPage);
+        }
+    }
+
+    private static Cost measure(Gson gson, String json, int warmup, int pages) {
+        int sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += gson.fromJson(json, MovieListResponse.class).getResults().size();
+        }
+        long bytes0 = allocatedBytes();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < pages; i++) {
+            sink += gson.fromJson(json, MovieListResponse.class).getResults().size();
+        }
+        long elapsed = System.nanoTime() - t0;
+        long bytes = allocatedBytes() - bytes0;
+        assertEquals(20 * (warmup + pages), sink);
+        return new Cost(elapsed / 1_000.0 / pages, bytes0 < 0 ? -1 : bytes / pages);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static void assertSameMovie(Movie expected, Movie actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getPosterPath(), actual.getPosterPath());
+        assertEquals(expected.getBackdropPath(), actual.getBackdropPath());
+        assertEquals(expected.getOverview(), actual.getOverview());
+        assertEquals(expected.getReleaseDate(), actual.getReleaseDate());
+        assertEquals(expected.getVoteAverage(), actual.getVoteAverage(), 0.0);
+        assertEquals(expected.getPopularity(), actual.getPopularity(), 0.0);
+        assertEquals(expected.getGenreIds(), actual.getGenreIds());
+        List<Movie.Genre> a = expected.getGenres();
+        List<Movie.Genre> b = actual.getGenres();
+        assertEquals(a == null, b == null);
+        if (a != null) {
+            assertEquals(a.size(), b.size());
+            for (int i = 0; i < a.size(); i++) {
+                assertEquals(a.get(i).getId(), b.get(i).getId());
+                assertEquals(a.get(i).getName(), b.get(i).getName());
+            }
+        }
+    }
+
+    private String fixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/tmdb/" + name)) {
+            if (in == null) throw new IOException("Missing fixture " + name);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) out.write(buf, 0, n);
+            return out.toString(StandardCharsets.UTF_8.name());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.finalprojectandroiddev2.data.repository;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SearchResultCacheTest {
+
+    private final SearchResultCache cache = new SearchResultCache(3);
+
+    @Test
+    public void queriesDifferingInCaseOrSpacing_shareAnEntry() {
+        MovieListResponse page = page(1, "Inception");
+        cache.put("  Inception ", 1, page);
+
+        assertSame(page, cache.get("inception", 1));
+        assertNull(cache.get("inception", 2));
+    }
+
+    @Test
+    public void longerQuery_isFilteredFromTheLongestCachedPrefix() {
+        cache.put("in", 1, page(1, "Inception", "Interstellar", "Into the Wild"));
+        cache.put("inter", 1, page(1, "Interstellar", "The Internship", "Inside Out"));
+
+        List<Movie> movies = cache.filterPrefix("Interst");
+
+        assertNotNull(movies);
+        assertEquals(1, movies.size());
+        assertEquals("Interstellar", movies.get(0).getTitle());
+    }
+
+    @Test
+    public void prefixWithNoTitleMatch_givesAnEmptyList_andNoPrefixGivesNull() {
+        cache.put("the", 1, page(1, "The Matrix"));
+
+        assertEquals(0, cache.filterPrefix("them").size());
+        assertNull(cache.filterPrefix("alien"));
+        // Only first pages are used for filtering.
+        cache.put("al", 2, page(2, "Alien"));
+        assertNull(cache.filterPrefix("alien"));
+    }
+
+    @Test
+    public void leastRecentlyUsedPage_isEvictedFirst() {
+        cache.put("a", 1, page(1));
+        cache.put("b", 1, page(1));
+        cache.put("c", 1, page(1));
+        cache.get("a", 1);
+
+        cache.put("d", 1, page(1));
+
+        assertEquals(3, cache.size());
+        assertNotNull(cache.get("a", 1));
+        assertNull(cache.get("b", 1));
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static MovieListResponse page(int n, String... titles) {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            Movie movie = new Movie();
+            movie.setId(n * 100 + i);
+            movie.setTitle(titles[i]);
+            movies.add(movie);
+        }
+        return new MovieListResponse(n, movies, 1, movies.size());
+    }
+}
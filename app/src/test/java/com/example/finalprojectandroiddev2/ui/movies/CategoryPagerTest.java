@@ -0,0 +1,230 @@
+package com.example.finalprojectandroiddev2.ui.movies;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.example.finalprojectandroiddev2.data.model.MovieListResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CategoryPagerTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int TOTAL_PAGES = 50;
+
+    private final Map<Integer, CategoryPager.PageCallback> pending = new HashMap<>();
+    private final List<Integer> requested = new ArrayList<>();
+    private List<Movie> rows = new ArrayList<>();
+    private int errors;
+    private long now = 1_000;
+
+    private CategoryPager pager;
+
+    @Before
+    public void setUp() {
+        pager = newPager(1, 3, 6);
+    }
+
+    @Test
+    public void start_loadsFirstPageThenPrefetchesTheNext() {
+        pager.start();
+        assertEquals(Arrays.asList(1), requested);
+
+        deliver(1);
+
+        assertEquals(PAGE_SIZE, rows.size());
+        assertEquals(Arrays.asList(1, 2), requested);
+        assertEquals(1, pager.pagesInFlight());
+    }
+
+    @Test
+    public void pagesArrivingOutOfOrder_joinTheListInOrder() {
+        pager = newPager(2, 3, 6);
+        pager.start();
+        deliver(1);
+        assertEquals(Arrays.asList(1, 2, 3), requested);
+
+        deliver(3);
+        assertEquals(PAGE_SIZE, rows.size());
+
+        deliver(2);
+        assertEquals(3 * PAGE_SIZE, rows.size());
+        assertEquals(200, rows.get(PAGE_SIZE).getId());
+        assertEquals(300, rows.get(2 * PAGE_SIZE).getId());
+    }
+
+    @Test
+    public void fastScrolling_raisesTheLookahead() {
+        pager.start();
+        deliver(1);
+        assertEquals(1, pager.pagesAhead());
+
+        // 5 rows every 25 ms = 200 rows/s; one 500 ms fetch covers several pages.
+        for (int first = 0; first <= 10; first += 5) {
+            pager.onViewport(first, first + 4);
+            now += 25;
+        }
+        assertEquals(3, pager.pagesAhead());
+        assertTrue(requested.contains(4));
+
+        // A pause resets the estimate.
+        now += 2_000;
+        pager.onViewport(10, 14);
+        assertEquals(1, pager.pagesAhead());
+    }
+
+    @Test
+    public void droppingAPageBehind_doesNotReadAsScrollingBack() {
+        pager = newPager(1, 3, 5);
+        pager.start();
+        deliver(1);
+        for (int page = 2; page <= 5; page++) {
+            int firstRowOfLastPage = rows.size() - PAGE_SIZE;
+            pager.onViewport(firstRowOfLastPage, firstRowOfLastPage + 4);
+            now += 1_000;
+            deliver(page);
+        }
+        assertEquals(1, pager.firstPage());
+
+        // Fast scroll through page 4; the lookahead brings in page 6.
+        now += 1_000;
+        pager.onViewport(60, 64);
+        now += 25;
+        pager.onViewport(65, 69);
+        assertEquals(3, pager.pagesAhead());
+        deliver(6);
+
+        // Page 1 left the window, so the next row the user reaches (70) is now at 50.
+        assertEquals(2, pager.firstPage());
+        now += 25;
+        pager.onViewport(50, 54);
+        assertEquals(3, pager.pagesAhead());
+    }
+
+    @Test
+    public void moviesRepeatedOnALaterPage_areShownOnce() {
+        pager.start();
+        deliver(1);
+        pending.remove(2).onPage(page(2, 105, 201, 202));
+
+        assertEquals(PAGE_SIZE + 2, rows.size());
+        assertEquals(201, rows.get(PAGE_SIZE).getId());
+    }
+
+    @Test
+    public void farBehindPages_areDroppedAndRefetchedOnTheWayBack() {
+        pager.start();
+        deliver(1);
+        for (int page = 2; page <= 10; page++) {
+            int firstRowOfLastPage = rows.size() - PAGE_SIZE;
+            pager.onViewport(firstRowOfLastPage, firstRowOfLastPage + 4);
+            now += 1_000;
+            deliver(page);
+        }
+
+        assertTrue(rows.size() <= 6 * PAGE_SIZE);
+        assertTrue(pager.firstPage() > 1);
+        int dropped = pager.firstPage() - 1;
+        assertFalse(pending.containsKey(dropped));
+
+        pager.onViewport(0, 4);
+        assertTrue(pending.containsKey(dropped));
+        deliver(dropped);
+        assertEquals(dropped, pager.firstPage());
+        assertEquals(dropped * 100, rows.get(0).getId());
+    }
+
+    @Test
+    public void backgroundRefreshOfAPage_isIgnored() {
+        pager.start();
+        CategoryPager.PageCallback first = pending.remove(1);
+        first.onPage(page(1));
+        List<Movie> shown = rows;
+
+        first.onPage(page(1));
+
+        assertTrue(shown == rows);
+    }
+
+    @Test
+    public void failedPage_reportsOnceAndBacksOff() {
+        pager.start();
+        deliver(1);
+        pending.remove(2).onError("offline");
+        assertEquals(1, errors);
+
+        pager.onViewport(15, 19);
+        assertFalse(pending.containsKey(2));
+
+        now += CategoryPager.RETRY_DELAY_MS;
+        pager.onViewport(15, 19);
+        assertTrue(pending.containsKey(2));
+    }
+
+    @Test
+    public void restart_ignoresResponsesFromBefore() {
+        pager.start();
+        CategoryPager.PageCallback stale = pending.remove(1);
+        pager.start();
+
+        stale.onPage(page(1));
+        assertEquals(0, rows.size());
+
+        deliver(1);
+        assertEquals(PAGE_SIZE, rows.size());
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private CategoryPager newPager(int minAhead, int maxAhead, int maxKept) {
+        pending.clear();
+        requested.clear();
+        CategoryPager.PageSource source = (page, callback) -> {
+            requested.add(page);
+            pending.put(page, callback);
+        };
+        CategoryPager.Listener listener = new CategoryPager.Listener() {
+            @Override
+            public void onRowsChanged(List<Movie> newRows, int firstPage, int lastPage) {
+                rows = newRows;
+            }
+
+            @Override
+            public void onError(String message) {
+                errors++;
+            }
+        };
+        return new CategoryPager(source, listener, () -> now, minAhead, maxAhead, maxKept);
+    }
+
+    private void deliver(int page) {
+        now += 100;
+        pending.remove(page).onPage(page(page));
+    }
+
+    /** Page {@code n} holds movies n*100 … n*100+19 unless ids are given. */
+    private static MovieListResponse page(int n, int... ids) {
+        List<Movie> movies = new ArrayList<>();
+        if (ids.length == 0) {
+            for (int i = 0; i < PAGE_SIZE; i++) movies.add(movie(n * 100 + i));
+        } else {
+            for (int id : ids) movies.add(movie(id));
+        }
+        return new MovieListResponse(n, movies, TOTAL_PAGES, TOTAL_PAGES * PAGE_SIZE);
+    }
+
+    private static Movie movie(int id) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        return movie;
+    }
+}
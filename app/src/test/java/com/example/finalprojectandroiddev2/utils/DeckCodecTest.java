@@ -0,0 +1,118 @@
+package com.example.finalprojectandroiddev2.utils;
+
+import com.example.finalprojectandroiddev2.data.model.Movie;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeckCodecTest {
+
+    @Test
+    public void roundTrip_keepsOrderAndCardFields() {
+        List<Movie> deck = Arrays.asList(
+                movie(550, "Fight Club", 8.4, 18, 53),
+                movie(13, "Forrest Gump", 8.5, 35, 18, 10749),
+                movie(7, "No Genres", 6.0));
+
+        List<Movie> decoded = DeckCodec.decode(DeckCodec.encode(deck));
+
+        assertEquals(3, decoded.size());
+        Movie first = decoded.get(0);
+        assertEquals(550, first.getId());
+        assertEquals("Fight Club", first.getTitle());
+        assertEquals(8.4, first.getVoteAverage(), 1e-9);
+        assertEquals("2024-05-01", first.getReleaseDate());
+        assertEquals("/550.jpg", first.getPosterPath());
+        assertEquals("/550-backdrop.jpg", first.getBackdropPath());
+        assertEquals(Arrays.asList(18, 53), first.getGenreIds());
+        assertEquals(Arrays.asList(35, 18, 10749), decoded.get(1).getGenreIds());
+        assertEquals(0, decoded.get(2).getGenreIds().size());
+    }
+
+    @Test
+    public void overviewIsLeftForLazyHydration() {
+        Movie decoded = DeckCodec.decode(DeckCodec.encode(
+                Arrays.asList(movie(1, "A", 5.0)))).get(0);
+        assertNull(decoded.getOverview());
+    }
+
+    @Test
+    public void missingFieldsAndSeparatorsInValues_stayOnOneRecord() {
+        Movie odd = new Movie();
+        odd.setId(42);
+        odd.setTitle("Tab\there\nand newline");
+
+        List<Movie> decoded = DeckCodec.decode(DeckCodec.encode(
+                Arrays.asList(odd, movie(43, "Next", 7.0))));
+
+        assertEquals(2, decoded.size());
+        assertEquals("Tab here and newline", decoded.get(0).getTitle());
+        assertEquals("", decoded.get(0).getPosterPath());
+        assertEquals(43, decoded.get(1).getId());
+    }
+
+    @Test
+    public void emptyDeck_roundTrips() {
+        assertEquals(0, DeckCodec.decode(DeckCodec.encode(new ArrayList<>())).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownVersion_isRejected() {
+        DeckCodec.decode("d9\n1\tA\t50\t\t\t\t");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedRecord_isRejected() {
+        DeckCodec.decode(DeckCodec.VERSION + "\n1\tA\t50");
+    }
+
+    @Test
+    public void hundredCards_areFarSmallerThanTheListOfMapsLayout() {
+        List<Movie> deck = new ArrayList<>();
+        List<Map<String, Object>> legacy = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Movie m = movie(100_000 + i, "Some Movie Title " + i, 7.3, 28, 12, 878);
+            deck.add(m);
+
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id",            m.getId());
+            entry.put("title",         m.getTitle());
+            entry.put("overview",      m.getOverview());
+            entry.put("poster_path",   m.getPosterPath());
+            entry.put("backdrop_path", m.getBackdropPath());
+            entry.put("vote_average",  m.getVoteAverage());
+            entry.put("release_date",  m.getReleaseDate());
+            entry.put("genre_ids",     m.getGenreIds());
+            legacy.add(entry);
+        }
+
+        int compact = DeckCodec.encode(deck).length();
+        int json = new Gson().toJson(legacy).length();
+
+        assertTrue("compact=" + compact + " json=" + json, compact * 4 < json);
+    }
+
+    private static Movie movie(int id, String title, double rating, Integer... genreIds) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setOverview("A typical TMDB overview runs a few sentences long, describing the "
+                + "premise, the main characters and the stakes without giving the ending away.");
+        movie.setPosterPath("/" + id + ".jpg");
+        movie.setBackdropPath("/" + id + "-backdrop.jpg");
+        movie.setVoteAverage(rating);
+        movie.setReleaseDate("2024-05-01");
+        movie.setGenreIds(new ArrayList<>(Arrays.asList(genreIds)));
+        return movie;
+    }
+}
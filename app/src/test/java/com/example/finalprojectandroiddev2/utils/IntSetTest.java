@@ -0,0 +1,85 @@
+package com.example.finalprojectandroiddev2.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntSetTest {
+
+    @Test
+    public void addContainsRemove() {
+        IntSet set = new IntSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(550));
+        assertFalse(set.add(550));
+        assertTrue(set.contains(550));
+        assertFalse(set.contains(551));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(550));
+        assertFalse(set.remove(550));
+        assertFalse(set.contains(550));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void zeroAndNegativeValues() {
+        IntSet set = new IntSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-7));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-7));
+        assertEquals(2, set.size());
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(-7));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        IntSet set = new IntSet(4);
+        for (int id = 1; id <= 5_000; id++) set.add(id);
+        assertEquals(5_000, set.size());
+        for (int id = 1; id <= 5_000; id++) assertTrue(set.contains(id));
+        assertFalse(set.contains(5_001));
+    }
+
+    @Test
+    public void removalsKeepEveryOtherValueReachable() {
+        // Random IDs collide and form probe runs; removing from the middle of a run must
+        // not hide the values after it.
+        Random random = new Random(42);
+        IntSet set = new IntSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), set.remove(id));
+            } else {
+                assertEquals(expected.add(id), set.add(id));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (int id = 0; id < 2_000; id++) {
+            assertEquals(expected.contains(id), set.contains(id));
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheSet() {
+        IntSet set = new IntSet();
+        for (int id = 0; id < 100; id++) set.add(id);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(42));
+        assertTrue(set.add(42));
+    }
+}
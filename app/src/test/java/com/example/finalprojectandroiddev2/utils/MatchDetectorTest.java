@@ -0,0 +1,33 @@
+package com.example.finalprojectandroiddev2.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MatchDetectorTest {
+
+    @Test
+    public void everyMemberVotedYes_isAMatch() {
+        assertTrue(MatchDetector.isMatch(8, 8));
+        assertTrue(MatchDetector.isMatch(1, 1));
+    }
+
+    @Test
+    public void missingVotes_isNotAMatch() {
+        assertFalse(MatchDetector.isMatch(7, 8));
+        assertFalse(MatchDetector.isMatch(0, 3));
+    }
+
+    @Test
+    public void memberLeavingAfterVoting_stillMatches() {
+        // 3 votes were counted, then one voter left: the counter is ahead of the lobby.
+        assertTrue(MatchDetector.isMatch(3, 2));
+    }
+
+    @Test
+    public void emptyLobby_neverMatches() {
+        assertFalse(MatchDetector.isMatch(0, 0));
+        assertFalse(MatchDetector.isMatch(2, 0));
+    }
+}